@@ -3,8 +3,18 @@ package com.example.api_rest;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used by ReactiveCatalogApplication. Here it would add a second transaction manager and run data.sql
+@SpringBootApplication(exclude = {
+		R2dbcAutoConfiguration.class,
+		R2dbcTransactionManagerAutoConfiguration.class,
+		R2dbcDataAutoConfiguration.class,
+		R2dbcRepositoriesAutoConfiguration.class
+})
 public class Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,92 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameChangeRepository;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads catalog snapshots from the database: the whole catalog, or the changes since a snapshot
+@Component
+public class CatalogLoader {
+
+    private final VideoGameRepository videoGameRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final VideoGameChangeRepository changeRepository;
+    private final ChangeFeedService changeFeedService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.changes.max-page-size}")
+    private int changesPageSize;
+    @Value("${app.changes.tombstone-retention}")
+    private Duration tombstoneRetention;
+
+    public CatalogLoader(VideoGameRepository videoGameRepository, CatalogVersionRepository catalogVersionRepository,
+                         VideoGameChangeRepository changeRepository, ChangeFeedService changeFeedService,
+                         PlatformTransactionManager transactionManager) {
+        this.videoGameRepository = videoGameRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.changeRepository = changeRepository;
+        this.changeFeedService = changeFeedService;
+        // Not read-only so it is served by the primary, and a new transaction because it also runs once the
+        // transaction of a writer has committed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public CatalogSnapshot loadAll() {
+        // The catalog version is read first: the games may be newer than it, never older. A change committed
+        // between the cursor and the games is replayed by the next catch-up, which leaves the same state
+        return transactionTemplate.execute(status -> {
+            CatalogVersion catalogVersion = currentCatalogVersion();
+            long cursor = changeRepository.findMaxId().orElse(0L);
+            return CatalogSnapshot.of(videoGameRepository.findAllViews(), catalogVersion, cursor);
+        });
+    }
+
+    // Applies the change log entries after the cursor of the snapshot
+    public CatalogSnapshot catchUp(CatalogSnapshot snapshot) {
+        return transactionTemplate.execute(status -> {
+            CatalogVersion catalogVersion = currentCatalogVersion();
+            List<VideoGameChangeDTO> changes = new ArrayList<>();
+            ChangeFeedDTO page;
+            long cursor = snapshot.getCursor();
+            do {
+                page = changeFeedService.getChanges(cursor, changesPageSize);
+                changes.addAll(page.changes());
+                cursor = page.nextCursor();
+            } while (page.hasMore());
+
+            if (changes.isEmpty() && catalogVersion.getVersion() == snapshot.getCatalogVersion().getVersion()) {
+                return snapshot.refreshed();
+            }
+            return snapshot.apply(changes, catalogVersion);
+        });
+    }
+
+    // Superseded entries are compacted but the latest one of every game is kept, so the log can be replayed from
+    // any cursor it has reached, as long as the tombstones written since are still there. A cursor beyond it belongs
+    // to another database (e.g. restored from a backup)
+    public boolean canCatchUp(CatalogSnapshot snapshot) {
+        return snapshot.getCapturedAt().isAfter(Instant.now().minus(tombstoneRetention))
+                && snapshot.getCursor() >= catalogVersionRepository.findChangesCompactedUpTo().orElse(0L)
+                && snapshot.getCursor() <= changeRepository.findMaxId().orElse(0L);
+    }
+
+    private CatalogVersion currentCatalogVersion() {
+        return catalogVersionRepository.findById(CatalogVersion.CATALOG_ID)
+                .orElseGet(() -> new CatalogVersion(0L, Instant.EPOCH));
+    }
+}
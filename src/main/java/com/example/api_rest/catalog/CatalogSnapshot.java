@@ -0,0 +1,283 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.Genre;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of the whole catalog, up to a cursor of the change log. Games are indexed by id, genre, release year
+ * and developer. Changes produce a new snapshot, so readers never wait for a writer nor see a half applied change.
+ * The new snapshot shares every index bucket the changes did not touch with the previous one.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<VideoGameView> BY_ID = Comparator.comparing(VideoGameView::id);
+
+    private final long cursor;
+    private final long catalogVersion;
+    private final Instant lastModified;
+    // When the games were last checked against the database
+    private final Instant capturedAt;
+    // Every list is unmodifiable and in id order
+    private final List<VideoGameView> games;
+    private final LongObjectMap<VideoGameView> byId;
+    private final Map<Genre, List<VideoGameView>> byGenre;
+    private final NavigableMap<Integer, List<VideoGameView>> byReleaseYear;
+    private final Map<String, List<VideoGameView>> byDeveloper;
+
+    private CatalogSnapshot(Collection<VideoGameView> videoGames, CatalogVersion catalogVersion, long cursor,
+                            Instant capturedAt) {
+        this.cursor = cursor;
+        this.catalogVersion = catalogVersion.getVersion();
+        this.lastModified = catalogVersion.getLastModified();
+        this.capturedAt = capturedAt;
+
+        VideoGameView[] sorted = videoGames.toArray(VideoGameView[]::new);
+        Arrays.sort(sorted, BY_ID);
+        this.games = List.of(sorted);
+
+        long[] ids = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].id();
+        }
+        this.byId = LongObjectMap.of(ids, sorted);
+
+        // Grouping keeps the id order of the games in every bucket. Games without the property are not indexed by it
+        this.byGenre = Collections.unmodifiableMap(games.stream()
+                .filter(videoGame -> videoGame.genre() != null)
+                .collect(Collectors.groupingBy(VideoGameView::genre, () -> new EnumMap<>(Genre.class),
+                        Collectors.toUnmodifiableList())));
+        TreeMap<Integer, List<VideoGameView>> releaseYears = games.stream()
+                .filter(videoGame -> videoGame.releaseDate() != null)
+                .collect(Collectors.groupingBy(videoGame -> videoGame.releaseDate().getYear(), TreeMap::new,
+                        Collectors.toUnmodifiableList()));
+        this.byReleaseYear = Collections.unmodifiableNavigableMap(releaseYears);
+        this.byDeveloper = Collections.unmodifiableMap(games.stream()
+                .filter(videoGame -> videoGame.developedBy() != null)
+                .collect(Collectors.groupingBy(VideoGameView::developedBy,
+                        Collectors.toUnmodifiableList())));
+    }
+
+    private CatalogSnapshot(CatalogSnapshot snapshot, Instant capturedAt) {
+        this.cursor = snapshot.cursor;
+        this.catalogVersion = snapshot.catalogVersion;
+        this.lastModified = snapshot.lastModified;
+        this.capturedAt = capturedAt;
+        this.games = snapshot.games;
+        this.byId = snapshot.byId;
+        this.byGenre = snapshot.byGenre;
+        this.byReleaseYear = snapshot.byReleaseYear;
+        this.byDeveloper = snapshot.byDeveloper;
+    }
+
+    // The previous snapshot with the changed games (null when deleted) replaced. Only the games list, the id map and
+    // the index buckets of the changed games are copied
+    private CatalogSnapshot(CatalogSnapshot previous, Map<Long, VideoGameView> changed, CatalogVersion catalogVersion,
+                            long cursor, Instant capturedAt) {
+        this.cursor = cursor;
+        this.catalogVersion = catalogVersion.getVersion();
+        this.lastModified = catalogVersion.getLastModified();
+        this.capturedAt = capturedAt;
+
+        List<VideoGameView> removed = new ArrayList<>(changed.size());
+        List<VideoGameView> added = new ArrayList<>(changed.size());
+        changed.forEach((id, videoGame) -> {
+            VideoGameView old = previous.byId.get(id);
+            if (old != null) {
+                removed.add(old);
+            }
+            if (videoGame != null) {
+                added.add(videoGame);
+            }
+        });
+        added.sort(BY_ID);
+        Set<Long> changedIds = changed.keySet();
+
+        this.games = merge(previous.games, changedIds, added);
+        this.byId = previous.byId.with(changed);
+        this.byGenre = Collections.unmodifiableMap(reindex(previous.byGenre, new EnumMap<>(Genre.class),
+                VideoGameView::genre, removed, added, changedIds));
+        this.byReleaseYear = Collections.unmodifiableNavigableMap(reindex(previous.byReleaseYear, new TreeMap<>(),
+                videoGame -> videoGame.releaseDate() == null ? null : videoGame.releaseDate().getYear(),
+                removed, added, changedIds));
+        this.byDeveloper = Collections.unmodifiableMap(reindex(previous.byDeveloper, new HashMap<>(),
+                VideoGameView::developedBy, removed, added, changedIds));
+    }
+
+    public static CatalogSnapshot of(Collection<VideoGameView> videoGames, CatalogVersion catalogVersion, long cursor) {
+        return new CatalogSnapshot(videoGames, catalogVersion, cursor, Instant.now());
+    }
+
+    // A snapshot read back from a file, as current as it was when it was captured
+    public static CatalogSnapshot of(Collection<VideoGameView> videoGames, CatalogVersion catalogVersion, long cursor,
+                                     Instant capturedAt) {
+        return new CatalogSnapshot(videoGames, catalogVersion, cursor, capturedAt);
+    }
+
+    // The changes must follow this snapshot's cursor, in cursor order. Every entry carries the full game, so
+    // replaying one that the snapshot already contains leaves the same state
+    public CatalogSnapshot apply(List<VideoGameChangeDTO> changes, CatalogVersion catalogVersion) {
+        // Last state of every changed game, null once deleted
+        Map<Long, VideoGameView> changed = HashMap.newHashMap(changes.size());
+        boolean cleared = false;
+
+        long lastCursor = cursor;
+        for (VideoGameChangeDTO change : changes) {
+            switch (change.type()) {
+                case INSERT, UPDATE -> changed.put(change.videoGameId(), VideoGameView.from(change.videoGame()));
+                case DELETE -> changed.put(change.videoGameId(), null);
+                case CLEAR -> {
+                    cleared = true;
+                    changed.clear();
+                }
+            }
+            lastCursor = change.cursor();
+        }
+
+        // Only the games written after the last CLEAR are left, they are indexed from scratch
+        if (cleared) {
+            return new CatalogSnapshot(changed.values().stream().filter(Objects::nonNull).toList(), catalogVersion,
+                    lastCursor, Instant.now());
+        }
+        return new CatalogSnapshot(this, changed, catalogVersion, lastCursor, Instant.now());
+    }
+
+    // Nothing changed since this snapshot: the same games, checked now
+    public CatalogSnapshot refreshed() {
+        return new CatalogSnapshot(this, Instant.now());
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public CatalogVersion getCatalogVersion() {
+        return new CatalogVersion(catalogVersion, lastModified);
+    }
+
+    public List<VideoGameView> findAll() {
+        return games;
+    }
+
+    public VideoGameView findById(long id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    // Same criteria as VideoGameRepository.FILTER. The smallest index bucket is scanned
+    public List<VideoGameView> findMatching(VideoGameFilter filter) {
+        List<VideoGameView> candidates = games;
+        if (filter.genre() != null) {
+            candidates = smallest(candidates, byGenre.getOrDefault(filter.genre(), List.of()));
+        }
+        if (filter.developedBy() != null) {
+            candidates = smallest(candidates, byDeveloper.getOrDefault(filter.developedBy(), List.of()));
+        }
+        if (filter.releasedBefore() != null) {
+            Collection<List<VideoGameView>> years = byReleaseYear.headMap(filter.releasedBefore().getYear(), true).values();
+            int releasedCount = years.stream().mapToInt(List::size).sum();
+            if (releasedCount < candidates.size()) {
+                List<VideoGameView> released = new ArrayList<>(releasedCount);
+                years.forEach(released::addAll);
+                released.sort(BY_ID);
+                candidates = released;
+            }
+        }
+
+        return candidates.stream()
+                .filter(videoGame -> matches(videoGame, filter))
+                .toList();
+    }
+
+    // The sorted games without the changed ids, with the added games (sorted too) merged in
+    private static List<VideoGameView> merge(List<VideoGameView> games, Set<Long> changedIds,
+                                             List<VideoGameView> added) {
+        List<VideoGameView> merged = new ArrayList<>(games.size() + added.size());
+        int next = 0;
+        for (VideoGameView videoGame : games) {
+            while (next < added.size() && added.get(next).id() < videoGame.id()) {
+                merged.add(added.get(next++));
+            }
+            if (!changedIds.contains(videoGame.id())) {
+                merged.add(videoGame);
+            }
+        }
+        while (next < added.size()) {
+            merged.add(added.get(next++));
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    // Copies the index into the given map and rebuilds only the buckets of the removed and added games
+    private static <K, M extends Map<K, List<VideoGameView>>> M reindex(Map<K, List<VideoGameView>> index, M copy,
+                                                                      Function<VideoGameView, K> keyOf,
+                                                                      List<VideoGameView> removed,
+                                                                      List<VideoGameView> added, Set<Long> changedIds) {
+        copy.putAll(index);
+
+        // Grouping keeps the id order of the added games
+        Map<K, List<VideoGameView>> addedByKey = new HashMap<>();
+        for (VideoGameView videoGame : added) {
+            K key = keyOf.apply(videoGame);
+            if (key != null) {
+                addedByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(videoGame);
+            }
+        }
+        Set<K> touched = new HashSet<>(addedByKey.keySet());
+        for (VideoGameView videoGame : removed) {
+            K key = keyOf.apply(videoGame);
+            if (key != null) {
+                touched.add(key);
+            }
+        }
+
+        for (K key : touched) {
+            List<VideoGameView> bucket = merge(index.getOrDefault(key, List.of()), changedIds,
+                    addedByKey.getOrDefault(key, List.of()));
+            if (bucket.isEmpty()) {
+                copy.remove(key);
+            } else {
+                copy.put(key, bucket);
+            }
+        }
+        return copy;
+    }
+
+    private static List<VideoGameView> smallest(List<VideoGameView> current, List<VideoGameView> bucket) {
+        return bucket.size() < current.size() ? bucket : current;
+    }
+
+    private static boolean matches(VideoGameView videoGame, VideoGameFilter filter) {
+        return (filter.genre() == null || filter.genre() == videoGame.genre())
+                && (filter.developedBy() == null || filter.developedBy().equals(videoGame.developedBy()))
+                && (filter.releasedBefore() == null
+                || (videoGame.releaseDate() != null && videoGame.releaseDate().isBefore(filter.releasedBefore())));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.Genre;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The catalog persisted every app.games.snapshot.interval to app.games.snapshot.path, in a compact binary format.
+ * It is memory-mapped to warm the in-memory catalog at startup and to serve the reads while the database is down.
+ */
+@Component
+@ConditionalOnExpression("'${app.games.snapshot.path:}'.trim() != ''")
+public class CatalogSnapshotFile {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogSnapshotFile.class);
+
+    // "VGCS", followed by the version of the format. 2: the genres are indexes into a table of names in the header
+    private static final int MAGIC = 0x56474353;
+    private static final int FORMAT_VERSION = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final byte NO_GENRE = -1;
+    private static final int NO_STRING = -1;
+    private static final Genre[] GENRES = Genre.values();
+
+    private final Path path;
+    private final CatalogLoader loader;
+    private final ObjectProvider<InMemoryCatalog> inMemoryCatalog;
+
+    public CatalogSnapshotFile(@Value("${app.games.snapshot.path}") String path, CatalogLoader loader,
+                               ObjectProvider<InMemoryCatalog> inMemoryCatalog) {
+        this.path = Path.of(path.trim());
+        this.loader = loader;
+        this.inMemoryCatalog = inMemoryCatalog;
+    }
+
+    // The in-memory catalog is written as it is, otherwise the catalog is read from the database
+    @Scheduled(fixedDelayString = "${app.games.snapshot.interval}", initialDelayString = "${app.games.snapshot.interval}")
+    public void persist() {
+        try {
+            InMemoryCatalog catalog = inMemoryCatalog.getIfAvailable();
+            CatalogSnapshot snapshot = catalog != null && catalog.getSnapshot() != null
+                    ? catalog.getSnapshot()
+                    : loader.loadAll();
+            write(snapshot);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Catalog snapshot not written: {}", e.getMessage());
+        }
+    }
+
+    // Written next to the file and moved over it, a reader never sees a half written snapshot
+    public void write(CatalogSnapshot snapshot) {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                writeTo(temporary, snapshot);
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            LOGGER.debug("Catalog snapshot written with {} video games", snapshot.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the catalog snapshot " + path, e);
+        }
+    }
+
+    private static void writeTo(Path file, CatalogSnapshot snapshot) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.getCapturedAt().toEpochMilli());
+            out.writeLong(snapshot.getCursor());
+            CatalogVersion catalogVersion = snapshot.getCatalogVersion();
+            out.writeLong(catalogVersion.getVersion());
+            out.writeLong(catalogVersion.getLastModified().toEpochMilli());
+            // The names of the genres, so a file outlives a reordering of the enum
+            out.writeByte(GENRES.length);
+            for (Genre genre : GENRES) {
+                writeString(out, genre.name());
+            }
+            out.writeInt(snapshot.size());
+            for (VideoGameView videoGame : snapshot.findAll()) {
+                out.writeLong(videoGame.id());
+                out.writeLong(videoGame.version() == null ? 0L : videoGame.version());
+                out.writeLong(videoGame.releaseDate() == null ? NO_DATE : videoGame.releaseDate().toEpochDay());
+                out.writeByte(videoGame.genre() == null ? NO_GENRE : videoGame.genre().ordinal());
+                writeString(out, videoGame.name());
+                writeString(out, videoGame.developedBy());
+            }
+        }
+    }
+
+    // Empty when there is no snapshot yet or it can not be read
+    public Optional<CatalogSnapshot> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                LOGGER.warn("{} is not a catalog snapshot of this version, ignored", path);
+                return Optional.empty();
+            }
+
+            Instant capturedAt = Instant.ofEpochMilli(buffer.getLong());
+            long cursor = buffer.getLong();
+            CatalogVersion catalogVersion = new CatalogVersion(buffer.getLong(), Instant.ofEpochMilli(buffer.getLong()));
+            Genre[] genres = new Genre[buffer.get()];
+            for (int i = 0; i < genres.length; i++) {
+                String name = readString(buffer);
+                if (name == null) {
+                    throw new IllegalArgumentException("Genre " + i + " has no name");
+                }
+                genres[i] = Genre.valueOf(name);
+            }
+            int size = buffer.getInt();
+            List<VideoGameView> videoGames = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long id = buffer.getLong();
+                long version = buffer.getLong();
+                long epochDay = buffer.getLong();
+                byte genre = buffer.get();
+                videoGames.add(new VideoGameView(id, readString(buffer),
+                        epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                        readString(buffer), genre == NO_GENRE ? null : genres[genre], version));
+            }
+
+            return Optional.of(CatalogSnapshot.of(videoGames, catalogVersion, cursor, capturedAt));
+        // IllegalArgumentException: a genre of the file that no longer exists
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | IllegalArgumentException e) {
+            LOGGER.warn("Catalog snapshot {} could not be read: {}", path, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NO_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NO_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.datasource.CircuitBreakingDataSource;
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * While the database can not be reached the catalog reads are served from the last snapshot (the in-memory catalog,
+ * otherwise the newest of the snapshot file and the last catalog listing) and the writes are rejected.
+ * <p>
+ * Only the health check switches it on and off: every app.games.degraded.health-check-interval, and at once when the
+ * circuit breaker opens. It fetches a connection past the breaker, and a pool timeout without a connection failure
+ * behind it means the database is busy, not unreachable: the requests that fail get their 503 and nothing else
+ * changes. Forcing the breaker open (a drill) switches it on.
+ */
+@Component
+public class DegradedMode {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DegradedMode.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource dataSource;
+    private final ObjectProvider<InMemoryCatalog> inMemoryCatalog;
+    private final ObjectProvider<CatalogSnapshotFile> snapshotFile;
+    private final LastGoodCatalog lastGoodCatalog;
+    private final ObjectProvider<DatabaseCircuitBreaker> circuitBreaker;
+    // Runs the checks requested by the circuit breaker, off the thread of the call that opened it
+    private final ExecutorService checker;
+    private final AtomicBoolean checkQueued = new AtomicBoolean();
+
+    // Serializes entering and leaving. Not a monitor: virtual threads stay unpinned while the snapshot file is read
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean active;
+    // Served while active, null when there was no snapshot to read
+    private volatile CatalogSnapshot staleSnapshot;
+
+    public DegradedMode(DataSource dataSource, ObjectProvider<InMemoryCatalog> inMemoryCatalog,
+                        ObjectProvider<CatalogSnapshotFile> snapshotFile, LastGoodCatalog lastGoodCatalog,
+                        ObjectProvider<DatabaseCircuitBreaker> circuitBreaker) {
+        // The health check goes past the circuit breaker: while it is open it would fail without asking the database
+        this.dataSource = dataSource instanceof CircuitBreakingDataSource breaking
+                ? breaking.getTargetDataSource()
+                : dataSource;
+        this.inMemoryCatalog = inMemoryCatalog;
+        this.snapshotFile = snapshotFile;
+        this.lastGoodCatalog = lastGoodCatalog;
+        this.circuitBreaker = circuitBreaker;
+        this.checker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "degraded-mode-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void listenToCircuitBreaker() {
+        circuitBreaker.ifAvailable(breaker -> breaker.onTransition(state -> {
+            if (state == DatabaseCircuitBreaker.State.FORCED_OPEN) {
+                enter("the circuit breaker was forced open");
+            } else if (state == DatabaseCircuitBreaker.State.OPEN && checkQueued.compareAndSet(false, true)) {
+                checker.execute(() -> {
+                    checkQueued.set(false);
+                    checkDatabase();
+                });
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checker.shutdownNow();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public CatalogSnapshot getStaleSnapshot() {
+        return staleSnapshot;
+    }
+
+    // Returns the snapshot to serve the reads from, null when there is none
+    public CatalogSnapshot enter(String reason) {
+        if (active) {
+            return staleSnapshot;
+        }
+
+        lock.lock();
+        try {
+            if (active) {
+                return staleSnapshot;
+            }
+
+            InMemoryCatalog catalog = inMemoryCatalog.getIfAvailable();
+            CatalogSnapshot snapshot = catalog != null ? catalog.getSnapshot() : null;
+            if (snapshot == null) {
+                CatalogSnapshotFile file = snapshotFile.getIfAvailable();
+                snapshot = newest(file == null ? null : file.read().orElse(null), lastGoodCatalog.getSnapshot());
+            }
+            staleSnapshot = snapshot;
+            active = true;
+
+            LOGGER.warn("Database unavailable ({}), degraded mode on: writes are rejected and reads are served from {}",
+                    reason, snapshot == null ? "nowhere, there is no snapshot" : "the snapshot of " + snapshot.getCapturedAt());
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void exit() {
+        lock.lock();
+        try {
+            if (!active) {
+                return;
+            }
+            active = false;
+            staleSnapshot = null;
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.info("Database available again, degraded mode off");
+
+        // Outside the lock: the catch-up reads the database
+        InMemoryCatalog catalog = inMemoryCatalog.getIfAvailable();
+        if (catalog != null) {
+            catalog.refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.games.degraded.health-check-interval}")
+    public void checkDatabase() {
+        DatabaseCircuitBreaker breaker = circuitBreaker.getIfAvailable();
+        if (breaker != null && breaker.getState() == DatabaseCircuitBreaker.State.FORCED_OPEN) {
+            enter("the circuit breaker is forced open");
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                exit();
+            } else {
+                enter("invalid connection");
+            }
+        } catch (SQLTransientConnectionException e) {
+            if (e.getCause() == null) {
+                // The pool timed out with every connection in use: busy, not unreachable
+                LOGGER.warn("⚠️ Database health check: {}", e.getMessage());
+            } else {
+                enter(e.getMessage());
+            }
+        } catch (SQLException | RuntimeException e) {
+            enter(e.getMessage());
+        }
+    }
+
+    private static CatalogSnapshot newest(CatalogSnapshot first, CatalogSnapshot second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return second.getCapturedAt().isAfter(first.getCapturedAt()) ? second : first;
+    }
+}
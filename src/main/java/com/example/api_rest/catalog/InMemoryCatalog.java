@@ -0,0 +1,175 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.event.ChangeLogAdvancedEvent;
+import com.example.api_rest.event.VideoGameChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Replica of the catalog in memory, enabled with app.games.in-memory.enabled. It is loaded once the application is
+ * ready, from the snapshot file when there is one, and follows the change log: right after every catalog write of
+ * this instance commits, and every app.games.in-memory.refresh-interval for the writes of other instances.
+ * <p>
+ * Only the applier thread reads the change log and replaces the snapshot, so no lock is needed. Callers queue a
+ * catch-up and wait for it without holding a monitor, and the commits that arrive while one is queued share it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.games.in-memory.enabled", havingValue = "true")
+public class InMemoryCatalog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryCatalog.class);
+
+    private final CatalogLoader loader;
+    private final ObjectProvider<CatalogSnapshotFile> snapshotFile;
+    private final ExecutorService applier;
+    // The catch-up queued on the applier and not started yet, null when there is none
+    private final AtomicReference<CompletableFuture<CatalogSnapshot>> queued = new AtomicReference<>();
+
+    @Value("${app.games.in-memory.apply-wait}")
+    private Duration applyWait;
+
+    // Readers take the current snapshot without locking, the applier replaces it. Null until loaded
+    private volatile CatalogSnapshot snapshot;
+
+    public InMemoryCatalog(CatalogLoader loader, ObjectProvider<CatalogSnapshotFile> snapshotFile) {
+        this.loader = loader;
+        this.snapshotFile = snapshotFile;
+        this.applier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-applier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Reads the whole catalog, from the snapshot file when there is one, and waits for it
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        await(CompletableFuture.supplyAsync(() -> snapshot = loadSnapshot(), applier));
+    }
+
+    // Applies the changes committed so far and waits for them
+    public void catchUp() {
+        await(requestCatchUp());
+    }
+
+    // The first event of a transaction brings in all of its changes, the rest are already applied.
+    // The write has committed at this point, a failure is left to the next scheduled refresh
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVideoGameChanged(VideoGameChangedEvent event) {
+        awaitCursor(event.change().cursor());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChangeLogAdvanced(ChangeLogAdvancedEvent event) {
+        awaitCursor(event.toCursor());
+    }
+
+    @Scheduled(fixedDelayString = "${app.games.in-memory.refresh-interval}",
+            initialDelayString = "${app.games.in-memory.refresh-interval}")
+    public void refresh() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            LOGGER.warn("In-memory catalog refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        applier.shutdownNow();
+    }
+
+    // The writer waits up to apply-wait so its next read sees the write, then the change is left to the applier
+    private void awaitCursor(long cursor) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || cursor <= current.getCursor()) {
+            return;
+        }
+        try {
+            requestCatchUp().get(applyWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("In-memory catalog did not apply change {} within {}, it is applied in the background",
+                    cursor, applyWait);
+        } catch (ExecutionException e) {
+            LOGGER.warn("In-memory catalog could not apply change {}: {}", cursor, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A catch-up queued and not started yet reads the log after this call, so it is shared instead of queuing another
+    private CompletableFuture<CatalogSnapshot> requestCatchUp() {
+        CompletableFuture<CatalogSnapshot> next = new CompletableFuture<>();
+        CompletableFuture<CatalogSnapshot> pending = queued.compareAndExchange(null, next);
+        if (pending != null) {
+            return pending;
+        }
+
+        applier.execute(() -> {
+            // From here on a new commit queues its own catch-up
+            queued.set(null);
+            try {
+                next.complete(apply());
+            } catch (RuntimeException e) {
+                next.completeExceptionally(e);
+            }
+        });
+        return next;
+    }
+
+    private static void await(CompletableFuture<CatalogSnapshot> applied) {
+        try {
+            applied.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // Runs on the applier thread only
+    private CatalogSnapshot apply() {
+        CatalogSnapshot current = snapshot;
+        snapshot = current == null ? loadSnapshot() : loader.catchUp(current);
+        return snapshot;
+    }
+
+    private CatalogSnapshot loadSnapshot() {
+        // Only the changes made since the file was written are read from the database
+        Optional<CatalogSnapshot> persisted = Optional.ofNullable(snapshotFile.getIfAvailable())
+                .flatMap(CatalogSnapshotFile::read)
+                .filter(loader::canCatchUp);
+        if (persisted.isPresent()) {
+            CatalogSnapshot loaded = loader.catchUp(persisted.get());
+            LOGGER.info("In-memory catalog loaded from the snapshot file with {} video games", loaded.size());
+            return loaded;
+        }
+
+        CatalogSnapshot loaded = loader.loadAll();
+        LOGGER.info("In-memory catalog loaded with {} video games", loaded.size());
+        return loaded;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The last full listing of the catalog read from the database. It is always kept, so degraded mode has something to
+ * serve even without the in-memory catalog or the snapshot file. It is only rebuilt when the catalog version changed.
+ */
+@Component
+public class LastGoodCatalog {
+
+    // Null until the catalog has been listed once
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // The games must have been read after the catalog version: they may be newer than it, never older
+    public void remember(List<VideoGameView> videoGames, CatalogVersion catalogVersion) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || current.getCatalogVersion().getVersion() != catalogVersion.getVersion()) {
+            snapshot = CatalogSnapshot.of(videoGames, catalogVersion, 0L);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.api_rest.catalog;
+
+import java.util.Map;
+
+/**
+ * Immutable map from primitive long keys. Open addressing with linear probing over two parallel arrays: a lookup
+ * neither boxes the key nor follows a chain of entry objects. Changes produce a copy of the arrays.
+ */
+final class LongObjectMap<V> {
+
+    // Marks an empty slot, the key 0 is kept aside in zeroValue
+    private static final long EMPTY = 0L;
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final V zeroValue;
+    private final int size;
+
+    private LongObjectMap(long[] keys, Object[] values, V zeroValue, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.zeroValue = zeroValue;
+        this.size = size;
+    }
+
+    // Keys must be unique. The table is kept at most half full so probe sequences stay short
+    static <V> LongObjectMap<V> of(long[] keys, V[] values) {
+        int capacity = capacityFor(keys.length);
+        long[] table = new long[capacity];
+        Object[] tableValues = new Object[capacity];
+        V zeroValue = null;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY) {
+                zeroValue = values[i];
+                continue;
+            }
+            put(table, tableValues, keys[i], values[i]);
+        }
+
+        return new LongObjectMap<>(table, tableValues, zeroValue, keys.length);
+    }
+
+    // A copy with every key of the changes set to its value, or removed when the value is null. The copy shares
+    // nothing mutable with this map, which stays as it was
+    LongObjectMap<V> with(Map<Long, V> changes) {
+        int capacity = Math.max(keys.length, capacityFor(size + changes.size()));
+        long[] table;
+        Object[] tableValues;
+        if (capacity == keys.length) {
+            table = keys.clone();
+            tableValues = values.clone();
+        } else {
+            table = new long[capacity];
+            tableValues = new Object[capacity];
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    put(table, tableValues, keys[slot], values[slot]);
+                }
+            }
+        }
+
+        V newZeroValue = zeroValue;
+        int newSize = size;
+        for (Map.Entry<Long, V> change : changes.entrySet()) {
+            long key = change.getKey();
+            V value = change.getValue();
+            if (key == EMPTY) {
+                newSize += (value != null ? 1 : 0) - (newZeroValue != null ? 1 : 0);
+                newZeroValue = value;
+            } else if (value != null) {
+                newSize += put(table, tableValues, key, value) ? 1 : 0;
+            } else {
+                newSize -= remove(table, tableValues, key) ? 1 : 0;
+            }
+        }
+
+        return new LongObjectMap<>(table, tableValues, newZeroValue, newSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        if (key == EMPTY) {
+            return zeroValue;
+        }
+        int slot = slot(key, mask);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int capacityFor(int size) {
+        return Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+    }
+
+    // Returns whether the key was new
+    private static boolean put(long[] table, Object[] tableValues, long key, Object value) {
+        int mask = table.length - 1;
+        int slot = slot(key, mask);
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        boolean added = table[slot] == EMPTY;
+        table[slot] = key;
+        tableValues[slot] = value;
+        return added;
+    }
+
+    // Backward shift deletion: the entries after the removed one move back into the gap when their probe sequence
+    // allows it, so no tombstones are left behind. Returns whether the key was there
+    private static boolean remove(long[] table, Object[] tableValues, long key) {
+        int mask = table.length - 1;
+        int gap = slot(key, mask);
+        while (table[gap] != key) {
+            if (table[gap] == EMPTY) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+
+        int next = (gap + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = slot(table[next], mask);
+            // The entry can fill the gap when the gap lies between its home slot and where it is now
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                tableValues[gap] = tableValues[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap] = EMPTY;
+        tableValues[gap] = null;
+        return true;
+    }
+
+    // Time-ordered ids differ mostly in their high bits, the multiplicative hash spreads them over the table
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
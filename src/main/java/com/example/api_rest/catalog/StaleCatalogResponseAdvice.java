@@ -0,0 +1,40 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.controller.VideoGameController;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Catalog reads served in degraded mode tell the client how old the snapshot behind them is
+@RestControllerAdvice(assignableTypes = VideoGameController.class)
+public class StaleCatalogResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_SINCE_HEADER = "X-Catalog-Stale-Since";
+
+    private final DegradedMode degradedMode;
+
+    public StaleCatalogResponseAdvice(DegradedMode degradedMode) {
+        this.degradedMode = degradedMode;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        CatalogSnapshot snapshot = degradedMode.getStaleSnapshot();
+        if (request.getMethod() == HttpMethod.GET && degradedMode.isActive() && snapshot != null) {
+            response.getHeaders().set(STALE_SINCE_HEADER, snapshot.getCapturedAt().toString());
+        }
+        return body;
+    }
+}
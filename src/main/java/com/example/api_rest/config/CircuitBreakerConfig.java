@@ -0,0 +1,60 @@
+package com.example.api_rest.config;
+
+import com.example.api_rest.datasource.CircuitBreakingDataSource;
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Circuit breaker around the database, enabled with app.circuit-breaker.enabled. It wraps the connection acquisition
+ * of the application data source and every Spring Data repository call.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.circuit-breaker.enabled", havingValue = "true")
+public class CircuitBreakerConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public DatabaseCircuitBreaker databaseCircuitBreaker(
+            @Value("${app.circuit-breaker.window-size}") int windowSize,
+            @Value("${app.circuit-breaker.minimum-calls}") int minimumCalls,
+            @Value("${app.circuit-breaker.failure-rate-threshold}") int failureRateThreshold,
+            @Value("${app.circuit-breaker.slow-call-duration}") Duration slowCallDuration,
+            @Value("${app.circuit-breaker.slow-call-rate-threshold}") int slowCallRateThreshold,
+            @Value("${app.circuit-breaker.wait-duration-in-open}") Duration waitDurationInOpen,
+            @Value("${app.circuit-breaker.half-open-calls}") int halfOpenCalls) {
+        return new DatabaseCircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallDuration,
+                slowCallRateThreshold, waitDurationInOpen, halfOpenCalls, Clock.systemUTC());
+    }
+
+    // Static, like every post-processor: it is created before the other beans, the breaker is looked up on first use
+    @Bean
+    public static BeanPostProcessor circuitBreakerPostProcessor(ObjectProvider<DatabaseCircuitBreaker> circuitBreaker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return new CircuitBreakingDataSource(dataSource, circuitBreaker.getObject());
+                }
+                // Outermost advice of the repository proxy: it sees the exceptions already translated
+                if (bean instanceof Repository<?, ?> && bean instanceof Advised advised) {
+                    advised.addAdvice(0, (MethodInterceptor) invocation ->
+                            circuitBreaker.getObject().call(invocation::proceed));
+                }
+                return bean;
+            }
+        };
+    }
+}
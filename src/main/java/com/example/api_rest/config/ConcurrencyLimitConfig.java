@@ -0,0 +1,40 @@
+package com.example.api_rest.config;
+
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import com.example.api_rest.filter.AdaptiveConcurrencyLimit;
+import com.example.api_rest.filter.ConcurrencyLimitFilter;
+import com.example.api_rest.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Adaptive concurrency limit with load shedding, enabled with app.concurrency-limit.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(
+            @Value("${app.concurrency-limit.initial-limit}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit}") int maxLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimit limit,
+                                                                                ErrorResponseFactory errorResponseFactory,
+                                                                                TokenService tokenService,
+                                                                                @Value("${app.jwt.cookie-name}") String cookieName) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limit, errorResponseFactory, tokenService, cookieName));
+        // Right after the character encoding, before the security filters (JwtAuthenticationFilter among them)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
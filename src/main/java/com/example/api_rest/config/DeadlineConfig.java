@@ -0,0 +1,28 @@
+package com.example.api_rest.config;
+
+import com.example.api_rest.deadline.DeadlineInterceptor;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request deadlines: the interceptor that sets them. DeadlineTransactionConfig applies them to the database work, apart
+ * so that the web slice tests do not need JPA.
+ */
+@Configuration
+public class DeadlineConfig implements WebMvcConfigurer, EmbeddedValueResolverAware {
+
+    private StringValueResolver valueResolver;
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DeadlineInterceptor(valueResolver));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.api_rest.config;
+
+import com.example.api_rest.deadline.DeadlineJpaTransactionManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * The transaction manager that applies the request deadlines to the database work, in place of the one Spring Boot
+ * would create.
+ */
+@Configuration
+public class DeadlineTransactionConfig {
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new DeadlineJpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(transactionManagerCustomizers -> transactionManagerCustomizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
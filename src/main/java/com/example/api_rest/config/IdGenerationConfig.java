@@ -0,0 +1,26 @@
+package com.example.api_rest.config;
+
+import com.example.api_rest.entity.id.SwitchableIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGenerationConfig {
+
+    @Value("${app.id.strategy}")
+    private String strategy;
+
+    @Value("${app.id.node-id}")
+    private int nodeId;
+
+    // Hands the id settings to SwitchableIdGenerator, which is created by Hibernate and not by Spring
+    @Bean
+    public HibernatePropertiesCustomizer idGenerationPropertiesCustomizer() {
+        return properties -> {
+            properties.put(SwitchableIdGenerator.STRATEGY_SETTING, strategy);
+            properties.put(SwitchableIdGenerator.NODE_ID_SETTING, String.valueOf(nodeId));
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.api_rest.config;
+
+import com.example.api_rest.datasource.ReplicaRoutingDataSource;
+import com.example.api_rest.filter.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Read replicas, enabled when app.datasource.replicas.urls is not empty. The replicas use the credentials and driver
+ * of the primary.
+ */
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replicas.urls:}'.trim() != ''")
+public class ReadReplicaConfig {
+
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.connection-timeout}")
+    private Duration connectionTimeout;
+
+    @Value("${app.datasource.replicas.read-your-writes-window}")
+    private Duration readYourWritesWindow;
+
+    @Value("${app.jwt.secret-key}")
+    private String jwtSecretKey;
+
+    public ReadReplicaConfig(ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment) {
+        // Every pool gets the spring.datasource.hikari.* limits, like the single pool Spring Boot creates otherwise
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = IntStream.range(0, replicaUrls.size())
+                .mapToObj(i -> {
+                    HikariDataSource replica = properties.initializeDataSourceBuilder()
+                            .type(HikariDataSource.class)
+                            .url(replicaUrls.get(i).trim())
+                            .build();
+                    binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+                    replica.setPoolName("replica-" + i);
+                    replica.setReadOnly(true);
+                    // A replica that stops answering must not hold the reads for the default 30 seconds
+                    replica.setConnectionTimeout(connectionTimeout.toMillis());
+                    return (DataSource) replica;
+                })
+                .toList();
+
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, replicas, (int) Math.max(1, connectionTimeout.toSeconds()));
+        routingDataSource.checkReplicas();
+        return routingDataSource;
+    }
+
+    // The connection is fetched on the first statement, once the transaction is marked read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Open-in-view keeps the EntityManager for the whole request and, by default, its connection too: a read-only
+    // transaction followed by a write in the same request would write on the replica
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesWindow, jwtSecretKey));
+        // Around the security filters, so the login reads its user from the primary too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval}",
+            initialDelayString = "${app.datasource.replicas.health-check-interval}")
+    public void checkReplicas() {
+        replicaRoutingDataSource.getObject().checkReplicas();
+    }
+}
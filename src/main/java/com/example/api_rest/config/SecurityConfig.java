@@ -4,6 +4,7 @@ import com.example.api_rest.entity.Role;
 import com.example.api_rest.exception.handler.CustomSecurityExceptionHandler;
 import com.example.api_rest.filter.JwtAuthenticationFilter;
 import com.example.api_rest.service.AuthService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
@@ -71,6 +72,8 @@ public class SecurityConfig {
                         .accessDeniedHandler(customSecurityExceptionHandler))
                 .authorizeHttpRequests(request ->
                         request
+                                // Async dispatches (e.g. SSE streams) were already authorized on the original request
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/docs/**").permitAll()
                                 .requestMatchers("/swagger-ui.html").permitAll()
                                 .requestMatchers("/v3/api-docs").permitAll()
@@ -80,6 +83,8 @@ public class SecurityConfig {
                                 .requestMatchers(ApiConfig.API_BASE_PATH + "/games").hasRole(Role.ADMIN.name())
                                 .requestMatchers(HttpMethod.GET, ApiConfig.API_BASE_PATH + "/games/*").hasRole(Role.USER.name())
                                 .requestMatchers(ApiConfig.API_BASE_PATH + "/games/*").hasRole(Role.ADMIN.name())
+                                .requestMatchers(ApiConfig.API_BASE_PATH + "/jobs/*").hasRole(Role.ADMIN.name())
+                                .requestMatchers(ApiConfig.API_BASE_PATH + "/circuit-breaker/**").hasRole(Role.ADMIN.name())
                                 .anyRequest().denyAll())
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
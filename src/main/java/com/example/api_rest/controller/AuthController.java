@@ -1,12 +1,17 @@
 package com.example.api_rest.controller;
 
 import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.deadline.Deadline;
+import com.example.api_rest.dto.BatchResultDTO;
 import com.example.api_rest.dto.DeleteUserDTO;
 import com.example.api_rest.dto.EditUserDTO;
 import com.example.api_rest.dto.LoginUserDTO;
 import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserPageDTO;
+import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.User;
 import com.example.api_rest.service.AuthService;
+import com.example.api_rest.service.UserBatchService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -16,15 +21,18 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping(path = ApiConfig.API_BASE_PATH + "/auth")
+@Deadline("${app.deadline.auth}")
 public class AuthController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthController.class);
 
     private final AuthService authService;
+    private final UserBatchService batchService;
 
     @Value("${app.jwt.cookie-name}")
     private String cookieName;
@@ -37,8 +45,9 @@ public class AuthController {
     @Value("${app.jwt.cookie-expiration-time}")
     private int expirationTime;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, UserBatchService batchService) {
         this.authService = authService;
+        this.batchService = batchService;
     }
 
     @PostMapping("/register")
@@ -49,6 +58,16 @@ public class AuthController {
         return ResponseEntity.status(201).body(user);
     }
 
+    // Customer onboarding: users are validated one by one, so a taken username does not reject the whole batch
+    @Deadline("${app.deadline.auth-bulk}")
+    @PostMapping("/bulk-register")
+    public ResponseEntity<BatchResultDTO> registerAll(@RequestBody List<RegisterUserDTO> dtos) {
+        BatchResultDTO result = batchService.registerAll(dtos);
+        LOGGER.info("Batch of {} users processed, {} registered", result.received(), result.created());
+
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginUserDTO loginRequest, HttpServletResponse response) {
         final String token = authService.login(loginRequest);
@@ -60,6 +79,16 @@ public class AuthController {
                 "token", token));
     }
 
+    // Keyset pagination: pass the nextCursor of a page as after to get the next one. q matches the start of the
+    // username or the email, ignoring case
+    @GetMapping("/users")
+    public ResponseEntity<UserPageDTO> search(@RequestParam(name = "q", required = false) String query,
+                                              @RequestParam(name = "role", required = false) Role role,
+                                              @RequestParam(name = "after", defaultValue = "0") long after,
+                                              @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(authService.search(query, role, after, limit));
+    }
+
     @PutMapping("/edit")
     public ResponseEntity<User> edit(@Valid @RequestBody EditUserDTO dto) {
         User user = authService.edit(dto);
@@ -0,0 +1,44 @@
+package com.example.api_rest.controller;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+import com.example.api_rest.dto.CircuitBreakerDTO;
+import com.example.api_rest.dto.CircuitBreakerStateDTO;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = ApiConfig.API_BASE_PATH + "/circuit-breaker")
+@ConditionalOnProperty(name = "app.circuit-breaker.enabled", havingValue = "true")
+public class CircuitBreakerController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerController.class);
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    public CircuitBreakerController(DatabaseCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @GetMapping
+    public ResponseEntity<CircuitBreakerDTO> getStatus() {
+        return ResponseEntity.ok(circuitBreaker.getStatus());
+    }
+
+    // FORCED_OPEN and FORCED_CLOSED for drills, CLOSED to go back to normal operation
+    @PutMapping("/state")
+    public ResponseEntity<CircuitBreakerDTO> setState(@Valid @RequestBody CircuitBreakerStateDTO dto) {
+        circuitBreaker.force(dto.state());
+        LOGGER.info("✅ Database circuit breaker set to {}", dto.state());
+
+        return ResponseEntity.ok(circuitBreaker.getStatus());
+    }
+}
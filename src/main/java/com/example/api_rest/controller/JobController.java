@@ -0,0 +1,26 @@
+package com.example.api_rest.controller;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.dto.JobDTO;
+import com.example.api_rest.service.JobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = ApiConfig.API_BASE_PATH + "/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDTO> findById(@PathVariable String id) {
+        return ResponseEntity.ok(jobService.findById(id));
+    }
+}
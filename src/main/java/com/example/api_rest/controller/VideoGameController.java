@@ -1,40 +1,172 @@
 package com.example.api_rest.controller;
 
 import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.deadline.Deadline;
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.BulkUpdateResultDTO;
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.DeleteResultDTO;
+import com.example.api_rest.dto.JobDTO;
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
 import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameFields;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameLookupDTO;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
 import com.example.api_rest.entity.VideoGame;
-import com.example.api_rest.exception.VideoGameNotFoundException;
+import com.example.api_rest.exception.PreconditionFailedException;
+import com.example.api_rest.service.ChangeFeedService;
+import com.example.api_rest.service.JobService;
+import com.example.api_rest.service.VideoGameBatchService;
+import com.example.api_rest.service.VideoGameImportService;
 import com.example.api_rest.service.VideoGameService;
+import com.example.api_rest.stream.CatalogChangeBroadcaster;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping(path = ApiConfig.API_BASE_PATH + "/games")
+@Deadline("${app.deadline.games-write}")
 public class VideoGameController {
 
     private final VideoGameService videoGameService;
+    private final VideoGameBatchService batchService;
+    private final ChangeFeedService changeFeedService;
+    private final CatalogChangeBroadcaster broadcaster;
+    private final JobService jobService;
+    private final VideoGameImportService importService;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VideoGameController.class);
+    private static final Pattern ITEM_ETAG = Pattern.compile("\"v(\\d+)\"");
 
-    public VideoGameController(VideoGameService videoGameService) {
+    @Value("${app.cache.games.list-max-age}")
+    private long listMaxAge;
+    @Value("${app.cache.games.item-max-age}")
+    private long itemMaxAge;
+    @Value("${app.games.multi-get.max-ids}")
+    private int multiGetMaxIds;
+    @Value("${app.games.delete.async-threshold}")
+    private long asyncDeleteThreshold;
+
+    public VideoGameController(VideoGameService videoGameService, VideoGameBatchService batchService,
+                               ChangeFeedService changeFeedService, CatalogChangeBroadcaster broadcaster,
+                               JobService jobService, VideoGameImportService importService) {
         this.videoGameService = videoGameService;
+        this.batchService = batchService;
+        this.changeFeedService = changeFeedService;
+        this.broadcaster = broadcaster;
+        this.jobService = jobService;
+        this.importService = importService;
     }
 
+    // ?fields=id,name,genre returns only those properties, and only those columns are read.
+    // ?genre=, ?developedBy= and ?releasedBefore= return only the matching games, in id order
+    @Deadline("${app.deadline.games-read}")
     @GetMapping
-    public ResponseEntity<List<VideoGame>> findAll() {
-        return ResponseEntity.ok(videoGameService.findAll());
+    public ResponseEntity<List<?>> findAll(@RequestParam(name = "fields", required = false) String fields,
+                                           VideoGameFilter filter, WebRequest request) {
+        VideoGameFields fieldset = fields == null ? null : VideoGameFields.parse(fields);
+        CatalogVersion catalogVersion = videoGameService.getCatalogVersion();
+        String eTag = withFieldset(catalogETag(catalogVersion), fieldset);
+        long lastModified = catalogVersion.getLastModified().toEpochMilli();
+        CacheControl cacheControl = cacheControl(listMaxAge);
+
+        // The catalog counter is enough to answer a revalidation, nothing else is loaded
+        if (request.checkNotModified(eTag, lastModified)) {
+            return notModified(eTag, cacheControl);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .body(findAll(fieldset, filter));
+    }
+
+    // Results follow the order of the ids, unknown ids are marked as MISSING
+    @Deadline("${app.deadline.games-read}")
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<VideoGameLookupDTO<?>>> findAllById(@RequestParam(name = "ids") List<Long> ids,
+                                                                   @RequestParam(name = "fields", required = false) String fields) {
+        if (ids.isEmpty() || ids.size() > multiGetMaxIds) {
+            throw new IllegalArgumentException("Between 1 and " + multiGetMaxIds + " ids can be requested at once");
+        }
+
+        Map<Long, ?> videoGames = fields == null
+                ? videoGameService.findAllById(ids)
+                : videoGameService.findAllById(ids, VideoGameFields.parse(fields));
+        List<VideoGameLookupDTO<?>> results = ids.stream()
+                .<VideoGameLookupDTO<?>>map(id -> VideoGameLookupDTO.of(id, videoGames.get(id)))
+                .toList();
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl(itemMaxAge))
+                .body(results);
     }
 
+    @Deadline("${app.deadline.games-read}")
     @GetMapping(path = "/{id}")
-    public ResponseEntity<VideoGame> findById(@PathVariable(name = "id") Long id) {
-        return ResponseEntity.ok(videoGameService.findById(id));
+    public ResponseEntity<?> findById(@PathVariable(name = "id") Long id,
+                                      @RequestParam(name = "fields", required = false) String fields,
+                                      WebRequest request) {
+        VideoGameFields fieldset = fields == null ? null : VideoGameFields.parse(fields);
+        CacheControl cacheControl = cacheControl(itemMaxAge);
+
+        Optional<Long> version = videoGameService.findVersionById(id);
+        if (version.isPresent() && request.checkNotModified(withFieldset(itemETag(version.get()), fieldset))) {
+            return notModified(withFieldset(itemETag(version.get()), fieldset), cacheControl);
+        }
+
+        if (fieldset != null) {
+            Map<String, Object> videoGame = videoGameService.findById(id, fieldset);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl);
+            version.ifPresent(v -> response.eTag(withFieldset(itemETag(v), fieldset)));
+
+            return response.body(videoGame);
+        }
+
+        VideoGameView videoGame = videoGameService.findById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl);
+        if (videoGame.version() != null) {
+            response.eTag(itemETag(videoGame.version()));
+        }
+
+        return response.body(videoGame);
+    }
+
+    @Deadline("${app.deadline.games-read}")
+    @GetMapping(path = "/changes")
+    public ResponseEntity<ChangeFeedDTO> findChanges(@RequestParam(name = "since", defaultValue = "0") long since,
+                                                     @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+
+    // The events go on after the handler returns, only the subscription runs on the request thread
+    @Deadline(Deadline.NONE)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return broadcaster.subscribe(lastEventId);
     }
 
     @PostMapping
@@ -49,22 +181,149 @@ public class VideoGameController {
         return ResponseEntity.created(uri).body(videoGame);
     }
 
+    // Items are validated one by one so a single invalid game does not reject the whole batch
+    @Deadline("${app.deadline.games-batch}")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> registerAll(@RequestBody List<VideoGameDTO> dtos) {
+        BatchResultDTO result = batchService.registerAll(dtos);
+        LOGGER.info("Batch of {} video games processed, {} created", result.received(), result.created());
+
+        return ResponseEntity.ok(result);
+    }
+
+    // Catalog files of any size (CSV with a header row, or JSON), loaded by a background job (GET /jobs/{id})
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobDTO> importFile(@RequestParam(name = "file") MultipartFile file) {
+        JobDTO job = importService.importFile(file);
+        LOGGER.info("Import of {} ({} bytes) started in job {}", file.getOriginalFilename(), file.getSize(), job.id());
+
+        return ResponseEntity.accepted().location(jobUri(job)).body(job);
+    }
+
+    // The file lists the whole catalog (partner feeds), games are matched by name and developedBy and only the
+    // differences are written. dryRun only counts them
+    @PostMapping(path = "/sync", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobDTO> syncFile(@RequestParam(name = "file") MultipartFile file,
+                                           @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun) {
+        JobDTO job = importService.syncFile(file, dryRun);
+        LOGGER.info("Sync with {} ({} bytes, dry run: {}) started in job {}", file.getOriginalFilename(), file.getSize(),
+                dryRun, job.id());
+
+        return ResponseEntity.accepted().location(jobUri(job)).body(job);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<VideoGame> update(@PathVariable Long id, @Valid @RequestBody VideoGameDTO dto) {
         return ResponseEntity.ok(videoGameService.update(id, dto));
     }
 
+    // Catalog corrections, e.g. a studio rename: one UPDATE for every game matching the filter
+    @PatchMapping
+    public ResponseEntity<BulkUpdateResultDTO> updateMatching(VideoGameFilter filter,
+                                                              @Valid @RequestBody VideoGameBulkUpdateDTO changes,
+                                                              @RequestParam(name = "limit", required = false) Integer limit,
+                                                              @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun) {
+        BulkUpdateResultDTO result = videoGameService.updateMatching(filter, changes, limit, dryRun);
+        if (!dryRun) {
+            LOGGER.info("{} video games matching {} updated", result.updated(), filter);
+        }
+
+        return ResponseEntity.ok(result);
+    }
+
+    // JSON Merge Patch, If-Match takes the ETag returned by GET /games/{id}
+    @PatchMapping(path = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<VideoGame> patch(@PathVariable Long id, @RequestBody JsonNode mergePatch,
+                                           @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        VideoGame videoGame = videoGameService.patch(id, mergePatch, expectedVersion(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(itemETag(videoGame.getVersion()))
+                .body(videoGame);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id) {
         videoGameService.delete(id);
         return ResponseEntity.noContent().build();
     }
 
+    // Without filters the whole catalog is deleted, in a background job when it is large
     @DeleteMapping
-    public ResponseEntity<Void> deleteAll() {
+    public ResponseEntity<?> deleteAll(VideoGameFilter filter,
+                                       @RequestParam(name = "async", defaultValue = "false") boolean async) {
+        if (!filter.isEmpty()) {
+            int deleted = videoGameService.deleteMatching(filter);
+            LOGGER.info("{} video games deleted matching {}", deleted, filter);
+
+            return ResponseEntity.ok(new DeleteResultDTO(deleted));
+        }
+
         LOGGER.info("Request to delete all video games");
+        if (async || videoGameService.count() >= asyncDeleteThreshold) {
+            JobDTO job = jobService.submit("DELETE_ALL_VIDEO_GAMES", videoGameService::deleteAll);
+
+            return ResponseEntity.accepted().location(jobUri(job)).body(job);
+        }
         videoGameService.deleteAll();
 
         return ResponseEntity.noContent().build();
     }
+
+    private List<?> findAll(VideoGameFields fieldset, VideoGameFilter filter) {
+        if (!filter.isEmpty()) {
+            return fieldset == null ? videoGameService.findMatching(filter) : videoGameService.findMatching(filter, fieldset);
+        }
+        return fieldset == null ? videoGameService.findAll() : videoGameService.findAll(fieldset);
+    }
+
+    private static URI jobUri(JobDTO job) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(ApiConfig.API_BASE_PATH + "/jobs/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+    }
+
+    private static String catalogETag(CatalogVersion catalogVersion) {
+        return "\"catalog-" + catalogVersion.getVersion() + "\"";
+    }
+
+    private static String itemETag(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    // Every fieldset is a different representation, so it gets its own ETag
+    private static String withFieldset(String eTag, VideoGameFields fieldset) {
+        if (fieldset == null) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + ";" + fieldset.key() + "\"";
+    }
+
+    // Only strong item ETags can match, "*" or no header skip the check
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = ITEM_ETAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match does not contain an ETag of this video game: " + ifMatch);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static CacheControl cacheControl(long maxAge) {
+        // Responses depend on the authenticated user, so shared caches must not store them
+        if (maxAge <= 0) {
+            return CacheControl.noCache().cachePrivate();
+        }
+        return CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePrivate();
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .build();
+    }
 }
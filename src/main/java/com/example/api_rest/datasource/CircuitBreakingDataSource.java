@@ -0,0 +1,39 @@
+package com.example.api_rest.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Fetches the connections through the circuit breaker: while it is open no thread waits for the pool, and a pool that
+ * times out counts as a failure. A transaction fetches its connection before calling any repository.
+ */
+public class CircuitBreakingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    public CircuitBreakingDataSource(DataSource target, DatabaseCircuitBreaker circuitBreaker) {
+        super(target);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return circuitBreaker.call(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return circuitBreaker.call(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    // The pool is closed with the application context, like the data source it wraps
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.api_rest.datasource;
+
+import com.example.api_rest.deadline.RequestDeadline;
+import com.example.api_rest.dto.CircuitBreakerDTO;
+import com.example.api_rest.exception.CircuitBreakerOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker in front of the database, shared by the connection acquisition and the repository calls.
+ * <p>
+ * CLOSED: every call goes through and the outcome of the last windowSize calls is kept. Once there are minimumCalls of
+ * them, a failure rate or a slow call rate (calls longer than slowCallDuration) reaching its threshold opens it.
+ * OPEN: calls fail at once with a CircuitBreakerOpenException for waitDurationInOpen, then the next call switches it to
+ * HALF_OPEN. HALF_OPEN: only halfOpenCalls probes go through, their rates decide between CLOSED and OPEN again.
+ * FORCED_OPEN and FORCED_CLOSED are set by hand and ignore the outcomes.
+ * <p>
+ * Only the failures of the database itself count (no connection, timeouts): a constraint violation, an optimistic
+ * lock conflict or a query cancelled by the deadline of its request is a successful call. Only the calls made for a
+ * request (the ones with a RequestDeadline) can be slow: background jobs and scheduled tasks never are.
+ * <p>
+ * No lock is taken: every call reads the current phase (state and window) from an atomic reference and records its
+ * outcome in a ring buffer of atomics. Transitions swap the phase with a compare-and-set, only one caller wins.
+ */
+public class DatabaseCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN,
+        FORCED_OPEN,
+        FORCED_CLOSED
+    }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Throwable> {
+        T run() throws E;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+
+    // A call made during another one on the same thread (e.g. the connection fetched by a repository call) is part of it
+    private final ThreadLocal<Boolean> inCall = new ThreadLocal<>();
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration slowCallDuration;
+    private final int slowCallRateThreshold;
+    private final Duration waitDurationInOpen;
+    private final int halfOpenCalls;
+    private final Clock clock;
+
+    // Replaced on every transition: the outcome of a call permitted in a previous phase is ignored
+    private final AtomicReference<Phase> phase;
+    private final LongAdder notPermittedCalls = new LongAdder();
+    private final Map<String, LongAdder> transitions = new ConcurrentHashMap<>();
+    private final List<Consumer<State>> transitionListeners = new CopyOnWriteArrayList<>();
+
+    public DatabaseCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, Duration slowCallDuration,
+                                  int slowCallRateThreshold, Duration waitDurationInOpen, int halfOpenCalls, Clock clock) {
+        if (minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1 || halfOpenCalls > windowSize) {
+            throw new IllegalArgumentException("minimum-calls and half-open-calls must be between 1 and window-size");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.waitDurationInOpen = waitDurationInOpen;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.phase = new AtomicReference<>(new Phase(State.CLOSED, clock.instant(), windowSize));
+    }
+
+    public <T, E extends Throwable> T call(Call<T, E> call) throws E {
+        if (inCall.get() != null) {
+            return call.run();
+        }
+
+        Phase permittedIn = acquirePermission();
+        Instant start = clock.instant();
+        inCall.set(Boolean.TRUE);
+        try {
+            T result = call.run();
+            record(permittedIn, start, false);
+            return result;
+        } catch (Throwable e) {
+            record(permittedIn, start, isFailure(e));
+            throw e;
+        } finally {
+            inCall.remove();
+        }
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    // Called with the new state, on the thread that made the transition
+    public void onTransition(Consumer<State> listener) {
+        transitionListeners.add(listener);
+    }
+
+    public CircuitBreakerDTO getStatus() {
+        Phase current = phase.get();
+        Map<String, Long> counts = new TreeMap<>();
+        transitions.forEach((transition, count) -> counts.put(transition, count.sum()));
+        return new CircuitBreakerDTO(current.state, current.since, current.buffered(), current.rate(current.failed),
+                current.rate(current.slow), notPermittedCalls.sum(), counts);
+    }
+
+    // For drills: FORCED_OPEN, FORCED_CLOSED, or CLOSED to go back to normal operation
+    public void force(State target) {
+        if (target != State.FORCED_OPEN && target != State.FORCED_CLOSED && target != State.CLOSED) {
+            throw new IllegalArgumentException("The circuit breaker can only be forced open, forced closed or closed");
+        }
+        Phase current;
+        do {
+            current = phase.get();
+        } while (current.state != target && transition(current, target) == null);
+    }
+
+    // Returns the phase the call is permitted in
+    private Phase acquirePermission() {
+        while (true) {
+            Phase current = phase.get();
+            switch (current.state) {
+                case CLOSED, FORCED_CLOSED -> {
+                    return current;
+                }
+                case OPEN -> {
+                    if (clock.instant().isBefore(current.since.plus(waitDurationInOpen))) {
+                        return reject(current);
+                    }
+                    // The caller that switches it to HALF_OPEN makes the first probe, the others try again
+                    Phase halfOpen = transition(current, State.HALF_OPEN);
+                    if (halfOpen != null) {
+                        halfOpen.permitted.incrementAndGet();
+                        return halfOpen;
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (current.permitted.getAndUpdate(permitted -> Math.min(permitted + 1, halfOpenCalls))
+                            < halfOpenCalls) {
+                        return current;
+                    }
+                    return reject(current);
+                }
+                case FORCED_OPEN -> {
+                    return reject(current);
+                }
+            }
+        }
+    }
+
+    private Phase reject(Phase current) {
+        notPermittedCalls.increment();
+        throw new CircuitBreakerOpenException("The database circuit breaker is " + current.state
+                + ", the call was not made");
+    }
+
+    private void record(Phase permittedIn, Instant start, boolean failure) {
+        if (permittedIn != phase.get() || (permittedIn.state != State.CLOSED && permittedIn.state != State.HALF_OPEN)) {
+            return;
+        }
+
+        int outcome = 0;
+        if (failure) {
+            outcome |= FAILED;
+        }
+        // Background work (imports, change log compaction, async deletes) may be slow without any request waiting on it
+        if (RequestDeadline.remaining().isPresent() && Duration.between(start, clock.instant()).compareTo(slowCallDuration) > 0) {
+            outcome |= SLOW;
+        }
+        int buffered = permittedIn.add(outcome);
+
+        if (permittedIn.state == State.CLOSED && buffered >= minimumCalls && thresholdReached(permittedIn)) {
+            transition(permittedIn, State.OPEN);
+        } else if (permittedIn.state == State.HALF_OPEN && buffered >= halfOpenCalls) {
+            transition(permittedIn, thresholdReached(permittedIn) ? State.OPEN : State.CLOSED);
+        }
+    }
+
+    private boolean thresholdReached(Phase current) {
+        return current.rate(current.failed) >= failureRateThreshold || current.rate(current.slow) >= slowCallRateThreshold;
+    }
+
+    // Returns the new phase, null when another caller changed the phase first
+    private Phase transition(Phase from, State target) {
+        Phase to = new Phase(target, clock.instant(), windowSize);
+        if (!phase.compareAndSet(from, to)) {
+            return null;
+        }
+
+        String transition = from.state + "_TO_" + target;
+        transitions.computeIfAbsent(transition, key -> new LongAdder()).increment();
+        if (target == State.OPEN || target == State.FORCED_OPEN) {
+            LOGGER.warn("⚠️ Database circuit breaker {} (failure rate {}%, slow call rate {}%)",
+                    transition, from.rate(from.failed), from.rate(from.slow));
+        } else {
+            LOGGER.info("Database circuit breaker {}", transition);
+        }
+        for (Consumer<State> listener : transitionListeners) {
+            try {
+                listener.accept(target);
+            } catch (RuntimeException e) {
+                LOGGER.error("❌ Error in a circuit breaker transition listener", e);
+            }
+        }
+        return to;
+    }
+
+    // A state and the outcomes recorded while in it, in a ring buffer of the last window-size calls
+    private static final class Phase {
+
+        private final State state;
+        private final Instant since;
+        private final AtomicIntegerArray window;
+        private final AtomicLong recorded = new AtomicLong();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger slow = new AtomicInteger();
+        // Probes let through in HALF_OPEN
+        private final AtomicInteger permitted = new AtomicInteger();
+
+        private Phase(State state, Instant since, int windowSize) {
+            this.state = state;
+            this.since = since;
+            this.window = new AtomicIntegerArray(windowSize);
+        }
+
+        // Every slot swap returns the outcome it evicts, so the counters always match the contents of the window.
+        // Returns the number of outcomes in the window
+        private int add(int outcome) {
+            long index = recorded.getAndIncrement();
+            int evicted = window.getAndSet((int) (index % window.length()), outcome);
+            failed.addAndGet((outcome & FAILED) - (evicted & FAILED));
+            slow.addAndGet(((outcome & SLOW) - (evicted & SLOW)) >> 1);
+            return (int) Math.min(index + 1, window.length());
+        }
+
+        private int buffered() {
+            return (int) Math.min(recorded.get(), window.length());
+        }
+
+        private float rate(AtomicInteger calls) {
+            int buffered = buffered();
+            return buffered == 0 ? 0 : calls.get() * 100f / buffered;
+        }
+    }
+
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof CircuitBreakerOpenException) {
+            return false;
+        }
+        // Cut by the deadline of its request: only its duration tells about the database (a slow call or not)
+        if (RequestDeadline.hasPassed()
+                && (e instanceof QueryTimeoutException || e instanceof jakarta.persistence.QueryTimeoutException)) {
+            return false;
+        }
+        return e instanceof SQLException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessResourceException
+                || e instanceof QueryTimeoutException
+                || e instanceof jakarta.persistence.QueryTimeoutException;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.api_rest.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Sends the connections of read-only transactions to the healthy replicas in round-robin and everything else to the
+ * primary. The lookup happens when the connection is fetched, so it must sit behind a LazyConnectionDataSourceProxy:
+ * the transaction is only marked read-only after it has begun.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    // Set for the requests of a client that has just written, which must see its own writes
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicas.get(i)))
+                .toList();
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.key, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public static void setPrimaryRequired(boolean primaryRequired) {
+        PRIMARY_REQUIRED.set(primaryRequired);
+    }
+
+    public static void clearPrimaryRequired() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        // No replica available, the primary can still serve the read
+        return PRIMARY;
+    }
+
+    /**
+     * Validates a connection of every replica. A replica that fails is skipped by the routing until a later check
+     * succeeds.
+     */
+    public void checkReplicas() {
+        replicas.forEach(replica -> {
+            boolean healthy = isValid(replica.dataSource);
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    LOGGER.info("✅ Read replica {} is back", replica.key);
+                } else {
+                    LOGGER.warn("⚠️ Read replica {} is down, its reads go to the other replicas or the primary", replica.key);
+                }
+            }
+            replica.healthy = healthy;
+        });
+    }
+
+    public boolean isHealthy(int replica) {
+        return replicas.get(replica).healthy;
+    }
+
+    private boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (Exception e) {
+            // Besides SQLException, Hikari throws a PoolInitializationException when the pool cannot start
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.api_rest.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Default deadline of the endpoints of a controller, or of a single handler method (which takes precedence). The value
+ * is an ISO-8601 duration or a property placeholder, e.g. {@code @Deadline("${app.deadline.games-read}")}, or
+ * {@link #NONE} to exempt a method from the deadline of its controller.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Deadline {
+
+    // e.g. a stream, which outlives the request thread
+    String NONE = "none";
+
+    String value();
+}
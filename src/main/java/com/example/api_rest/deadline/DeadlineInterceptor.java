@@ -0,0 +1,86 @@
+package com.example.api_rest.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sets the deadline of every request that has one: the @Deadline of its endpoint, shortened by the client with the
+ * X-Request-Timeout header (milliseconds). Registered by DeadlineConfig.
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final StringValueResolver valueResolver;
+    // The resolved @Deadline of every handler method, empty for the ones without it
+    private final Map<Method, Optional<Duration>> endpointDeadlines = new ConcurrentHashMap<>();
+
+    public DeadlineInterceptor(StringValueResolver valueResolver) {
+        this.valueResolver = valueResolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Optional<Duration> timeout = fromHeader(request);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Optional<Duration> endpointDeadline = endpointDeadlines.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> resolve(handlerMethod));
+            if (endpointDeadline.isPresent() && (timeout.isEmpty() || endpointDeadline.get().compareTo(timeout.get()) < 0)) {
+                timeout = endpointDeadline;
+            }
+        }
+
+        timeout.ifPresent(duration -> RequestDeadline.set(Instant.now().plus(duration)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    // The rest of the request no longer runs on this thread
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    private static Optional<Duration> fromHeader(HttpServletRequest request) {
+        final String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return Optional.empty();
+        }
+
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis > 0) {
+                return Optional.of(Duration.ofMillis(millis));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(TIMEOUT_HEADER + " must be a positive number of milliseconds");
+    }
+
+    private Optional<Duration> resolve(HandlerMethod handlerMethod) {
+        Deadline deadline = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Deadline.class);
+        if (deadline == null) {
+            deadline = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Deadline.class);
+        }
+        if (deadline == null || Deadline.NONE.equals(deadline.value())) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.parse(valueResolver.resolveStringValue(deadline.value())));
+    }
+}
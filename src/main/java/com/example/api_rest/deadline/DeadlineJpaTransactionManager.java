@@ -0,0 +1,38 @@
+package com.example.api_rest.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Transactions begun for a request with a deadline time out with it. Spring hands the time left to every query run in
+ * the transaction as its JDBC query timeout, so the database cancels the statement once the deadline passes, and
+ * refuses to start new queries after it. A transaction that would begin after the deadline is not begun at all.
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    public DeadlineJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        if (remaining.isEmpty()) {
+            return timeout;
+        }
+
+        long remainingMillis = remaining.get().toMillis();
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("The request deadline passed before the transaction began");
+        }
+        // Transaction timeouts are in seconds, rounded up
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
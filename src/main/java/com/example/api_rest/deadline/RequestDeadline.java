@@ -0,0 +1,35 @@
+package com.example.api_rest.deadline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Deadline of the request handled by the current thread, set by DeadlineInterceptor. Work handed to other threads
+ * (e.g. background jobs) does not inherit it.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Instant> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(Instant deadline) {
+        DEADLINE.set(deadline);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    // Empty when the request has no deadline, negative or zero once it has passed
+    public static Optional<Duration> remaining() {
+        Instant deadline = DEADLINE.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.between(Instant.now(), deadline));
+    }
+
+    public static boolean hasPassed() {
+        return remaining().map(remaining -> remaining.isNegative() || remaining.isZero()).orElse(false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.api_rest.dto;
+
+import java.util.List;
+
+public record BatchItemResultDTO(
+        int index,
+        Status status,
+        Long id,
+        List<String> errors) {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, Status.CREATED, id, List.of());
+    }
+
+    public static BatchItemResultDTO invalid(int index, List<String> errors) {
+        return new BatchItemResultDTO(index, Status.INVALID, null, errors);
+    }
+
+    public static BatchItemResultDTO failed(int index, String error) {
+        return new BatchItemResultDTO(index, Status.FAILED, null, List.of(error));
+    }
+}
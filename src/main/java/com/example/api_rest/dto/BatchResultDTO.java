@@ -0,0 +1,17 @@
+package com.example.api_rest.dto;
+
+import java.util.List;
+
+public record BatchResultDTO(
+        int received,
+        int created,
+        int failed,
+        List<BatchItemResultDTO> items) {
+
+    public static BatchResultDTO of(List<BatchItemResultDTO> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == BatchItemResultDTO.Status.CREATED)
+                .count();
+        return new BatchResultDTO(items.size(), created, items.size() - created, items);
+    }
+}
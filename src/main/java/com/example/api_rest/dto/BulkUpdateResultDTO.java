@@ -0,0 +1,7 @@
+package com.example.api_rest.dto;
+
+public record BulkUpdateResultDTO(
+        long matched,
+        long updated,
+        boolean dryRun) {
+}
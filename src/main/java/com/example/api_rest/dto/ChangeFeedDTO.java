@@ -0,0 +1,9 @@
+package com.example.api_rest.dto;
+
+import java.util.List;
+
+public record ChangeFeedDTO(
+        List<VideoGameChangeDTO> changes,
+        long nextCursor,
+        boolean hasMore) {
+}
@@ -0,0 +1,17 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record CircuitBreakerDTO(
+        DatabaseCircuitBreaker.State state,
+        Instant since,
+        int bufferedCalls,
+        float failureRate,
+        float slowCallRate,
+        long notPermittedCalls,
+        // Number of times each transition happened, e.g. CLOSED_TO_OPEN
+        Map<String, Long> transitions) {
+}
@@ -0,0 +1,9 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+import jakarta.validation.constraints.NotNull;
+
+public record CircuitBreakerStateDTO(
+        @NotNull
+        DatabaseCircuitBreaker.State state) {
+}
@@ -0,0 +1,5 @@
+package com.example.api_rest.dto;
+
+public record DeleteResultDTO(
+        long deleted) {
+}
@@ -0,0 +1,31 @@
+package com.example.api_rest.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record JobDTO(
+        String id,
+        String type,
+        Status status,
+        Instant submittedAt,
+        Instant finishedAt,
+        Long affectedRows,
+        String error,
+        // Only for the jobs that report their progress (e.g. imports): rows read so far, rows skipped and the first
+        // of them with the reason, and the outcomes the job counts (e.g. inserted, updated)
+        Long processedRows,
+        Long rejectedRows,
+        List<BatchItemResultDTO> rejected,
+        Map<String, Long> counts) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static JobDTO running(String id, String type, Instant submittedAt) {
+        return new JobDTO(id, type, Status.RUNNING, submittedAt, null, null, null, null, null, null, null);
+    }
+}
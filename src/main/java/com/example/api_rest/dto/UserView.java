@@ -0,0 +1,14 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.entity.Role;
+
+import java.time.LocalDateTime;
+
+// Read model of the users, without the password hash
+public record UserView(
+        Long id,
+        String username,
+        String email,
+        Role role,
+        LocalDateTime registrationDate) {
+}
@@ -0,0 +1,20 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.entity.Genre;
+import jakarta.validation.constraints.PastOrPresent;
+
+import java.time.LocalDate;
+
+// Fields left null keep their current value
+public record VideoGameBulkUpdateDTO(
+        String developedBy,
+
+        Genre genre,
+
+        @PastOrPresent
+        LocalDate releaseDate) {
+
+    public boolean isEmpty() {
+        return developedBy == null && genre == null && releaseDate == null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.entity.VideoGameChange;
+
+import java.time.Instant;
+
+public record VideoGameChangeDTO(
+        long cursor,
+        ChangeType type,
+        Long videoGameId,
+        Instant changedAt,
+        VideoGame videoGame) {
+
+    public static VideoGameChangeDTO from(VideoGameChange change) {
+        return new VideoGameChangeDTO(
+                change.getId(),
+                change.getType(),
+                change.getVideoGameId(),
+                change.getChangedAt(),
+                change.isTombstone() ? null : change.toVideoGame());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.api_rest.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sparse fieldset of a video game (?fields=id,name,genre). The names are the properties of
+ * {@code VideoGame}, in the order they were requested.
+ */
+public record VideoGameFields(List<String> names) {
+
+    public static final List<String> ALLOWED = List.of("id", "name", "releaseDate", "developedBy", "genre", "version");
+
+    public static VideoGameFields parse(String fields) {
+        List<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required, available fields: " + ALLOWED);
+        }
+        names.stream()
+                .filter(name -> !ALLOWED.contains(name))
+                .findFirst()
+                .ifPresent(name -> {
+                    throw new IllegalArgumentException("Unknown video game field: " + name + ", available fields: " + ALLOWED);
+                });
+
+        return new VideoGameFields(names);
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    // Identifies the representation, e.g. in ETags
+    public String key() {
+        return String.join(".", names);
+    }
+}
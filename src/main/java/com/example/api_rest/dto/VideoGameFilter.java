@@ -0,0 +1,17 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.entity.Genre;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Every criterion is optional, the ones present are combined with AND
+public record VideoGameFilter(
+        Genre genre,
+        String developedBy,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedBefore) {
+
+    public boolean isEmpty() {
+        return genre == null && developedBy == null && releasedBefore == null;
+    }
+}
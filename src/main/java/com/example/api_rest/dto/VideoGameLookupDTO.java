@@ -0,0 +1,19 @@
+package com.example.api_rest.dto;
+
+// The video game is either a VideoGame or the sparse fieldset that was requested
+public record VideoGameLookupDTO<T>(
+        Long id,
+        Status status,
+        T videoGame) {
+
+    public enum Status {
+        FOUND,
+        MISSING
+    }
+
+    public static <T> VideoGameLookupDTO<T> of(Long id, T videoGame) {
+        return videoGame == null
+                ? new VideoGameLookupDTO<>(id, Status.MISSING, null)
+                : new VideoGameLookupDTO<>(id, Status.FOUND, videoGame);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.api_rest.dto;
+
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+
+import java.time.LocalDate;
+
+// Immutable read model of a video game, serialized with the same properties as the entity
+public record VideoGameView(
+        Long id,
+        String name,
+        LocalDate releaseDate,
+        String developedBy,
+        Genre genre,
+        Long version) {
+
+    public static VideoGameView from(VideoGame videoGame) {
+        return new VideoGameView(videoGame.getId(), videoGame.getName(), videoGame.getReleaseDate(),
+                videoGame.getDevelopedBy(), videoGame.getGenre(), videoGame.getVersion());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.api_rest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "api_catalog_version")
+public class CatalogVersion {
+
+    // The whole catalog shares a single counter row
+    public static final long CATALOG_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    // Highest change log cursor whose tombstone was compacted: a consumer behind it missed deletes
+    @Column(name = "changes_compacted_up_to", nullable = false)
+    private long changesCompactedUpTo;
+
+    public CatalogVersion() {
+    }
+
+    public CatalogVersion(long version, Instant lastModified) {
+        this.id = CATALOG_ID;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public long getChangesCompactedUpTo() {
+        return changesCompactedUpTo;
+    }
+
+    public void setChangesCompactedUpTo(long changesCompactedUpTo) {
+        this.changesCompactedUpTo = changesCompactedUpTo;
+    }
+}
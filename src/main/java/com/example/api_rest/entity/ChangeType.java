@@ -0,0 +1,9 @@
+package com.example.api_rest.entity;
+
+public enum ChangeType {
+    INSERT,
+    UPDATE,
+    DELETE,
+    // Every game registered before this change has been deleted
+    CLEAR
+}
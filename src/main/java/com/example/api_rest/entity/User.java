@@ -1,5 +1,6 @@
 package com.example.api_rest.entity;
 
+import com.example.api_rest.entity.id.SwitchableId;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -7,25 +8,40 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
+// Usernames and emails are unique regardless of case: the constraints are on their lower-case keys, so a registration
+// is a single INSERT and the database settles concurrent ones
 @Entity
-@Table(name = "api_user")
+@Table(name = "api_user", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username_key"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email_key")},
+        // GET /auth/users filtered by role, in id order
+        indexes = @Index(name = "ix_api_user_role_id", columnList = "role, id"))
 public class User {
 
+    public static final String USERNAME_CONSTRAINT = "uk_api_user_username_key";
+    public static final String EMAIL_CONSTRAINT = "uk_api_user_email_key";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SwitchableId(sequenceName = "api_user_seq")
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
+    @Column(name = "username_key", nullable = false)
+    private String usernameKey;
+
     @Column(nullable = false)
     private String password;
 
-    @Column(unique = true)
     private String email;
 
+    @Column(name = "email_key")
+    private String emailKey;
+
     @Column(name = "registration_date")
     private LocalDateTime registrationDate;
 
@@ -56,6 +72,18 @@ public class User {
         this.role = role;
     }
 
+    // The value the unique constraints compare
+    public static String key(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void updateKeys() {
+        this.usernameKey = key(username);
+        this.emailKey = key(email);
+    }
+
     public Long getId() {
         return id;
     }
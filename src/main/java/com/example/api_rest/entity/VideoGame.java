@@ -1,15 +1,21 @@
 package com.example.api_rest.entity;
 
+import com.example.api_rest.entity.id.SwitchableId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "api_video_game")
+// Updates flushed by Hibernate only set the columns that changed
+@DynamicUpdate
 public class VideoGame {
 
+    // Ids are reserved in blocks (or built in memory) so inserts can be grouped in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SwitchableId(sequenceName = "api_video_game_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -24,6 +30,11 @@ public class VideoGame {
     @Enumerated(value = EnumType.STRING)
     private Genre genre;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public VideoGame() {
     }
 
@@ -82,4 +93,12 @@ public class VideoGame {
     public void setGenre(Genre genre) {
         this.genre = genre;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
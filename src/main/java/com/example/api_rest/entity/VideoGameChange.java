@@ -0,0 +1,143 @@
+package com.example.api_rest.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "api_video_game_change", indexes = {
+        @Index(name = "idx_video_game_change_game", columnList = "video_game_id")
+})
+public class VideoGameChange {
+
+    // Doubles as the cursor of the change feed
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "video_game_id")
+    private Long videoGameId;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    // Snapshot of the game after the change, empty for tombstones
+    private String name;
+
+    @Column(name = "release_date")
+    private LocalDate releaseDate;
+
+    @Column(name = "developed_by")
+    private String developedBy;
+
+    @Enumerated(value = EnumType.STRING)
+    private Genre genre;
+
+    private Long version;
+
+    public VideoGameChange() {
+    }
+
+    public VideoGameChange(Long videoGameId, ChangeType type, Instant changedAt) {
+        this.videoGameId = videoGameId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+
+    public VideoGameChange(VideoGame videoGame, ChangeType type, Instant changedAt) {
+        this(videoGame.getId(), type, changedAt);
+        this.name = videoGame.getName();
+        this.releaseDate = videoGame.getReleaseDate();
+        this.developedBy = videoGame.getDevelopedBy();
+        this.genre = videoGame.getGenre();
+        this.version = videoGame.getVersion();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVideoGameId() {
+        return videoGameId;
+    }
+
+    public void setVideoGameId(Long videoGameId) {
+        this.videoGameId = videoGameId;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public void setType(ChangeType type) {
+        this.type = type;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getReleaseDate() {
+        return releaseDate;
+    }
+
+    public void setReleaseDate(LocalDate releaseDate) {
+        this.releaseDate = releaseDate;
+    }
+
+    public String getDevelopedBy() {
+        return developedBy;
+    }
+
+    public void setDevelopedBy(String developedBy) {
+        this.developedBy = developedBy;
+    }
+
+    public Genre getGenre() {
+        return genre;
+    }
+
+    public void setGenre(Genre genre) {
+        this.genre = genre;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public boolean isTombstone() {
+        return type == ChangeType.DELETE || type == ChangeType.CLEAR;
+    }
+
+    public VideoGame toVideoGame() {
+        VideoGame videoGame = new VideoGame(name, releaseDate, developedBy, genre);
+        videoGame.setId(videoGameId);
+        videoGame.setVersion(version);
+        return videoGame;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.api_rest.entity.id;
+
+public enum IdStrategy {
+
+    // Database sequence, ids are reserved in blocks of allocationSize (pooled-lo optimizer)
+    SEQUENCE,
+    // 53-bit ids built in the application: 39 bits timestamp (10 ms ticks) | 6 bits node | 8 bits sequence
+    TIME_ORDERED;
+
+    public static IdStrategy from(String value) {
+        if (value == null || value.isBlank())
+            return SEQUENCE;
+
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
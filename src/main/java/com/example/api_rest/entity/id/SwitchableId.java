@@ -0,0 +1,25 @@
+package com.example.api_rest.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Identifier generated by {@link SwitchableIdGenerator}. The strategy (pooled-lo sequence or time-ordered)
+ * is chosen with the {@code app.id.strategy} property, the sequence is created in both cases so the
+ * strategy can be switched without a schema change.
+ */
+@IdGeneratorType(SwitchableIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface SwitchableId {
+
+    String sequenceName();
+
+    int allocationSize() default 50;
+}
@@ -0,0 +1,67 @@
+package com.example.api_rest.entity.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Generator behind {@link SwitchableId}. With {@link IdStrategy#SEQUENCE} it behaves as a pooled-lo
+ * sequence generator: one {@code nextval} reserves {@code allocationSize} ids. With
+ * {@link IdStrategy#TIME_ORDERED} ids are built in memory by a {@link TimeOrderedIdSource}.
+ * Both keep JDBC insert batching available, unlike {@code IDENTITY} columns.
+ */
+public class SwitchableIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY_SETTING = "app.id.strategy";
+    public static final String NODE_ID_SETTING = "app.id.node-id";
+
+    private final SwitchableId config;
+
+    private IdStrategy strategy;
+    private TimeOrderedIdSource timeOrderedIds;
+
+    public SwitchableIdGenerator(SwitchableId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.put(SEQUENCE_PARAM, config.sequenceName());
+        parameters.put(INCREMENT_PARAM, config.allocationSize());
+        parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        // The sequence is always mapped, so switching the strategy doesn't change the schema
+        super.configure(type, parameters, serviceRegistry);
+
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        try {
+            strategy = IdStrategy.from((String) settings.get(STRATEGY_SETTING));
+            if (strategy == IdStrategy.TIME_ORDERED)
+                timeOrderedIds = new TimeOrderedIdSource(Long.parseLong(settings.getOrDefault(NODE_ID_SETTING, "0").toString()));
+        } catch (IllegalArgumentException e) {
+            throw new MappingException("Invalid id generation settings for sequence '" + config.sequenceName() + "'", e);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (strategy == IdStrategy.TIME_ORDERED)
+            return timeOrderedIds.next();
+
+        return super.generate(session, object);
+    }
+
+    public IdStrategy getStrategy() {
+        return strategy;
+    }
+}
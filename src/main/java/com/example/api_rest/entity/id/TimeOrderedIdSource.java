@@ -0,0 +1,57 @@
+package com.example.api_rest.entity.id;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered identifiers that don't need a database round trip. Every id is
+ * {@code 10 ms ticks since 2025-01-01 (39 bits) | node (6 bits) | counter (8 bits)}: 53 bits, so ids are positive, fit
+ * in a JavaScript {@code number} (up to 2^53 - 1, about 170 years), grow with time and don't collide between nodes
+ * with a different {@code app.id.node-id}. A node hands out up to 25,600 ids per second before borrowing ticks.
+ */
+public class TimeOrderedIdSource {
+
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final long TICK_MILLIS = 10;
+    static final int NODE_BITS = 6;
+    static final int SEQUENCE_BITS = 8;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    // Largest integer a JavaScript number holds exactly
+    static final long MAX_ID = (1L << 53) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+
+    private long lastTick = -1;
+    private long sequence;
+
+    public TimeOrderedIdSource(long node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdSource(long node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE)
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public synchronized long next() {
+        // Never go back in time: if the clock moves backwards we keep counting on the last tick
+        long tick = Math.max((clock.getAsLong() - EPOCH) / TICK_MILLIS, lastTick);
+
+        if (tick == lastTick) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            // Counter exhausted, borrow the next tick instead of waiting for it
+            if (sequence == 0)
+                tick++;
+        } else {
+            sequence = 0;
+        }
+        lastTick = tick;
+
+        return (tick << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.api_rest.event;
+
+// Many entries appended to the change log at once (bulk writes): the ones with a cursor in (fromCursor, toCursor].
+// Listeners page them from the log instead of receiving every change as an event
+public record ChangeLogAdvancedEvent(long fromCursor, long toCursor) {
+}
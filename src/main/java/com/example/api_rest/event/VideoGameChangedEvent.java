@@ -0,0 +1,6 @@
+package com.example.api_rest.event;
+
+import com.example.api_rest.dto.VideoGameChangeDTO;
+
+public record VideoGameChangedEvent(VideoGameChangeDTO change) {
+}
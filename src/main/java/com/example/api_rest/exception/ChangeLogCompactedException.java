@@ -0,0 +1,7 @@
+package com.example.api_rest.exception;
+
+public class ChangeLogCompactedException extends RuntimeException {
+    public ChangeLogCompactedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.api_rest.exception;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+// The database is treated as unavailable: the same 503 as a connection that can not be obtained
+public class CircuitBreakerOpenException extends DataAccessResourceFailureException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
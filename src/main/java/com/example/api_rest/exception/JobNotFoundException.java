@@ -0,0 +1,7 @@
+package com.example.api_rest.exception;
+
+public class JobNotFoundException extends NotFoundException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.api_rest.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
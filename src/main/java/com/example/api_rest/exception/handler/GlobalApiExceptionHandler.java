@@ -1,16 +1,29 @@
 package com.example.api_rest.exception.handler;
 
+import com.example.api_rest.exception.ChangeLogCompactedException;
 import com.example.api_rest.exception.NotFoundException;
+import com.example.api_rest.exception.EmailAlreadyExistsException;
+import com.example.api_rest.exception.PreconditionFailedException;
+import com.example.api_rest.exception.ServiceUnavailableException;
 import com.example.api_rest.exception.UsernameAlreadyExistsException;
 import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
 import java.util.List;
 import java.util.Map;
@@ -27,7 +40,8 @@ public class GlobalApiExceptionHandler {
     }
 
     // 400 - Bad Request
-    @ExceptionHandler({UsernameAlreadyExistsException.class, IllegalArgumentException.class})
+    @ExceptionHandler({UsernameAlreadyExistsException.class, EmailAlreadyExistsException.class,
+            IllegalArgumentException.class})
     public ResponseEntity<Map<String, Object>> handleBadRequest(RuntimeException e) {
         LOGGER.warn("⚠️ {}", e.getMessage());
 
@@ -46,6 +60,37 @@ public class GlobalApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    // 400 - Bad Request
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleConstraintViolations(ConstraintViolationException e) {
+        List<String> errors = e.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.BAD_REQUEST, "Validation error", errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // 400 - Bad Request
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        String message = "Invalid value for parameter '" + e.getName() + "': " + e.getValue();
+        LOGGER.warn("⚠️ {}", message);
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.BAD_REQUEST, message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // 400 - Bad Request
+    @ExceptionHandler(MissingServletRequestPartException.class)
+    public ResponseEntity<Map<String, Object>> handleMissingPart(MissingServletRequestPartException e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.BAD_REQUEST, e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     // 401 - Unauthorized
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, Object>> handleBadCredentials(BadCredentialsException e) {
@@ -62,6 +107,67 @@ public class GlobalApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    // 410 - Gone
+    @ExceptionHandler(ChangeLogCompactedException.class)
+    public ResponseEntity<Map<String, Object>> handleChangeLogCompacted(ChangeLogCompactedException e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.GONE, e.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(body);
+    }
+
+    // 412 - Precondition Failed
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(RuntimeException e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        String message = e instanceof PreconditionFailedException
+                ? e.getMessage()
+                : "The resource was modified by another request";
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.PRECONDITION_FAILED, message);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    // 413 - Content Too Large (spring.servlet.multipart.max-file-size)
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadTooLarge(MaxUploadSizeExceededException e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.PAYLOAD_TOO_LARGE,
+                "The uploaded file is too large");
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(body);
+    }
+
+    // 503 - Service Unavailable
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    // 503 - Service Unavailable (no database connection within spring.datasource.hikari.connection-timeout)
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(Exception e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.SERVICE_UNAVAILABLE,
+                "The database is busy, try again later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    // 504 - Gateway Timeout (the request deadline passed before its database work finished)
+    @ExceptionHandler({TransactionTimedOutException.class, QueryTimeoutException.class,
+            jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceeded(Exception e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.GATEWAY_TIMEOUT,
+                "The request deadline was exceeded");
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(body);
+    }
+
     // 500 - Internal Server Error (Catch-all)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleInternalServerError(Exception e) {
@@ -1,10 +1,14 @@
 package com.example.api_rest.exception.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -38,6 +42,22 @@ public class ErrorResponseFactory {
         }
     }
 
+    /**
+     * Método para los filtros de la aplicación reactiva (ReactiveCatalogApplication).
+     * Escribe la respuesta de error directamente en el ServerHttpResponse.
+     */
+    public Mono<Void> writeErrorResponse(ServerHttpResponse response, HttpStatus status, String message) {
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.setStatusCode(status);
+
+        try {
+            DataBuffer body = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(buildErrorBody(status, message)));
+            return response.writeWith(Mono.just(body));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
     /**
      * Método para el @ControllerAdvice.
      * Construye y devuelve el cuerpo del error para ser usado en un ResponseEntity.
@@ -0,0 +1,92 @@
+package com.example.api_rest.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the latency, in the manner of a gradient limiter. A short and a long moving average of
+ * the response times are kept: while the short one stays within TOLERANCE of the long one the limit grows by about its
+ * square root (the queue it allows), and once requests start queueing it shrinks in proportion. A response that
+ * reports an overload downstream (503) shrinks it too.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    // Nanoseconds, guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("The concurrency limits must be 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Takes a slot when fewer than share of the limit are in flight, e.g. 0.5 gives up once half the limit is busy
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // A negative rtt gives the slot back without a sample (e.g. a request that went asynchronous)
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (rttNanos >= 0) {
+            update(rttNanos, inFlightAtStart, dropped);
+        }
+    }
+
+    private synchronized void update(long rtt, int inFlightAtStart, boolean dropped) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        }
+        shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt += (rtt - longRtt) / LONG_WINDOW;
+        // After an overload the long average is left too high: let it come down with the short one
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double newLimit;
+        if (dropped) {
+            newLimit = limit * DROP_BACKOFF;
+        } else if (inFlightAtStart < limit / 2) {
+            // Few requests in flight, the latency says nothing about the limit
+            return;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
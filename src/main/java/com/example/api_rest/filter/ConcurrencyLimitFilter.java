@@ -0,0 +1,105 @@
+package com.example.api_rest.filter;
+
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import com.example.api_rest.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Load shedding in front of the API: a request that finds its share of the adaptive concurrency limit busy gets a 503
+ * at once, instead of waiting in Tomcat's queue until it times out along with the others. Anonymous requests (or with
+ * an invalid token) give up first, then the reads of the users, then the reads of the admins, and the admin writes
+ * last. Registered by ConcurrencyLimitConfig ahead of the security filters: the token is only validated here once the
+ * share of the anonymous requests is busy, to classify the request; JwtAuthenticationFilter still authenticates it.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum Priority {
+        ANONYMOUS(0.5),
+        USER_READ(0.7),
+        ADMIN_READ(0.85),
+        ADMIN_WRITE(1.0);
+
+        // Share of the limit the requests of this class can use
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ErrorResponseFactory errorResponseFactory;
+    private final TokenService tokenService;
+    private final String cookieName;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, ErrorResponseFactory errorResponseFactory,
+                                  TokenService tokenService, String cookieName) {
+        this.limit = limit;
+        this.errorResponseFactory = errorResponseFactory;
+        this.tokenService = tokenService;
+        this.cookieName = cookieName;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // Below the share of the anonymous requests every request goes through, the token is not even read
+        if (!limit.tryAcquire(Priority.ANONYMOUS.share) && !limit.tryAcquire(priorityOf(request).share)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            errorResponseFactory.writeErrorResponse(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "The server is overloaded, try again later");
+            return;
+        }
+
+        int inFlight = limit.getInFlight();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // A stream goes on without its thread, its duration is not a response time
+            long rtt = request.isAsyncStarted() ? -1 : System.nanoTime() - start;
+            limit.release(rtt, inFlight, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    // By the roles of a valid token and the method: a made-up cookie must not jump the queue. Users cannot write, their
+    // writes are rejected once authenticated and go with the anonymous requests
+    Priority priorityOf(HttpServletRequest request) {
+        final Cookie[] cookies = request.getCookies();
+        Optional<String> token = cookies == null ? Optional.empty() : Arrays.stream(cookies)
+                .filter(cookie -> cookie.getName().equals(cookieName))
+                .map(Cookie::getValue)
+                .findFirst();
+
+        try {
+            if (token.isEmpty() || !tokenService.validateToken(token.get())) {
+                return Priority.ANONYMOUS;
+            }
+            boolean admin = tokenService.getAuthoritiesFromToken(token.get()).stream()
+                    .anyMatch(authority -> authority.getAuthority().equals(Role.ADMIN.toString()));
+            boolean read = READ_METHODS.contains(request.getMethod());
+            if (admin) {
+                return read ? Priority.ADMIN_READ : Priority.ADMIN_WRITE;
+            }
+            return read ? Priority.USER_READ : Priority.ANONYMOUS;
+        } catch (JwtException e) {
+            return Priority.ANONYMOUS;
+        }
+    }
+}
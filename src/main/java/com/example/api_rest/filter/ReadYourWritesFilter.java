@@ -0,0 +1,113 @@
+package com.example.api_rest.filter;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.datasource.ReplicaRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Read-your-writes for the read replicas: a request that may write hands the client a cookie, and the reads of that
+ * client are served by the primary until the cookie expires, so the replication lag never hides its own changes.
+ * The cookie is signed with the JWT secret and its time is capped at one window from now, so a client cannot pin its
+ * reads on the primary. Registered by ReadReplicaConfig only when replicas are configured.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Duration window;
+    private final SecretKeySpec key;
+
+    public ReadYourWritesFilter(Duration window, String secretKey) {
+        this.window = window;
+        this.key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        if (write) {
+            final Cookie cookie = new Cookie(COOKIE_NAME, sign(now + window.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            cookie.setPath(ApiConfig.API_BASE_PATH);
+            cookie.setHttpOnly(true);
+            cookie.setAttribute("SameSite", "Strict");
+            response.addCookie(cookie);
+        }
+
+        ReplicaRoutingDataSource.setPrimaryRequired(write || Math.min(primaryUntil(request), now + window.toMillis()) > now);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPrimaryRequired();
+        }
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+        final Cookie[] cookies = request.getCookies();
+
+        if (cookies == null) {
+            return 0;
+        }
+
+        return Arrays.stream(cookies)
+                .filter(cookie -> cookie.getName().equals(COOKIE_NAME))
+                .mapToLong(cookie -> verify(cookie.getValue()))
+                .max()
+                .orElse(0);
+    }
+
+    // "<epoch millis>.<base64url HMAC of the millis>"
+    private String sign(long until) {
+        final String value = String.valueOf(until);
+        return value + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(value));
+    }
+
+    // The signed time, or 0 when the value is malformed or its signature does not match
+    private long verify(String cookieValue) {
+        final int dot = cookieValue.indexOf('.');
+
+        if (dot < 0) {
+            return 0;
+        }
+
+        final String value = cookieValue.substring(0, dot);
+        try {
+            final byte[] signature = Base64.getUrlDecoder().decode(cookieValue.substring(dot + 1));
+            return MessageDigest.isEqual(signature, hmac(value)) ? Long.parseLong(value) : 0;
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private byte[] hmac(String value) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign the " + COOKIE_NAME + " cookie", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.entity.VideoGame;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+// One prepared INSERT sent as a single JDBC batch
+public class BatchVideoGameLoader implements VideoGameLoader {
+
+    private static final String INSERT = "INSERT INTO " + TABLE + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public void load(Connection connection, List<VideoGame> videoGames) throws SQLException {
+        if (videoGames.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            for (VideoGame videoGame : videoGames) {
+                statement.setLong(1, videoGame.getId());
+                statement.setString(2, videoGame.getName());
+                if (videoGame.getReleaseDate() != null) {
+                    statement.setDate(3, Date.valueOf(videoGame.getReleaseDate()));
+                } else {
+                    statement.setNull(3, Types.DATE);
+                }
+                statement.setString(4, videoGame.getDevelopedBy());
+                statement.setString(5, videoGame.getGenre() == null ? null : videoGame.getGenre().name());
+                statement.setLong(6, videoGame.getVersion());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Diff between the games of the catalog and a feed that lists all of them, matched by (name, developedBy). Every game
+ * of the feed is accepted in turn, and what the feed did not mention is left for deletion. Catalog rows repeating a key
+ * beyond the first (lowest id) one are left for deletion too, the feed can only stand for one of them.
+ */
+public class CatalogDiff {
+
+    public enum Action {
+        INSERT,
+        UPDATE,
+        UNCHANGED,
+        // The feed already listed a game with this key
+        DUPLICATE
+    }
+
+    // current: the catalog row an UPDATE applies to
+    public record Change(Action action, VideoGameView current) {
+    }
+
+    private record Key(String name, String developedBy) {
+    }
+
+    private final Map<Key, VideoGameView> unmatched;
+    private final List<VideoGameView> duplicates = new ArrayList<>();
+    private final Set<Key> seen = new HashSet<>();
+
+    public CatalogDiff(List<VideoGameView> catalog) {
+        this.unmatched = HashMap.newHashMap(catalog.size());
+        catalog.stream()
+                .sorted(Comparator.comparing(VideoGameView::id))
+                .forEach(videoGame -> {
+                    if (unmatched.putIfAbsent(new Key(videoGame.name(), videoGame.developedBy()), videoGame) != null) {
+                        duplicates.add(videoGame);
+                    }
+                });
+    }
+
+    public Change accept(VideoGameDTO videoGame) {
+        Key key = new Key(videoGame.name(), videoGame.developedBy());
+        if (!seen.add(key)) {
+            return new Change(Action.DUPLICATE, null);
+        }
+
+        VideoGameView current = unmatched.remove(key);
+        if (current == null) {
+            return new Change(Action.INSERT, null);
+        }
+        if (Objects.equals(current.releaseDate(), videoGame.releaseDate()) && current.genre() == videoGame.genre()) {
+            return new Change(Action.UNCHANGED, current);
+        }
+        return new Change(Action.UPDATE, current);
+    }
+
+    // Once the whole feed has been accepted: the catalog rows it does not stand for, in id order
+    public List<VideoGameView> remaining() {
+        List<VideoGameView> remaining = new ArrayList<>(unmatched.values());
+        remaining.addAll(duplicates);
+        remaining.sort(Comparator.comparing(VideoGameView::id));
+        return remaining;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.entity.VideoGame;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL COPY FROM STDIN: the rows are streamed as CSV in a single command, with no statement to parse or plan
+ * per row and no round trip per batch.
+ */
+public class CopyVideoGameLoader implements VideoGameLoader {
+
+    private static final String COPY = "COPY " + TABLE + " (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    static boolean supports(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    @Override
+    public void load(Connection connection, List<VideoGame> videoGames) throws SQLException {
+        if (videoGames.isEmpty()) {
+            return;
+        }
+
+        StringBuilder rows = new StringBuilder(videoGames.size() * 96);
+        for (VideoGame videoGame : videoGames) {
+            rows.append(videoGame.getId()).append(',');
+            appendText(rows, videoGame.getName());
+            rows.append(',');
+            if (videoGame.getReleaseDate() != null) {
+                rows.append(videoGame.getReleaseDate());
+            }
+            rows.append(',');
+            appendText(rows, videoGame.getDevelopedBy());
+            rows.append(',');
+            if (videoGame.getGenre() != null) {
+                rows.append(videoGame.getGenre().name());
+            }
+            rows.append(',').append(videoGame.getVersion()).append('\n');
+        }
+        byte[] data = rows.toString().getBytes(StandardCharsets.UTF_8);
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY);
+        try {
+            copyIn.writeToCopy(data, 0, data.length);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    // Unquoted empty is NULL in the CSV format, so text is always quoted
+    private static void appendText(StringBuilder rows, String value) {
+        if (value == null) {
+            return;
+        }
+        rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV: comma separated fields, optionally quoted, where quoted fields can contain commas, line breaks and
+ * doubled quotes. The header row names the columns, in any order; empty fields are null.
+ */
+public class CsvImportReader implements ImportReader {
+
+    private static final List<String> COLUMNS = List.of("name", "releaseDate", "developedBy", "genre");
+    private static final int NAME = 0;
+    private static final int RELEASE_DATE = 1;
+    private static final int DEVELOPED_BY = 2;
+    private static final int GENRE = 3;
+    // A field is kept in memory until it ends, a file without quotes or line breaks where expected can not exhaust it
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    // Column of every field of a record
+    private final int[] columnOf;
+    private final StringBuilder field = new StringBuilder();
+    private int index;
+
+    public CsvImportReader(Reader reader) throws IOException {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+
+        List<String> header = readFields();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file is empty, a header row is required");
+        }
+        columnOf = new int[header.size()];
+        boolean hasName = false;
+        for (int i = 0; i < header.size(); i++) {
+            // A byte order mark is not part of the first column name
+            String name = (i == 0 ? header.get(i).replace("\uFEFF", "") : header.get(i)).trim();
+            columnOf[i] = indexOfColumn(name);
+            hasName |= columnOf[i] == NAME;
+        }
+        if (!hasName) {
+            throw new IllegalArgumentException("The CSV header must contain the name column");
+        }
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+        } while (fields != null && fields.size() == 1 && fields.getFirst().isEmpty());
+        if (fields == null) {
+            return null;
+        }
+
+        int recordIndex = index++;
+        if (fields.size() != columnOf.length) {
+            return ImportRecord.invalid(recordIndex,
+                    List.of("Expected " + columnOf.length + " fields, found " + fields.size()));
+        }
+
+        String[] values = new String[COLUMNS.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            values[columnOf[i]] = fields.get(i).isEmpty() ? null : fields.get(i);
+        }
+
+        List<String> errors = new ArrayList<>();
+        LocalDate releaseDate = null;
+        if (values[RELEASE_DATE] != null) {
+            try {
+                releaseDate = LocalDate.parse(values[RELEASE_DATE].trim());
+            } catch (DateTimeParseException e) {
+                errors.add("releaseDate: must be a date (yyyy-MM-dd)");
+            }
+        }
+        Genre genre = null;
+        if (values[GENRE] != null) {
+            try {
+                genre = Genre.valueOf(values[GENRE].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                errors.add("genre: unknown genre " + values[GENRE]);
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ImportRecord.invalid(recordIndex, errors);
+        }
+
+        return ImportRecord.valid(recordIndex, new VideoGameDTO(values[NAME], releaseDate, values[DEVELOPED_BY], genre));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int indexOfColumn(String name) {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (COLUMNS.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column in the CSV header: " + name + ", expected " + COLUMNS);
+    }
+
+    // The fields of the next record, null at the end of the file
+    private List<String> readFields() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>(COLUMNS.size());
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field in the CSV record " + index);
+                }
+                if (c == '"') {
+                    int following = reader.read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                }
+                append(c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                append(c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(int c) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("A field of the CSV record " + index + " is longer than "
+                    + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append((char) c);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.api_rest.importer;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    // A header row naming the columns (name, releaseDate, developedBy, genre), then one game per record
+    CSV(".csv"),
+    // An array of games, or one game per line (NDJSON)
+    JSON(".json");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    // Browsers often send files as application/octet-stream, the extension decides then
+    public static ImportFormat of(String contentType, String filename) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv") || name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/json") || type.startsWith("application/x-ndjson")
+                || name.endsWith(".json") || name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return JSON;
+        }
+        throw new IllegalArgumentException("Unsupported import file, send a CSV (text/csv) or a JSON (application/json) file");
+    }
+}
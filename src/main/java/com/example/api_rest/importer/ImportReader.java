@@ -0,0 +1,26 @@
+package com.example.api_rest.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the games of an import file one at a time, so the file never has to fit in memory. A record that can not be
+ * read as a game is returned with its errors, a file that can not be parsed at all throws.
+ */
+public interface ImportReader extends Closeable {
+
+    // null at the end of the file
+    ImportRecord next() throws IOException;
+
+    static ImportReader open(ImportFormat format, InputStream input, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvImportReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            case JSON -> new JsonImportReader(objectMapper.createParser(input), objectMapper);
+        };
+    }
+}
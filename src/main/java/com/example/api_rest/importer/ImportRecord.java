@@ -0,0 +1,20 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+
+import java.util.List;
+
+// A game read from an import file, or why it could not be read. index: position in the file, from 0
+public record ImportRecord(
+        int index,
+        VideoGameDTO videoGame,
+        List<String> errors) {
+
+    public static ImportRecord valid(int index, VideoGameDTO videoGame) {
+        return new ImportRecord(index, videoGame, List.of());
+    }
+
+    public static ImportRecord invalid(int index, List<String> errors) {
+        return new ImportRecord(index, null, errors);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A JSON array of games, or a sequence of games (one per line in NDJSON). Only the game being read is held in memory.
+ */
+public class JsonImportReader implements ImportReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private final boolean array;
+    private int index;
+    private boolean ended;
+
+    public JsonImportReader(JsonParser parser, ObjectMapper objectMapper) throws IOException {
+        this.parser = parser;
+        this.objectMapper = objectMapper;
+        this.array = parser.nextToken() == JsonToken.START_ARRAY;
+        // Outside an array the first game has been reached already
+        this.ended = parser.currentToken() == null;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (ended) {
+            return null;
+        }
+        if (array || index > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null || (array && token == JsonToken.END_ARRAY)) {
+                ended = true;
+                return null;
+            }
+        }
+
+        int recordIndex = index++;
+        JsonNode node = parser.readValueAsTree();
+        if (node == null || !node.isObject()) {
+            return ImportRecord.invalid(recordIndex, List.of("The video game must be a JSON object"));
+        }
+        try {
+            return ImportRecord.valid(recordIndex, objectMapper.treeToValue(node, VideoGameDTO.class));
+        } catch (JsonProcessingException e) {
+            return ImportRecord.invalid(recordIndex, List.of("Invalid value: " + e.getOriginalMessage()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
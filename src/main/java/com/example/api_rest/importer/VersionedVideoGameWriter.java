@@ -0,0 +1,73 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameView;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Updates and deletes of games read earlier, as JDBC batches on the connection of the current transaction. Every row
+ * is only written if it is still at the version that was read, so a concurrent edit is never overwritten.
+ */
+public final class VersionedVideoGameWriter {
+
+    private static final String UPDATE = "UPDATE " + VideoGameLoader.TABLE
+            + " SET release_date = ?, genre = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM " + VideoGameLoader.TABLE + " WHERE id = ? AND version = ?";
+
+    private VersionedVideoGameWriter() {
+    }
+
+    // The views carry the new release date and genre. Returns the ids of the updated rows
+    public static List<Long> update(Connection connection, List<VideoGameView> videoGames) throws SQLException {
+        if (videoGames.isEmpty()) {
+            return List.of();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            for (VideoGameView videoGame : videoGames) {
+                if (videoGame.releaseDate() != null) {
+                    statement.setDate(1, Date.valueOf(videoGame.releaseDate()));
+                } else {
+                    statement.setNull(1, Types.DATE);
+                }
+                statement.setString(2, videoGame.genre() == null ? null : videoGame.genre().name());
+                statement.setLong(3, videoGame.id());
+                statement.setLong(4, videoGame.version());
+                statement.addBatch();
+            }
+            return written(videoGames, statement.executeBatch());
+        }
+    }
+
+    // Returns the ids of the deleted rows
+    public static List<Long> delete(Connection connection, List<VideoGameView> videoGames) throws SQLException {
+        if (videoGames.isEmpty()) {
+            return List.of();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            for (VideoGameView videoGame : videoGames) {
+                statement.setLong(1, videoGame.id());
+                statement.setLong(2, videoGame.version());
+                statement.addBatch();
+            }
+            return written(videoGames, statement.executeBatch());
+        }
+    }
+
+    private static List<Long> written(List<VideoGameView> videoGames, int[] updateCounts) {
+        List<Long> ids = new ArrayList<>(videoGames.size());
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] != 0) {
+                ids.add(videoGames.get(i).id());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.entity.VideoGame;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes new games, ids and versions already set, straight to the api_video_game table on the connection of the
+ * current transaction, bypassing the persistence context.
+ */
+public interface VideoGameLoader {
+
+    String TABLE = "api_video_game";
+    String COLUMNS = "id, name, release_date, developed_by, genre, version";
+
+    void load(Connection connection, List<VideoGame> videoGames) throws SQLException;
+
+    // COPY on PostgreSQL, JDBC batches elsewhere (H2 in the tests)
+    static VideoGameLoader forConnection(Connection connection) throws SQLException {
+        return CopyVideoGameLoader.supports(connection) ? new CopyVideoGameLoader() : new BatchVideoGameLoader();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.api_rest.init;
+
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Component
+public class CatalogVersionInitializer implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogVersionInitializer.class);
+
+    private final CatalogVersionRepository repository;
+
+    public CatalogVersionInitializer(CatalogVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    // Read-write transaction: the existence checks must not be routed to a read replica
+    @Override
+    @Transactional
+    public void run(String... args) throws Exception {
+        if (!repository.existsById(CatalogVersion.CATALOG_ID)) {
+            repository.save(new CatalogVersion(0L, Instant.now()));
+            LOGGER.info("Catalog version counter initialized");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.api_rest.init;
+
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.repository.VideoGameChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Component
+public class ChangeLogInitializer implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeLogInitializer.class);
+
+    private final VideoGameChangeRepository repository;
+
+    public ChangeLogInitializer(VideoGameChangeRepository repository) {
+        this.repository = repository;
+    }
+
+    // Games that existed before the change log (e.g. data.sql) get a baseline INSERT entry,
+    // so a feed read from cursor 0 always reproduces the full catalog
+    @Override
+    @Transactional
+    public void run(String... args) throws Exception {
+        if (repository.count() == 0) {
+            int seeded = repository.insertSnapshotOfAll(ChangeType.INSERT, Instant.now());
+            LOGGER.info("Change log initialized with {} video games", seeded);
+        }
+    }
+}
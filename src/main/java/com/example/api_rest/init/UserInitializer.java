@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -24,7 +25,9 @@ public class UserInitializer implements CommandLineRunner {
         this.passwordEncoder = passwordEncoder;
     }
 
+    // Read-write transaction: the existence checks must not be routed to a read replica
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         if(repository.findByUsername("admin").isEmpty()) {
             User admin = new User("admin", passwordEncoder.encode("12345"), "admin@gmail.com",
@@ -0,0 +1,58 @@
+package com.example.api_rest.reactive;
+
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import com.example.api_rest.service.TokenService;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * JwtAuthenticationFilter of the reactive app: the same cookie, checked with the same TokenService. Decoding the token
+ * is CPU work only, it runs on the event loop. Not a bean: WebFlux would also add it to the chain of every request.
+ */
+public class JwtCookieWebFilter implements WebFilter {
+
+    private final TokenService tokenService;
+    private final ErrorResponseFactory errorResponseFactory;
+    private final String cookieName;
+
+    public JwtCookieWebFilter(TokenService tokenService, ErrorResponseFactory errorResponseFactory, String cookieName) {
+        this.tokenService = tokenService;
+        this.errorResponseFactory = errorResponseFactory;
+        this.cookieName = cookieName;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final HttpCookie cookie = exchange.getRequest().getCookies().getFirst(cookieName);
+
+        UsernamePasswordAuthenticationToken authentication;
+        try {
+            if (cookie == null || !tokenService.validateToken(cookie.getValue())) {
+                return unauthorized(exchange);
+            }
+            String username = tokenService.getUserFromToken(cookie.getValue());
+            List<GrantedAuthority> authorities = tokenService.getAuthoritiesFromToken(cookie.getValue());
+            authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
+        } catch (JwtException e) {
+            return unauthorized(exchange);
+        }
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        return errorResponseFactory.writeErrorResponse(exchange.getResponse(), HttpStatus.UNAUTHORIZED,
+                "Invalid or expired token");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.api_rest.reactive;
+
+import com.example.api_rest.config.EncoderConfig;
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import com.example.api_rest.service.impl.TokenServiceImpl;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Read-only catalog API on a non-blocking stack: Netty serves GET /games and GET /games/{id} and R2DBC reads the
+ * games, so a request holds no thread while it waits for the database or for a slow client. It runs next to the servlet
+ * Application, on the same database and with the same JWT cookie, and only shares its token, encoder and error body
+ * beans with it.
+ * <p>
+ * Started with {@code ./mvnw spring-boot:run -Preactive}; settings in application-reactive.properties. Every class of
+ * this package is only loaded in a reactive context, the servlet Application scans them and skips them.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({EncoderConfig.class, TokenServiceImpl.class, ErrorResponseFactory.class})
+public class ReactiveCatalogApplication {
+
+    public static final String PROFILE = "reactive";
+
+    // Tomcat is on the classpath for the servlet app and would be picked first
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    public static void main(String[] args) {
+        Dotenv dotenv = Dotenv.configure()
+                .filename(".env")
+                .ignoreIfMalformed()
+                .ignoreIfMissing()
+                .load();
+
+        // Load the environment variables to the system (only for this process)
+        dotenv.entries().forEach(entry ->
+                System.setProperty(entry.getKey(), entry.getValue())
+        );
+
+        start(args);
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(ReactiveCatalogApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.api_rest.reactive;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import com.example.api_rest.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+// SecurityConfig of the reactive app: stateless, JWT cookie, and only the catalog reads
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private final TokenService tokenService;
+    private final ErrorResponseFactory errorResponseFactory;
+
+    @Value("${app.jwt.cookie-name}")
+    private String cookieName;
+
+    public ReactiveSecurityConfig(TokenService tokenService, ErrorResponseFactory errorResponseFactory) {
+        this.tokenService = tokenService;
+        this.errorResponseFactory = errorResponseFactory;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterAt(new JwtCookieWebFilter(tokenService, errorResponseFactory, cookieName),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((exchange, e) -> errorResponseFactory.writeErrorResponse(
+                                exchange.getResponse(), HttpStatus.UNAUTHORIZED, "Valid authentication token is required"))
+                        .accessDeniedHandler((exchange, e) -> errorResponseFactory.writeErrorResponse(
+                                exchange.getResponse(), HttpStatus.FORBIDDEN, "You do not have permission to access this resource")))
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.GET, ApiConfig.API_BASE_PATH + "/games", ApiConfig.API_BASE_PATH + "/games/*")
+                        .hasAnyRole(Role.USER.name(), Role.ADMIN.name())
+                        .anyExchange().denyAll())
+                .build();
+    }
+}
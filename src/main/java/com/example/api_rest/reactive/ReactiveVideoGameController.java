@@ -0,0 +1,62 @@
+package com.example.api_rest.reactive;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.exception.NotFoundException;
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * The catalog reads of VideoGameController on the reactive stack. GET /games streams the games as they come from the
+ * database, as a JSON array or one per line ({@code Accept: application/x-ndjson}): rows are only fetched once the
+ * previous ones have been written to the client.
+ */
+@RestController
+@RequestMapping(path = ApiConfig.API_BASE_PATH + "/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVideoGameController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveVideoGameController.class);
+
+    private final ReactiveVideoGameService reactiveVideoGameService;
+    private final ErrorResponseFactory errorResponseFactory;
+
+    public ReactiveVideoGameController(ReactiveVideoGameService reactiveVideoGameService,
+                                       ErrorResponseFactory errorResponseFactory) {
+        this.reactiveVideoGameService = reactiveVideoGameService;
+        this.errorResponseFactory = errorResponseFactory;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<VideoGameView> findAll() {
+        return reactiveVideoGameService.findAll();
+    }
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<VideoGameView> findById(@PathVariable(name = "id") Long id) {
+        return reactiveVideoGameService.findById(id);
+    }
+
+    // 404 - Not Found
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(NotFoundException e) {
+        LOGGER.warn("⚠️ {}", e.getMessage());
+
+        Map<String, Object> body = errorResponseFactory.buildErrorBody(HttpStatus.NOT_FOUND, e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.api_rest.reactive;
+
+import com.example.api_rest.dto.VideoGameView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveVideoGameService {
+    // Emits the games by id as the subscriber requests them
+    Flux<VideoGameView> findAll();
+    // Fails with a VideoGameNotFoundException when there is no such game
+    Mono<VideoGameView> findById(Long id);
+}
@@ -0,0 +1,59 @@
+package com.example.api_rest.reactive;
+
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.exception.VideoGameNotFoundException;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVideoGameServiceImpl implements ReactiveVideoGameService {
+
+    private static final String COLUMNS = "SELECT id, name, release_date, developed_by, genre, version FROM api_video_game";
+
+    private final DatabaseClient databaseClient;
+
+    // Rows fetched per round trip, so a slow client never makes the driver buffer the whole catalog
+    @Value("${app.games.reactive.fetch-size}")
+    private int fetchSize;
+
+    public ReactiveVideoGameServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<VideoGameView> findAll() {
+        return databaseClient.sql(COLUMNS + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveVideoGameServiceImpl::toView)
+                .all();
+    }
+
+    @Override
+    public Mono<VideoGameView> findById(Long id) {
+        return databaseClient.sql(COLUMNS + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveVideoGameServiceImpl::toView)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new VideoGameNotFoundException("It does not exist a video game with id: " + id)));
+    }
+
+    private static VideoGameView toView(Readable row) {
+        String genre = row.get("genre", String.class);
+        return new VideoGameView(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("release_date", LocalDate.class),
+                row.get("developed_by", String.class),
+                genre == null ? null : Genre.valueOf(genre),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.api_rest.repository;
+
+import com.example.api_rest.entity.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1, c.lastModified = :now " +
+            "WHERE c.id = " + CatalogVersion.CATALOG_ID)
+    int increment(Instant now);
+
+    @Query("SELECT c.changesCompactedUpTo FROM CatalogVersion c WHERE c.id = " + CatalogVersion.CATALOG_ID)
+    Optional<Long> findChangesCompactedUpTo();
+
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.changesCompactedUpTo = :cursor " +
+            "WHERE c.id = " + CatalogVersion.CATALOG_ID + " AND c.changesCompactedUpTo < :cursor")
+    int raiseChangesCompactedUpTo(long cursor);
+}
@@ -1,13 +1,45 @@
 package com.example.api_rest.repository;
 
+import com.example.api_rest.dto.UserView;
+import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String VIEW = "SELECT new com.example.api_rest.dto.UserView(u.id, u.username, u.email, u.role, " +
+            "u.registrationDate) FROM User u";
+
+    // Ids of the users whose username or email key starts with the prefix (a LIKE pattern): one range scan per prefix
+    // index, merged by the UNION
+    String PREFIX_MATCHES = "SELECT n.id FROM User n WHERE n.usernameKey LIKE :prefix ESCAPE '\\' AND n.id > :after " +
+            "UNION SELECT e.id FROM User e WHERE e.emailKey LIKE :prefix ESCAPE '\\' AND e.id > :after";
+
     Optional<User> findByUsername(String username);
+
+    // The users already holding any of the usernames or emails (their User.key), in a single query
+    @Query(VIEW + " WHERE u.usernameKey IN :usernameKeys OR u.emailKey IN :emailKeys")
+    List<UserView> findViewsByKeys(Collection<String> usernameKeys, Collection<String> emailKeys);
+
+    // Keyset pages in id order, one query per combination of criteria so each one is served by its own index: the
+    // primary key, (role, id), or the lower-case key indexes of the prefix
+    @Query(VIEW + " WHERE u.id > :after ORDER BY u.id")
+    List<UserView> findPage(long after, Limit limit);
+
+    @Query(VIEW + " WHERE u.role = :role AND u.id > :after ORDER BY u.id")
+    List<UserView> findPageByRole(long after, Role role, Limit limit);
+
+    @Query(VIEW + " WHERE u.id IN (" + PREFIX_MATCHES + ") ORDER BY u.id")
+    List<UserView> searchPage(long after, String prefix, Limit limit);
+
+    @Query(VIEW + " WHERE u.role = :role AND u.id IN (" + PREFIX_MATCHES + ") ORDER BY u.id")
+    List<UserView> searchPageByRole(long after, Role role, String prefix, Limit limit);
 }
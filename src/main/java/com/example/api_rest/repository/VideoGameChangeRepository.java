@@ -0,0 +1,62 @@
+package com.example.api_rest.repository;
+
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGameChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VideoGameChangeRepository extends JpaRepository<VideoGameChange, Long> {
+
+    List<VideoGameChange> findByIdGreaterThanOrderByIdAsc(Long cursor, Limit limit);
+
+    @Query("SELECT MAX(c.id) FROM VideoGameChange c")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Query("INSERT INTO VideoGameChange (videoGameId, type, changedAt, name, releaseDate, developedBy, genre, version) " +
+            "SELECT v.id, :type, :changedAt, v.name, v.releaseDate, v.developedBy, v.genre, v.version FROM VideoGame v")
+    int insertSnapshotOfAll(ChangeType type, Instant changedAt);
+
+    @Modifying
+    @Query("INSERT INTO VideoGameChange (videoGameId, type, changedAt, name, releaseDate, developedBy, genre, version) " +
+            "SELECT v.id, :type, :changedAt, v.name, v.releaseDate, v.developedBy, v.genre, v.version FROM VideoGame v " +
+            "WHERE v.id IN :videoGameIds")
+    int insertSnapshotOf(ChangeType type, Instant changedAt, Collection<Long> videoGameIds);
+
+    @Modifying
+    @Query("INSERT INTO VideoGameChange (videoGameId, type, changedAt) " +
+            "SELECT v.id, :type, :changedAt FROM VideoGame v WHERE " + VideoGameRepository.FILTER)
+    int insertTombstonesOfMatching(ChangeType type, Instant changedAt,
+                                   Genre genre, String developedBy, LocalDate releasedBefore);
+
+    // An entry is redundant once a newer entry exists for the same game
+    @Modifying
+    @Query("DELETE FROM VideoGameChange c WHERE c.changedAt < :before AND c.id < " +
+            "(SELECT MAX(o.id) FROM VideoGameChange o WHERE o.videoGameId = c.videoGameId)")
+    int deleteSupersededBefore(Instant before);
+
+    @Query("SELECT MAX(c.id) FROM VideoGameChange c WHERE c.type = :type AND c.changedAt < :before")
+    Optional<Long> findMaxIdOfTypeBefore(ChangeType type, Instant before);
+
+    // Tombstones are the latest entry of their game, they are only removed once older than their own retention
+    @Modifying
+    @Query("DELETE FROM VideoGameChange c WHERE c.type = :type AND c.changedAt < :before")
+    int deleteTypeBefore(ChangeType type, Instant before);
+
+    // A CLEAR entry supersedes everything that was logged before it
+    @Modifying
+    @Query("DELETE FROM VideoGameChange c WHERE c.changedAt < :before AND c.id < " +
+            "(SELECT MAX(o.id) FROM VideoGameChange o WHERE o.type = :clear)")
+    int deleteClearedBefore(Instant before, ChangeType clear);
+}
@@ -0,0 +1,18 @@
+package com.example.api_rest.repository;
+
+import com.example.api_rest.dto.VideoGameFilter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface VideoGameProjectionRepository {
+
+    // Only the given columns are selected, every row is returned as a property name -> value map
+    List<Map<String, Object>> findColumns(List<String> columns);
+
+    List<Map<String, Object>> findColumnsByIds(List<String> columns, Collection<Long> ids);
+
+    // Same criteria as VideoGameRepository.FILTER, in id order
+    List<Map<String, Object>> findColumnsMatching(List<String> columns, VideoGameFilter filter);
+}
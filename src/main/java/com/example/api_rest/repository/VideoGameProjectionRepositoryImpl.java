@@ -0,0 +1,90 @@
+package com.example.api_rest.repository;
+
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.VideoGame;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class VideoGameProjectionRepositoryImpl implements VideoGameProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public VideoGameProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findColumns(List<String> columns) {
+        return find(columns, null);
+    }
+
+    @Override
+    public List<Map<String, Object>> findColumnsByIds(List<String> columns, Collection<Long> ids) {
+        return find(columns, ids);
+    }
+
+    @Override
+    public List<Map<String, Object>> findColumnsMatching(List<String> columns, VideoGameFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<VideoGame> root = query.from(VideoGame.class);
+        select(query, root, columns);
+
+        // Only the criteria present are added, so the statement is as simple as the filter
+        List<Predicate> predicates = new ArrayList<>(3);
+        if (filter.genre() != null) {
+            predicates.add(builder.equal(root.get("genre"), filter.genre()));
+        }
+        if (filter.developedBy() != null) {
+            predicates.add(builder.equal(root.get("developedBy"), filter.developedBy()));
+        }
+        if (filter.releasedBefore() != null) {
+            predicates.add(builder.lessThan(root.<LocalDate>get("releaseDate"), filter.releasedBefore()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(builder.asc(root.get("id")));
+
+        return rows(query, columns);
+    }
+
+    // Tuples are not entities, nothing is kept in the persistence context
+    private List<Map<String, Object>> find(List<String> columns, Collection<Long> ids) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<VideoGame> root = query.from(VideoGame.class);
+        select(query, root, columns);
+        if (ids != null) {
+            query.where(root.get("id").in(ids));
+        }
+
+        return rows(query, columns);
+    }
+
+    private static void select(CriteriaQuery<Tuple> query, Root<VideoGame> root, List<String> columns) {
+        query.multiselect(columns.stream()
+                .<Selection<?>>map(column -> root.get(column).alias(column))
+                .toList());
+    }
+
+    private List<Map<String, Object>> rows(CriteriaQuery<Tuple> query, List<String> columns) {
+        return entityManager.createQuery(query).getResultStream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    columns.forEach(column -> row.put(column, tuple.get(column)));
+                    return row;
+                })
+                .toList();
+    }
+}
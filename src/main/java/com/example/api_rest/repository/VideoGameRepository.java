@@ -1,9 +1,61 @@
 package com.example.api_rest.repository;
 
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.Genre;
 import com.example.api_rest.entity.VideoGame;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface VideoGameRepository extends JpaRepository<VideoGame, Long> {
+public interface VideoGameRepository extends JpaRepository<VideoGame, Long>, VideoGameProjectionRepository,
+        VideoGameWriteRepository {
+
+    // Criteria of a VideoGameFilter, an absent criterion matches every row
+    String FILTER = "(:genre IS NULL OR v.genre = :genre) " +
+            "AND (:developedBy IS NULL OR v.developedBy = :developedBy) " +
+            "AND (:releasedBefore IS NULL OR v.releaseDate < :releasedBefore)";
+
+    // Read model of the GET endpoints: records are not managed, so no entity or dirty checking snapshot is kept
+    String VIEW = "SELECT new com.example.api_rest.dto.VideoGameView(v.id, v.name, v.releaseDate, v.developedBy, " +
+            "v.genre, v.version) FROM VideoGame v";
+
+    @Query(VIEW)
+    List<VideoGameView> findAllViews();
+
+    @Query(VIEW + " WHERE v.id = :id")
+    Optional<VideoGameView> findViewById(Long id);
+
+    @Query(VIEW + " WHERE v.id IN :ids")
+    List<VideoGameView> findViewsByIds(Collection<Long> ids);
+
+    @Query(VIEW + " WHERE " + FILTER + " ORDER BY v.id")
+    List<VideoGameView> findViewsMatching(Genre genre, String developedBy, LocalDate releasedBefore);
+
+    @Query("SELECT v.version FROM VideoGame v WHERE v.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // Single statement writes, nothing is loaded into the persistence context.
+    // The affected row count tells whether the game exists
+
+    @Modifying
+    @Query("DELETE FROM VideoGame v WHERE v.id = :id")
+    int deleteOneById(Long id);
+
+    @Query("SELECT COUNT(v) FROM VideoGame v WHERE " + FILTER)
+    long countMatching(Genre genre, String developedBy, LocalDate releasedBefore);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM VideoGame v")
+    int deleteAllRows();
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM VideoGame v WHERE " + FILTER)
+    int deleteMatching(Genre genre, String developedBy, LocalDate releasedBefore);
 }
@@ -0,0 +1,18 @@
+package com.example.api_rest.repository;
+
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.Genre;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface VideoGameWriteRepository {
+
+    // Writes every column and returns the new version in the same statement, empty if the game does not exist
+    Optional<Long> updateReturningVersion(Long id, String name, LocalDate releaseDate, String developedBy, Genre genre);
+
+    // One UPDATE for every game matching the filter, null changes keep the current value. Returns the updated ids
+    List<Long> updateMatchingReturningIds(VideoGameFilter filter, VideoGameBulkUpdateDTO changes);
+}
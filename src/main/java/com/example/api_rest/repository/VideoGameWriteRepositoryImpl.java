@@ -0,0 +1,86 @@
+package com.example.api_rest.repository;
+
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.Genre;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes that read back what they changed in the same round trip: {@code UPDATE ... RETURNING} on PostgreSQL,
+ * {@code SELECT ... FROM FINAL TABLE (UPDATE ...)} on H2 (the tests).
+ */
+public class VideoGameWriteRepositoryImpl implements VideoGameWriteRepository {
+
+    private static final String UPDATE_BY_ID = "UPDATE api_video_game SET name = :name, release_date = :releaseDate, "
+            + "developed_by = :developedBy, genre = :genre, version = version + 1 WHERE id = :id";
+    // Same criteria as VideoGameRepository.FILTER
+    private static final String UPDATE_MATCHING = "UPDATE api_video_game "
+            + "SET developed_by = COALESCE(:newDevelopedBy, developed_by), genre = COALESCE(:newGenre, genre), "
+            + "release_date = COALESCE(:newReleaseDate, release_date), version = version + 1 "
+            + "WHERE (:genre IS NULL OR genre = :genre) AND (:developedBy IS NULL OR developed_by = :developedBy) "
+            + "AND (:releasedBefore IS NULL OR release_date < :releasedBefore)";
+
+    private final EntityManager entityManager;
+
+    public VideoGameWriteRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Long> updateReturningVersion(Long id, String name, LocalDate releaseDate, String developedBy,
+                                                 Genre genre) {
+        List<?> versions = returning(UPDATE_BY_ID, "version")
+                .setParameter("id", id, Long.class)
+                .setParameter("name", name, String.class)
+                .setParameter("releaseDate", releaseDate, LocalDate.class)
+                .setParameter("developedBy", developedBy, String.class)
+                .setParameter("genre", nameOf(genre), String.class)
+                .getResultList();
+
+        return versions.stream()
+                .map(version -> ((Number) version).longValue())
+                .findFirst();
+    }
+
+    @Override
+    public List<Long> updateMatchingReturningIds(VideoGameFilter filter, VideoGameBulkUpdateDTO changes) {
+        List<?> ids = returning(UPDATE_MATCHING, "id")
+                .setParameter("newDevelopedBy", changes.developedBy(), String.class)
+                .setParameter("newGenre", nameOf(changes.genre()), String.class)
+                .setParameter("newReleaseDate", changes.releaseDate(), LocalDate.class)
+                .setParameter("genre", nameOf(filter.genre()), String.class)
+                .setParameter("developedBy", filter.developedBy(), String.class)
+                .setParameter("releasedBefore", filter.releasedBefore(), LocalDate.class)
+                .getResultList();
+        // The games loaded in this transaction are stale now
+        entityManager.clear();
+
+        return ids.stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+
+    private NativeQuery<?> returning(String update, String column) {
+        String sql = isPostgreSQL()
+                ? update + " RETURNING " + column
+                : "SELECT " + column + " FROM FINAL TABLE (" + update + ")";
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+    }
+
+    private static String nameOf(Genre genre) {
+        return genre == null ? null : genre.name();
+    }
+
+    private boolean isPostgreSQL() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+}
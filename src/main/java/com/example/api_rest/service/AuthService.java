@@ -4,6 +4,8 @@ import com.example.api_rest.dto.DeleteUserDTO;
 import com.example.api_rest.dto.EditUserDTO;
 import com.example.api_rest.dto.LoginUserDTO;
 import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserPageDTO;
+import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.User;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.GrantedAuthority;
@@ -15,6 +17,7 @@ public interface AuthService {
     String login(LoginUserDTO dto) throws BadCredentialsException;
     User edit(EditUserDTO dto);
     void delete(DeleteUserDTO dto);
+    UserPageDTO search(String query, Role role, long after, int limit);
     boolean validateToken(String token);
     String getUserFromToken(String token);
     List<GrantedAuthority> getAuthoritiesFromToken(String token);
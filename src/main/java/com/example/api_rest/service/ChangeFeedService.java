@@ -0,0 +1,20 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.VideoGame;
+
+import java.util.Collection;
+
+public interface ChangeFeedService {
+    ChangeFeedDTO getChanges(long since, int limit);
+    void recordInsert(VideoGame videoGame);
+    void recordInserts(Collection<Long> videoGameIds);
+    void recordUpdate(VideoGame videoGame);
+    void recordUpdates(Collection<Long> videoGameIds);
+    void recordDelete(Long videoGameId);
+    int recordDeletes(VideoGameFilter filter);
+    void recordDeletes(Collection<Long> videoGameIds);
+    void recordClear();
+    int compact();
+}
@@ -0,0 +1,22 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.JobDTO;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+public interface JobService {
+    // The task returns the number of affected rows
+    JobDTO submit(String type, LongSupplier task);
+    // Same, for tasks that report their progress while they run
+    JobDTO submitTracked(String type, ToLongFunction<Progress> task);
+    JobDTO findById(String id);
+
+    interface Progress {
+        void processed(long rows);
+        // index: position of the row in the input, from 0
+        void rejected(int index, List<String> errors);
+        void count(String outcome, long rows);
+    }
+}
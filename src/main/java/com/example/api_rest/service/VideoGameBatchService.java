@@ -0,0 +1,10 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+
+import java.util.List;
+
+public interface VideoGameBatchService {
+    BatchResultDTO registerAll(List<VideoGameDTO> dtos);
+}
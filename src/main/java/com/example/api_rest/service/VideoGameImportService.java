@@ -0,0 +1,11 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.JobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface VideoGameImportService {
+    // The file is imported by a background job, the returned one
+    JobDTO importFile(MultipartFile file);
+    // The file lists the whole catalog: the job inserts, updates and deletes only what differs
+    JobDTO syncFile(MultipartFile file, boolean dryRun);
+}
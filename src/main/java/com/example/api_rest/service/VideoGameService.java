@@ -1,15 +1,39 @@
 package com.example.api_rest.service;
 
+import com.example.api_rest.dto.BulkUpdateResultDTO;
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
 import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameFields;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
 import com.example.api_rest.entity.VideoGame;
+import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface VideoGameService {
-    List<VideoGame> findAll();
-    VideoGame findById(Long id);
+    List<VideoGameView> findAll();
+    VideoGameView findById(Long id);
+    // Only the existing games are in the map
+    Map<Long, VideoGameView> findAllById(Collection<Long> ids);
+    List<VideoGameView> findMatching(VideoGameFilter filter);
+    // Sparse fieldsets: only the requested columns are read, every game is a property name -> value map
+    List<Map<String, Object>> findAll(VideoGameFields fields);
+    Map<String, Object> findById(Long id, VideoGameFields fields);
+    Map<Long, Map<String, Object>> findAllById(Collection<Long> ids, VideoGameFields fields);
+    List<Map<String, Object>> findMatching(VideoGameFilter filter, VideoGameFields fields);
     VideoGame register(VideoGameDTO dto);
     VideoGame update(Long id, VideoGameDTO dto);
+    VideoGame patch(Long id, JsonNode mergePatch, Long expectedVersion);
+    BulkUpdateResultDTO updateMatching(VideoGameFilter filter, VideoGameBulkUpdateDTO changes, Integer limit, boolean dryRun);
     void delete(Long id);
-    void deleteAll();
+    int deleteAll();
+    int deleteMatching(VideoGameFilter filter);
+    long count();
+    CatalogVersion getCatalogVersion();
+    Optional<Long> findVersionById(Long id);
 }
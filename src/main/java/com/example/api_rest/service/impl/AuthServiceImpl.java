@@ -4,16 +4,23 @@ import com.example.api_rest.dto.DeleteUserDTO;
 import com.example.api_rest.dto.EditUserDTO;
 import com.example.api_rest.dto.LoginUserDTO;
 import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserPageDTO;
+import com.example.api_rest.dto.UserView;
 import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.User;
 import com.example.api_rest.exception.AuthenticationException;
+import com.example.api_rest.exception.EmailAlreadyExistsException;
 import com.example.api_rest.exception.UserNotFoundException;
 import com.example.api_rest.exception.UsernameAlreadyExistsException;
 import com.example.api_rest.repository.UserRepository;
 import com.example.api_rest.service.AuthService;
 import com.example.api_rest.service.TokenService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,10 +34,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 public class AuthServiceImpl implements AuthService, UserDetailsService {
@@ -42,6 +51,9 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationConfiguration authenticationConfiguration;
 
+    @Value("${app.auth.users.max-page-size}")
+    private int maxPageSize;
+
     public AuthServiceImpl(UserRepository repository, TokenService tokenService, PasswordEncoder passwordEncoder, AuthenticationConfiguration authenticationConfiguration) {
         this.repository = repository;
         this.tokenService = tokenService;
@@ -49,7 +61,9 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
         this.authenticationConfiguration = authenticationConfiguration;
     }
 
+    // Served by a read replica when they are configured
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = repository.findByUsername(username).orElseThrow(() -> {
             LOGGER.error("❌ User not found with username: {}", username);
@@ -58,12 +72,9 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
         return new CustomUserDetails(user);
     }
 
+    // A single INSERT: a taken username or email is reported by the unique constraints, also when two registrations race
     @Override
     public User register(RegisterUserDTO dto) {
-        if (repository.findByUsername(dto.username()).isPresent()) {
-            throw new UsernameAlreadyExistsException("The username is already in use");
-        }
-
         User user = new User(
                 dto.username(),
                 passwordEncoder.encode(dto.password()),
@@ -73,7 +84,11 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
                 Role.USER
         );
 
-        return repository.save(user);
+        try {
+            return repository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
     }
 
     @Override
@@ -104,7 +119,11 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
         user.setRole(dto.role());
         user.setUpdateDate(LocalDateTime.now());
 
-        return repository.save(user);
+        try {
+            return repository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
     }
 
     @Override
@@ -128,6 +147,34 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
         repository.delete(user);
     }
 
+    // Served by a read replica when they are configured. The query matches the start of the username or the email,
+    // ignoring case
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageDTO search(String query, Role role, long after, int limit) {
+        if (after < 0) {
+            throw new IllegalArgumentException("The cursor can not be negative");
+        }
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        String prefix = query == null || query.isBlank() ? null : likeEscape(User.key(query.strip())) + "%";
+
+        // One extra user tells whether there is another page without a count query
+        Limit extra = Limit.of(pageSize + 1);
+        List<UserView> users;
+        if (prefix == null) {
+            users = role == null ? repository.findPage(after, extra) : repository.findPageByRole(after, role, extra);
+        } else {
+            users = role == null
+                    ? repository.searchPage(after, prefix, extra)
+                    : repository.searchPageByRole(after, role, prefix, extra);
+        }
+        boolean hasMore = users.size() > pageSize;
+        List<UserView> page = hasMore ? users.subList(0, pageSize) : users;
+        long nextCursor = page.isEmpty() ? after : page.getLast().id();
+
+        return new UserPageDTO(page, nextCursor, hasMore);
+    }
+
     @Override
     public boolean validateToken(String token) {
         return tokenService.validateToken(token);
@@ -143,6 +190,26 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
         return tokenService.getAuthoritiesFromToken(token);
     }
 
+    // The query is matched literally: LIKE wildcards in it are escaped
+    private static String likeEscape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // The violated unique constraint tells which value is taken, any other violation is left as is
+    private static RuntimeException translate(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                : String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return new UsernameAlreadyExistsException("The username is already in use");
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return new EmailAlreadyExistsException("The email is already in use");
+        }
+        return e;
+    }
+
     private record CustomUserDetails(User user) implements UserDetails {
 
         @Override
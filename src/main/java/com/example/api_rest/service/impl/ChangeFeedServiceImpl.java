@@ -0,0 +1,193 @@
+package com.example.api_rest.service.impl;
+
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.entity.VideoGameChange;
+import com.example.api_rest.event.ChangeLogAdvancedEvent;
+import com.example.api_rest.event.VideoGameChangedEvent;
+import com.example.api_rest.exception.ChangeLogCompactedException;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameChangeRepository;
+import com.example.api_rest.service.ChangeFeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private final VideoGameChangeRepository repository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.changes.max-page-size}")
+    private int maxPageSize;
+    @Value("${app.changes.retention}")
+    private Duration retention;
+    @Value("${app.changes.tombstone-retention}")
+    private Duration tombstoneRetention;
+
+    public ChangeFeedServiceImpl(VideoGameChangeRepository repository, CatalogVersionRepository catalogVersionRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ChangeFeedDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("The cursor can not be negative");
+        }
+        // A consumer starting from 0 has nothing to delete, one behind the compacted tombstones must reload the catalog
+        long compactedUpTo = catalogVersionRepository.findChangesCompactedUpTo().orElse(0L);
+        if (since > 0 && since < compactedUpTo) {
+            throw new ChangeLogCompactedException("The deletes after cursor " + since
+                    + " were compacted, reload the catalog and follow the changes from its cursor");
+        }
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+
+        // One extra entry tells whether there is another page without a count query
+        List<VideoGameChange> changes = repository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        List<VideoGameChangeDTO> page = changes.stream()
+                .limit(pageSize)
+                .map(VideoGameChangeDTO::from)
+                .toList();
+        long nextCursor = page.isEmpty() ? since : page.getLast().cursor();
+
+        return new ChangeFeedDTO(page, nextCursor, hasMore);
+    }
+
+    // The entries are appended inside the transaction of the catalog write that produced them,
+    // listeners of VideoGameChangedEvent should wait for the commit
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInsert(VideoGame videoGame) {
+        append(new VideoGameChange(videoGame, ChangeType.INSERT, Instant.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInserts(Collection<Long> videoGameIds) {
+        if (videoGameIds.isEmpty()) {
+            return;
+        }
+        long previousCursor = repository.findMaxId().orElse(0L);
+        repository.insertSnapshotOf(ChangeType.INSERT, Instant.now(), videoGameIds);
+        publishAfter(previousCursor);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdate(VideoGame videoGame) {
+        append(new VideoGameChange(videoGame, ChangeType.UPDATE, Instant.now()));
+    }
+
+    // The snapshots are taken after the rows were updated
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdates(Collection<Long> videoGameIds) {
+        if (videoGameIds.isEmpty()) {
+            return;
+        }
+        long previousCursor = repository.findMaxId().orElse(0L);
+        repository.insertSnapshotOf(ChangeType.UPDATE, Instant.now(), videoGameIds);
+        publishAfter(previousCursor);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(Long videoGameId) {
+        append(new VideoGameChange(videoGameId, ChangeType.DELETE, Instant.now()));
+    }
+
+    // Must be called before the rows are deleted, the tombstones are selected from them
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordDeletes(VideoGameFilter filter) {
+        long previousCursor = repository.findMaxId().orElse(0L);
+        int recorded = repository.insertTombstonesOfMatching(ChangeType.DELETE, Instant.now(),
+                filter.genre(), filter.developedBy(), filter.releasedBefore());
+        if (recorded > 0) {
+            publishAfter(previousCursor);
+        }
+        return recorded;
+    }
+
+    // For rows already deleted, by id
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletes(Collection<Long> videoGameIds) {
+        if (videoGameIds.isEmpty()) {
+            return;
+        }
+        long previousCursor = repository.findMaxId().orElse(0L);
+        Instant now = Instant.now();
+        repository.saveAll(videoGameIds.stream()
+                .map(id -> new VideoGameChange(id, ChangeType.DELETE, now))
+                .toList());
+        publishAfter(previousCursor);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordClear() {
+        append(new VideoGameChange((Long) null, ChangeType.CLEAR, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.changes.compaction-interval}", initialDelayString = "${app.changes.compaction-interval}")
+    public int compact() {
+        Instant now = Instant.now();
+        Instant before = now.minus(retention);
+        int removed = repository.deleteClearedBefore(before, ChangeType.CLEAR)
+                + repository.deleteSupersededBefore(before);
+        // The latest entry of a deleted game is its tombstone, only the tombstone retention removes it
+        Instant tombstonesBefore = now.minus(tombstoneRetention);
+        Optional<Long> lastTombstone = repository.findMaxIdOfTypeBefore(ChangeType.DELETE, tombstonesBefore);
+        int tombstones = repository.deleteTypeBefore(ChangeType.DELETE, tombstonesBefore);
+        // Last, the catalog version row is locked by the writers
+        lastTombstone.ifPresent(catalogVersionRepository::raiseChangesCompactedUpTo);
+        if (removed + tombstones > 0) {
+            LOGGER.info("Change log compacted, {} superseded entries and {} tombstones removed", removed, tombstones);
+        }
+        return removed + tombstones;
+    }
+
+    private void append(VideoGameChange change) {
+        publish(repository.save(change));
+    }
+
+    // Catalog writers are serialized by the catalog version row lock, so every entry after the given cursor belongs
+    // to the current transaction. A single event for all of them: listeners read them from the log by pages
+    private void publishAfter(long previousCursor) {
+        long cursor = repository.findMaxId().orElse(previousCursor);
+        if (cursor > previousCursor) {
+            eventPublisher.publishEvent(new ChangeLogAdvancedEvent(previousCursor, cursor));
+        }
+    }
+
+    private void publish(VideoGameChange change) {
+        eventPublisher.publishEvent(new VideoGameChangedEvent(VideoGameChangeDTO.from(change)));
+    }
+}
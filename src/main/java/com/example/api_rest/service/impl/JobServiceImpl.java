@@ -0,0 +1,155 @@
+package com.example.api_rest.service.impl;
+
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.JobDTO;
+import com.example.api_rest.exception.JobNotFoundException;
+import com.example.api_rest.service.JobService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Long running catalog operations. Jobs are kept in memory, so their status is only known by the instance
+ * that runs them and is lost on restart; finished jobs are forgotten after {@code app.jobs.retention}.
+ */
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobServiceImpl.class);
+
+    private final Map<String, JobDTO> jobs = new ConcurrentHashMap<>();
+    // Progress of the running tracked jobs, merged into their status when it is read
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+    // Jobs spend most of their time waiting for the database
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.jobs.retention}")
+    private Duration retention;
+    @Value("${app.jobs.max-reported-rejections}")
+    private int maxReportedRejections;
+
+    @Override
+    public JobDTO submit(String type, LongSupplier task) {
+        return run(type, false, progress -> task.getAsLong());
+    }
+
+    @Override
+    public JobDTO submitTracked(String type, ToLongFunction<Progress> task) {
+        return run(type, true, task);
+    }
+
+    @Override
+    public JobDTO findById(String id) {
+        JobDTO job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException("It does not exist a job with id: " + id);
+        }
+        Tracker tracker = trackers.get(id);
+        return tracker == null ? job : tracker.applyTo(job);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.retention}", initialDelayString = "${app.jobs.retention}")
+    public void evictFinishedJobs() {
+        Instant before = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(before));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private JobDTO run(String type, boolean tracked, ToLongFunction<Progress> task) {
+        JobDTO job = JobDTO.running(UUID.randomUUID().toString(), type, Instant.now());
+        jobs.put(job.id(), job);
+        Tracker tracker = tracked ? new Tracker(maxReportedRejections) : null;
+        if (tracked) {
+            trackers.put(job.id(), tracker);
+        }
+
+        executor.execute(() -> {
+            try {
+                long affectedRows = task.applyAsLong(tracker);
+                finish(job, tracker, JobDTO.Status.COMPLETED, affectedRows, null);
+                LOGGER.info("Job {} ({}) completed, {} rows affected", job.id(), type, affectedRows);
+            } catch (RuntimeException e) {
+                finish(job, tracker, JobDTO.Status.FAILED, null, e.getMessage());
+                LOGGER.error("❌ Job {} ({}) failed: ", job.id(), type, e);
+            }
+        });
+
+        return job;
+    }
+
+    private void finish(JobDTO job, Tracker tracker, JobDTO.Status status, Long affectedRows, String error) {
+        JobDTO finished = new JobDTO(job.id(), job.type(), status, job.submittedAt(), Instant.now(), affectedRows,
+                error, null, null, null, null);
+        jobs.put(job.id(), tracker == null ? finished : tracker.applyTo(finished));
+        trackers.remove(job.id());
+    }
+
+    private static class Tracker implements Progress {
+
+        private final int maxReported;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong rejectedCount = new AtomicLong();
+        // Bounded: a file full of invalid rows must not fill the heap
+        private final List<BatchItemResultDTO> rejected = new ArrayList<>();
+        private final Map<String, AtomicLong> counts = new ConcurrentSkipListMap<>();
+
+        Tracker(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        @Override
+        public void processed(long rows) {
+            processed.addAndGet(rows);
+        }
+
+        @Override
+        public void rejected(int index, List<String> errors) {
+            rejectedCount.incrementAndGet();
+            synchronized (rejected) {
+                if (rejected.size() < maxReported) {
+                    rejected.add(BatchItemResultDTO.invalid(index, errors));
+                }
+            }
+        }
+
+        @Override
+        public void count(String outcome, long rows) {
+            counts.computeIfAbsent(outcome, key -> new AtomicLong()).addAndGet(rows);
+        }
+
+        JobDTO applyTo(JobDTO job) {
+            List<BatchItemResultDTO> reported;
+            synchronized (rejected) {
+                reported = List.copyOf(rejected);
+            }
+            return new JobDTO(job.id(), job.type(), job.status(), job.submittedAt(), job.finishedAt(),
+                    job.affectedRows(), job.error(), processed.get(), rejectedCount.get(), reported,
+                    counts.isEmpty() ? null : counts.entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get(),
+                                    (a, b) -> a, TreeMap::new)));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.api_rest.service.impl;
+
+import com.example.api_rest.catalog.CatalogSnapshot;
+import com.example.api_rest.catalog.DegradedMode;
+import com.example.api_rest.catalog.InMemoryCatalog;
+import com.example.api_rest.catalog.LastGoodCatalog;
+import com.example.api_rest.dto.BulkUpdateResultDTO;
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameFields;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.exception.ServiceUnavailableException;
+import com.example.api_rest.exception.VideoGameNotFoundException;
+import com.example.api_rest.service.VideoGameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Reads are answered by a catalog snapshot: the in-memory catalog when it is enabled and loaded, the last snapshot
+// while the database is down (degraded mode), otherwise the database through VideoGameServiceImpl. Every full listing
+// read from the database is kept as the last good catalog, so degraded mode always has a snapshot once the catalog was
+// listed. Writes always go to the database, and are rejected in degraded mode
+@Service
+@Primary
+public class SnapshotVideoGameServiceImpl implements VideoGameService {
+
+    private final VideoGameServiceImpl database;
+    private final ObjectProvider<InMemoryCatalog> inMemoryCatalog;
+    private final DegradedMode degradedMode;
+    private final LastGoodCatalog lastGoodCatalog;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SnapshotVideoGameServiceImpl(VideoGameServiceImpl database, ObjectProvider<InMemoryCatalog> inMemoryCatalog,
+                                        DegradedMode degradedMode, LastGoodCatalog lastGoodCatalog,
+                                        PlatformTransactionManager transactionManager) {
+        this.database = database;
+        this.inMemoryCatalog = inMemoryCatalog;
+        this.degradedMode = degradedMode;
+        this.lastGoodCatalog = lastGoodCatalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<VideoGameView> findAll() {
+        // A single transaction, so the version and the listing come from the same connection (and replica)
+        return read(() -> readOnlyTransaction.execute(status -> {
+            // Read first, like CatalogLoader.loadAll: the listing may be newer than the version, never older
+            CatalogVersion catalogVersion = database.getCatalogVersion();
+            List<VideoGameView> videoGames = database.findAll();
+            lastGoodCatalog.remember(videoGames, catalogVersion);
+            return videoGames;
+        }), CatalogSnapshot::findAll);
+    }
+
+    @Override
+    public VideoGameView findById(Long id) {
+        return read(() -> database.findById(id), snapshot -> findById(snapshot, id));
+    }
+
+    @Override
+    public Map<Long, VideoGameView> findAllById(Collection<Long> ids) {
+        return read(() -> database.findAllById(ids), snapshot -> findAllById(snapshot, ids));
+    }
+
+    @Override
+    public List<VideoGameView> findMatching(VideoGameFilter filter) {
+        return read(() -> database.findMatching(filter), snapshot -> snapshot.findMatching(filter));
+    }
+
+    @Override
+    public List<Map<String, Object>> findAll(VideoGameFields fields) {
+        return read(() -> database.findAll(fields), snapshot -> snapshot.findAll().stream()
+                .map(videoGame -> select(videoGame, fields))
+                .toList());
+    }
+
+    @Override
+    public List<Map<String, Object>> findMatching(VideoGameFilter filter, VideoGameFields fields) {
+        return read(() -> database.findMatching(filter, fields), snapshot -> snapshot.findMatching(filter).stream()
+                .map(videoGame -> select(videoGame, fields))
+                .toList());
+    }
+
+    @Override
+    public Map<String, Object> findById(Long id, VideoGameFields fields) {
+        return read(() -> database.findById(id, fields), snapshot -> select(findById(snapshot, id), fields));
+    }
+
+    @Override
+    public Map<Long, Map<String, Object>> findAllById(Collection<Long> ids, VideoGameFields fields) {
+        return read(() -> database.findAllById(ids, fields), snapshot -> {
+            Map<Long, Map<String, Object>> videoGames = new HashMap<>();
+            findAllById(snapshot, ids).forEach((id, videoGame) -> videoGames.put(id, select(videoGame, fields)));
+            return videoGames;
+        });
+    }
+
+    @Override
+    public VideoGame register(VideoGameDTO dto) {
+        return write(() -> database.register(dto));
+    }
+
+    @Override
+    public VideoGame update(Long id, VideoGameDTO dto) {
+        return write(() -> database.update(id, dto));
+    }
+
+    @Override
+    public VideoGame patch(Long id, JsonNode mergePatch, Long expectedVersion) {
+        return write(() -> database.patch(id, mergePatch, expectedVersion));
+    }
+
+    @Override
+    public BulkUpdateResultDTO updateMatching(VideoGameFilter filter, VideoGameBulkUpdateDTO changes,
+                                              Integer limit, boolean dryRun) {
+        return write(() -> database.updateMatching(filter, changes, limit, dryRun));
+    }
+
+    @Override
+    public void delete(Long id) {
+        write(() -> {
+            database.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteAll() {
+        return write(database::deleteAll);
+    }
+
+    @Override
+    public int deleteMatching(VideoGameFilter filter) {
+        return write(() -> database.deleteMatching(filter));
+    }
+
+    @Override
+    public long count() {
+        return read(database::count, snapshot -> (long) snapshot.size());
+    }
+
+    @Override
+    public CatalogVersion getCatalogVersion() {
+        return read(database::getCatalogVersion, CatalogSnapshot::getCatalogVersion);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return read(() -> database.findVersionById(id),
+                snapshot -> Optional.ofNullable(snapshot.findById(id)).map(VideoGameView::version));
+    }
+
+    private <T> T read(Supplier<T> fromDatabase, Function<CatalogSnapshot, T> fromSnapshot) {
+        CatalogSnapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return fromSnapshot.apply(snapshot);
+        }
+
+        // A failing call does not switch to degraded mode by itself (a pool timeout only means the database is busy),
+        // but degraded mode may have been switched on while it waited
+        try {
+            return fromDatabase.get();
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException e) {
+            CatalogSnapshot stale = degradedMode.isActive() ? degradedMode.getStaleSnapshot() : null;
+            if (stale == null) {
+                throw e;
+            }
+            return fromSnapshot.apply(stale);
+        }
+    }
+
+    private <T> T write(Supplier<T> write) {
+        if (degradedMode.isActive()) {
+            throw new ServiceUnavailableException("The catalog is read-only until the database is available again");
+        }
+        return write.get();
+    }
+
+    // Null when the reads have to go to the database
+    private CatalogSnapshot currentSnapshot() {
+        if (degradedMode.isActive() && degradedMode.getStaleSnapshot() != null) {
+            return degradedMode.getStaleSnapshot();
+        }
+        InMemoryCatalog catalog = inMemoryCatalog.getIfAvailable();
+        return catalog == null ? null : catalog.getSnapshot();
+    }
+
+    private static VideoGameView findById(CatalogSnapshot snapshot, Long id) {
+        VideoGameView videoGame = snapshot.findById(id);
+        if (videoGame == null) {
+            throw new VideoGameNotFoundException("It does not exist a video game with id: " + id);
+        }
+        return videoGame;
+    }
+
+    private static Map<Long, VideoGameView> findAllById(CatalogSnapshot snapshot, Collection<Long> ids) {
+        Map<Long, VideoGameView> videoGames = new HashMap<>();
+        for (Long id : ids) {
+            VideoGameView videoGame = snapshot.findById(id);
+            if (videoGame != null) {
+                videoGames.put(id, videoGame);
+            }
+        }
+        return videoGames;
+    }
+
+    // Same shape as the sparse fieldsets read from the database: the requested properties, in the requested order
+    private static Map<String, Object> select(VideoGameView videoGame, VideoGameFields fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : fields.names()) {
+            row.put(name, switch (name) {
+                case "id" -> videoGame.id();
+                case "name" -> videoGame.name();
+                case "releaseDate" -> videoGame.releaseDate();
+                case "developedBy" -> videoGame.developedBy();
+                case "genre" -> videoGame.genre();
+                case "version" -> videoGame.version();
+                default -> throw new IllegalArgumentException("Unknown video game field: " + name);
+            });
+        }
+        return row;
+    }
+}
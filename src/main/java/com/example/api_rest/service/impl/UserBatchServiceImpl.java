@@ -0,0 +1,256 @@
+package com.example.api_rest.service.impl;
+
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserView;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.entity.User;
+import com.example.api_rest.repository.UserRepository;
+import com.example.api_rest.service.UserBatchService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provisioning of many accounts at once (POST /auth/bulk-register). The usernames and emails already taken are found
+ * with one query per chunk, the passwords of the remaining users are hashed in parallel on a pool of hash-threads
+ * platform threads (BCrypt is CPU bound, so more threads than cores does not help), and the users are inserted in
+ * JDBC batches, one transaction per chunk. A chunk that violates a unique constraint (a user registered meanwhile) is
+ * stored again one user at a time, so only the offending users are rejected.
+ */
+@Service
+public class UserBatchServiceImpl implements UserBatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserBatchServiceImpl.class);
+
+    private final UserRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    // Shared by every bulk registration: concurrent ones do not use more than hash-threads cores together
+    private final ExecutorService hashExecutor;
+
+    @Value("${app.auth.bulk.chunk-size}")
+    private int chunkSize;
+    @Value("${app.auth.bulk.max-items}")
+    private int maxItems;
+
+    public UserBatchServiceImpl(UserRepository repository, PasswordEncoder passwordEncoder, Validator validator,
+                                TransactionTemplate transactionTemplate, EntityManager entityManager,
+                                @Value("${app.auth.bulk.hash-threads}") int hashThreads) {
+        this.repository = repository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public BatchResultDTO registerAll(List<RegisterUserDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("The batch does not contain any user");
+        }
+        if (dtos.size() > maxItems) {
+            throw new IllegalArgumentException("A batch can not contain more than " + maxItems + " users");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[dtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(dtos.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            List<String> errors = validate(dtos.get(i), usernames, emails);
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = BatchItemResultDTO.invalid(i, errors);
+            }
+        }
+
+        // Every chunk is its own transaction, a failing chunk does not undo the previous ones
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = new ArrayList<>(validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size())));
+            rejectTaken(chunk, dtos, results);
+            if (chunk.isEmpty()) {
+                continue;
+            }
+
+            // Hashed before the transaction begins: no connection is held while the CPU works
+            List<User> users = hash(chunk.stream().map(dtos::get).toList());
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> persistChunk(users));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = BatchItemResultDTO.created(chunk.get(i), ids.get(i));
+                }
+            } catch (DataIntegrityViolationException e) {
+                // e.g. a username registered by someone else since the check: only the offending users are rejected
+                LOGGER.warn("⚠️ A chunk of {} users violated a constraint, storing them one by one", chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = persistOne(chunk.get(i), users.get(i));
+                }
+            } catch (DataAccessException | PersistenceException e) {
+                LOGGER.error("❌ Error while storing a chunk of {} users", chunk.size(), e);
+                chunk.forEach(i -> results[i] = BatchItemResultDTO.failed(i, "The user could not be stored"));
+            }
+        }
+
+        return BatchResultDTO.of(Arrays.asList(results));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    // Removes from the chunk the users whose username or email is already taken (ignoring case), with a single query
+    private void rejectTaken(List<Integer> chunk, List<RegisterUserDTO> dtos, BatchItemResultDTO[] results) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i : chunk) {
+            usernames.add(User.key(dtos.get(i).username()));
+            if (dtos.get(i).email() != null) {
+                emails.add(User.key(dtos.get(i).email()));
+            }
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserView user : repository.findViewsByKeys(usernames, emails)) {
+            takenUsernames.add(User.key(user.username()));
+            if (user.email() != null) {
+                takenEmails.add(User.key(user.email()));
+            }
+        }
+        if (takenUsernames.isEmpty() && takenEmails.isEmpty()) {
+            return;
+        }
+
+        chunk.removeIf(i -> {
+            List<String> errors = new ArrayList<>(2);
+            if (takenUsernames.contains(User.key(dtos.get(i).username()))) {
+                errors.add("username: is already in use");
+            }
+            if (dtos.get(i).email() != null && takenEmails.contains(User.key(dtos.get(i).email()))) {
+                errors.add("email: is already in use");
+            }
+            if (errors.isEmpty()) {
+                return false;
+            }
+            results[i] = BatchItemResultDTO.invalid(i, errors);
+            return true;
+        });
+    }
+
+    private List<User> hash(List<RegisterUserDTO> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletableFuture<User>> users = chunk.stream()
+                .map(dto -> CompletableFuture.supplyAsync(() -> new User(dto.username(),
+                        passwordEncoder.encode(dto.password()), dto.email(), now, now, Role.USER), hashExecutor))
+                .toList();
+        return users.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private BatchItemResultDTO persistOne(int index, User user) {
+        // The rolled back chunk assigned it an id that was never stored
+        user.setId(null);
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> persistChunk(List.of(user)));
+            return BatchItemResultDTO.created(index, ids.getFirst());
+        } catch (DataIntegrityViolationException e) {
+            String taken = taken(e);
+            if (taken != null) {
+                return BatchItemResultDTO.invalid(index, List.of(taken + ": is already in use"));
+            }
+            LOGGER.error("❌ Error while storing the user {}", index, e);
+            return BatchItemResultDTO.failed(index, "The user could not be stored");
+        } catch (DataAccessException | PersistenceException e) {
+            LOGGER.error("❌ Error while storing the user {}", index, e);
+            return BatchItemResultDTO.failed(index, "The user could not be stored");
+        }
+    }
+
+    // The field whose unique constraint was violated, like AuthServiceImpl.translate; null for any other violation
+    private static String taken(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                : String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return "username";
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return "email";
+        }
+        return null;
+    }
+
+    private List<Long> persistChunk(List<User> users) {
+        repository.saveAll(users);
+        // Sends the pending inserts as JDBC batches (hibernate.jdbc.batch_size)
+        entityManager.flush();
+
+        List<Long> ids = users.stream()
+                .map(User::getId)
+                .toList();
+
+        // Keeps the persistence context, and the heap, bounded to a single chunk
+        entityManager.clear();
+        return ids;
+    }
+
+    // Also rejects a username or email repeated in the batch (ignoring case), the first occurrence is the one registered
+    private List<String> validate(RegisterUserDTO dto, Set<String> usernames, Set<String> emails) {
+        if (dto == null) {
+            return List.of("The user can not be null");
+        }
+        List<String> errors = new ArrayList<>(validator.validate(dto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList());
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+
+        if (!usernames.add(User.key(dto.username()))) {
+            errors.add("username: is repeated in the batch");
+        }
+        if (dto.email() != null && !emails.add(User.key(dto.email()))) {
+            errors.add("email: is repeated in the batch");
+        }
+        return errors;
+    }
+}
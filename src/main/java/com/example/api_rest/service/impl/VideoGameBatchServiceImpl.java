@@ -0,0 +1,121 @@
+package com.example.api_rest.service.impl;
+
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.ChangeFeedService;
+import com.example.api_rest.service.VideoGameBatchService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class VideoGameBatchServiceImpl implements VideoGameBatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoGameBatchServiceImpl.class);
+
+    private final VideoGameRepository repository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ChangeFeedService changeFeedService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${app.games.batch.chunk-size}")
+    private int chunkSize;
+    @Value("${app.games.batch.max-items}")
+    private int maxItems;
+
+    public VideoGameBatchServiceImpl(VideoGameRepository repository, CatalogVersionRepository catalogVersionRepository,
+                                     ChangeFeedService changeFeedService, Validator validator,
+                                     TransactionTemplate transactionTemplate, EntityManager entityManager) {
+        this.repository = repository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.changeFeedService = changeFeedService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public BatchResultDTO registerAll(List<VideoGameDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("The batch does not contain any video game");
+        }
+        if (dtos.size() > maxItems) {
+            throw new IllegalArgumentException("A batch can not contain more than " + maxItems + " video games");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[dtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            List<String> errors = validate(dtos.get(i));
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = BatchItemResultDTO.invalid(i, errors);
+            }
+        }
+
+        // Every chunk is its own transaction, a failing chunk does not undo the previous ones
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            try {
+                List<Long> ids = transactionTemplate.execute(status ->
+                        persistChunk(chunk.stream().map(dtos::get).toList()));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = BatchItemResultDTO.created(chunk.get(i), ids.get(i));
+                }
+            } catch (DataAccessException | PersistenceException e) {
+                LOGGER.error("❌ Error while storing a chunk of {} video games", chunk.size(), e);
+                chunk.forEach(i -> results[i] = BatchItemResultDTO.failed(i, "The video game could not be stored"));
+            }
+        }
+
+        return BatchResultDTO.of(Arrays.asList(results));
+    }
+
+    private List<Long> persistChunk(List<VideoGameDTO> chunk) {
+        catalogVersionRepository.increment(Instant.now());
+
+        List<VideoGame> videoGames = chunk.stream()
+                .map(dto -> new VideoGame(dto.name(), dto.releaseDate(), dto.developedBy(), dto.genre()))
+                .toList();
+        repository.saveAll(videoGames);
+        // Sends the pending inserts as JDBC batches (hibernate.jdbc.batch_size)
+        entityManager.flush();
+
+        List<Long> ids = videoGames.stream()
+                .map(VideoGame::getId)
+                .toList();
+        changeFeedService.recordInserts(ids);
+
+        // Keeps the persistence context, and the heap, bounded to a single chunk
+        entityManager.clear();
+        return ids;
+    }
+
+    private List<String> validate(VideoGameDTO dto) {
+        if (dto == null) {
+            return List.of("The video game can not be null");
+        }
+        return validator.validate(dto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+}
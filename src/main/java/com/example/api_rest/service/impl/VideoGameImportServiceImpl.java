@@ -0,0 +1,360 @@
+package com.example.api_rest.service.impl;
+
+import com.example.api_rest.dto.JobDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.importer.CatalogDiff;
+import com.example.api_rest.importer.ImportFormat;
+import com.example.api_rest.importer.ImportReader;
+import com.example.api_rest.importer.ImportRecord;
+import com.example.api_rest.importer.VersionedVideoGameWriter;
+import com.example.api_rest.importer.VideoGameLoader;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.ChangeFeedService;
+import com.example.api_rest.service.JobService;
+import com.example.api_rest.service.VideoGameImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Catalog files of any size: the upload is kept on disk and read as a stream, so the heap only holds one chunk of
+ * games at a time. Every chunk is stored in its own transaction, with COPY on PostgreSQL, and the rows that are not
+ * valid games are skipped and reported in the job.
+ * <p>
+ * A sync holds the (name, developedBy) keys of the catalog in memory instead, to write only the games that differ:
+ * an unchanged feed writes nothing, not even the catalog version.
+ */
+@Service
+public class VideoGameImportServiceImpl implements VideoGameImportService {
+
+    public static final String IMPORT_JOB_TYPE = "IMPORT_VIDEO_GAMES";
+    public static final String SYNC_JOB_TYPE = "SYNC_VIDEO_GAMES";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoGameImportServiceImpl.class);
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private final JobService jobService;
+    private final VideoGameRepository repository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ChangeFeedService changeFeedService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${app.games.import.chunk-size}")
+    private int chunkSize;
+
+    public VideoGameImportServiceImpl(JobService jobService, VideoGameRepository repository,
+                                      CatalogVersionRepository catalogVersionRepository,
+                                      ChangeFeedService changeFeedService, Validator validator,
+                                      ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                                      EntityManager entityManager) {
+        this.jobService = jobService;
+        this.repository = repository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.changeFeedService = changeFeedService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public JobDTO importFile(MultipartFile file) {
+        ImportFormat format = formatOf(file);
+        Path upload = keep(file, format);
+
+        return jobService.submitTracked(IMPORT_JOB_TYPE, progress -> {
+            try {
+                return importFrom(upload, format, progress);
+            } finally {
+                deleteQuietly(upload);
+            }
+        });
+    }
+
+    @Override
+    public JobDTO syncFile(MultipartFile file, boolean dryRun) {
+        ImportFormat format = formatOf(file);
+        Path upload = keep(file, format);
+
+        return jobService.submitTracked(SYNC_JOB_TYPE, progress -> {
+            try {
+                return syncFrom(upload, format, dryRun, progress);
+            } finally {
+                deleteQuietly(upload);
+            }
+        });
+    }
+
+    long importFrom(Path file, ImportFormat format, JobService.Progress progress) {
+        long imported = 0;
+        try (InputStream input = Files.newInputStream(file);
+             ImportReader reader = ImportReader.open(format, input, objectMapper)) {
+            List<VideoGameDTO> chunk = new ArrayList<>(chunkSize);
+            long read = 0;
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                read++;
+                List<String> errors = record.errors().isEmpty() ? validate(record.videoGame()) : record.errors();
+                if (errors.isEmpty()) {
+                    chunk.add(record.videoGame());
+                } else {
+                    progress.rejected(record.index(), errors);
+                }
+
+                if (chunk.size() == chunkSize) {
+                    imported += store(chunk, imported);
+                    progress.processed(read);
+                    read = 0;
+                    chunk.clear();
+                }
+            }
+            imported += store(chunk, imported);
+            progress.processed(read);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The import file could not be read after " + imported
+                    + " video games were stored", e);
+        }
+
+        return imported;
+    }
+
+    // Returns the number of rows written: inserted, updated and deleted
+    long syncFrom(Path file, ImportFormat format, boolean dryRun, JobService.Progress progress) {
+        // Read in a read-write transaction so it comes from the primary: a lagging replica would re-insert games
+        CatalogDiff diff = new CatalogDiff(transactionTemplate.execute(status -> repository.findAllViews()));
+        List.of("inserted", "updated", "deleted", "unchanged", "conflicts").forEach(outcome -> progress.count(outcome, 0));
+
+        SyncChunk chunk = new SyncChunk();
+        long written = 0;
+        long accepted = 0;
+        boolean rejected = false;
+        try (InputStream input = Files.newInputStream(file);
+             ImportReader reader = ImportReader.open(format, input, objectMapper)) {
+            long read = 0;
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                read++;
+                List<String> errors = record.errors().isEmpty() ? validate(record.videoGame()) : record.errors();
+                if (!errors.isEmpty()) {
+                    progress.rejected(record.index(), errors);
+                    rejected = true;
+                    continue;
+                }
+
+                VideoGameDTO videoGame = record.videoGame();
+                CatalogDiff.Change change = diff.accept(videoGame);
+                accepted++;
+                switch (change.action()) {
+                    case INSERT -> chunk.inserts.add(videoGame);
+                    case UPDATE -> chunk.updates.add(new VideoGameView(change.current().id(), videoGame.name(),
+                            videoGame.releaseDate(), videoGame.developedBy(), videoGame.genre(),
+                            change.current().version()));
+                    case UNCHANGED -> progress.count("unchanged", 1);
+                    case DUPLICATE -> {
+                        progress.rejected(record.index(), List.of("The feed already contains a video game named "
+                                + videoGame.name() + " developed by " + videoGame.developedBy()));
+                        rejected = true;
+                    }
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    written += sync(chunk, dryRun, progress, written);
+                    progress.processed(read);
+                    read = 0;
+                    chunk = new SyncChunk();
+                }
+            }
+            written += sync(chunk, dryRun, progress, written);
+            progress.processed(read);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The sync file could not be read after " + written
+                    + " rows were written", e);
+        }
+
+        // A truncated upload would empty the catalog
+        if (accepted == 0) {
+            throw new IllegalArgumentException("The feed does not contain any valid video game, nothing was synced");
+        }
+        // A rejected record may stand for a game of the catalog, that can not be told apart from a removed one
+        List<VideoGameView> remaining = diff.remaining();
+        if (rejected) {
+            progress.count("deletesSkipped", remaining.size());
+            return written;
+        }
+        for (int from = 0; from < remaining.size(); from += chunkSize) {
+            SyncChunk deletes = new SyncChunk();
+            deletes.deletes.addAll(remaining.subList(from, Math.min(from + chunkSize, remaining.size())));
+            written += sync(deletes, dryRun, progress, written);
+        }
+
+        return written;
+    }
+
+    private int store(List<VideoGameDTO> chunk, long stored) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                catalogVersionRepository.increment(Instant.now());
+                return insert(chunk);
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            // The previous chunks are committed, the job says how far it got
+            LOGGER.error("❌ Error while importing a chunk of {} video games", chunk.size(), e);
+            throw new IllegalStateException("The import stopped after " + stored + " video games were stored: "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private long sync(SyncChunk chunk, boolean dryRun, JobService.Progress progress, long written) {
+        if (chunk.size() == 0) {
+            return 0;
+        }
+        if (dryRun) {
+            progress.count("inserted", chunk.inserts.size());
+            progress.count("updated", chunk.updates.size());
+            progress.count("deleted", chunk.deletes.size());
+            return 0;
+        }
+
+        SyncResult result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                catalogVersionRepository.increment(Instant.now());
+                int inserted = insert(chunk.inserts);
+
+                Session session = entityManager.unwrap(Session.class);
+                List<Long> updated = session.doReturningWork(connection ->
+                        VersionedVideoGameWriter.update(connection, chunk.updates));
+                recordInChunks(updated, changeFeedService::recordUpdates);
+                List<Long> deleted = session.doReturningWork(connection ->
+                        VersionedVideoGameWriter.delete(connection, chunk.deletes));
+                changeFeedService.recordDeletes(deleted);
+
+                return new SyncResult(inserted, updated.size(), deleted.size());
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            LOGGER.error("❌ Error while syncing a chunk of {} video games", chunk.size(), e);
+            throw new IllegalStateException("The sync stopped after " + written + " rows were written: "
+                    + e.getMessage(), e);
+        }
+
+        progress.count("inserted", result.inserted());
+        progress.count("updated", result.updated());
+        progress.count("deleted", result.deleted());
+        // Changed by someone else since the catalog was read, left as they are
+        progress.count("conflicts", chunk.updates.size() - result.updated() + chunk.deletes.size() - result.deleted());
+        return (long) result.inserted() + result.updated() + result.deleted();
+    }
+
+    // Inserts new games in the current transaction
+    private int insert(List<VideoGameDTO> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // Ids come from the generator of the entity, so imported games share the id space with the others
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        IdentifierGenerator idGenerator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(VideoGame.class)
+                .getGenerator();
+        List<VideoGame> videoGames = new ArrayList<>(chunk.size());
+        for (VideoGameDTO dto : chunk) {
+            VideoGame videoGame = new VideoGame(dto.name(), dto.releaseDate(), dto.developedBy(), dto.genre());
+            videoGame.setId((Long) idGenerator.generate(session, videoGame));
+            videoGame.setVersion(0L);
+            videoGames.add(videoGame);
+        }
+        session.doWork(connection -> VideoGameLoader.forConnection(connection).load(connection, videoGames));
+
+        List<Long> ids = videoGames.stream()
+                .map(VideoGame::getId)
+                .toList();
+        recordInChunks(ids, changeFeedService::recordInserts);
+
+        return videoGames.size();
+    }
+
+    private static void recordInChunks(List<Long> ids, Consumer<List<Long>> recorder) {
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            recorder.accept(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())));
+        }
+    }
+
+    private static ImportFormat formatOf(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("The uploaded file is empty");
+        }
+        return ImportFormat.of(file.getContentType(), file.getOriginalFilename());
+    }
+
+    // The upload is deleted when the request ends, the job reads its own copy
+    private static Path keep(MultipartFile file, ImportFormat format) {
+        try {
+            Path upload = Files.createTempFile("video-game-import-", format.extension());
+            file.transferTo(upload);
+            return upload;
+        } catch (IOException e) {
+            throw new UncheckedIOException("The uploaded file could not be stored", e);
+        }
+    }
+
+    private List<String> validate(VideoGameDTO dto) {
+        if (dto == null) {
+            return List.of("The video game can not be null");
+        }
+        return validator.validate(dto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private record SyncResult(int inserted, int updated, int deleted) {
+    }
+
+    private static class SyncChunk {
+        final List<VideoGameDTO> inserts = new ArrayList<>();
+        final List<VideoGameView> updates = new ArrayList<>();
+        final List<VideoGameView> deletes = new ArrayList<>();
+
+        int size() {
+            return inserts.size() + updates.size() + deletes.size();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("⚠️ The import file {} could not be deleted", file, e);
+        }
+    }
+}
@@ -1,35 +1,138 @@
 package com.example.api_rest.service.impl;
 
+import com.example.api_rest.dto.BulkUpdateResultDTO;
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
 import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameFields;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
 import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.exception.PreconditionFailedException;
 import com.example.api_rest.exception.VideoGameNotFoundException;
+import com.example.api_rest.repository.CatalogVersionRepository;
 import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.ChangeFeedService;
 import com.example.api_rest.service.VideoGameService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class VideoGameServiceImpl implements VideoGameService {
 
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final VideoGameRepository repository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.games.bulk-update.max-rows}")
+    private int maxBulkUpdateRows;
 
-    public VideoGameServiceImpl(VideoGameRepository repository) {
+    public VideoGameServiceImpl(VideoGameRepository repository, CatalogVersionRepository catalogVersionRepository,
+                                ChangeFeedService changeFeedService, ObjectMapper objectMapper, Validator validator) {
         this.repository = repository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.changeFeedService = changeFeedService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    // Reads run in read-only transactions: Hibernate sets the flush mode to MANUAL and skips dirty checking
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VideoGameView> findAll() {
+        return repository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VideoGameView findById(Long id) {
+        return repository.findViewById(id)
+                .orElseThrow(() -> new VideoGameNotFoundException("It does not exist a video game with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, VideoGameView> findAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, VideoGameView> videoGames = new HashMap<>();
+        // IN lists are bounded, Hibernate pads them so the statements are reused
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            repository.findViewsByIds(distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size())))
+                    .forEach(videoGame -> videoGames.put(videoGame.id(), videoGame));
+        }
+        return videoGames;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VideoGameView> findMatching(VideoGameFilter filter) {
+        return repository.findViewsMatching(filter.genre(), filter.developedBy(), filter.releasedBefore());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAll(VideoGameFields fields) {
+        return repository.findColumns(fields.names());
     }
 
     @Override
-    public List<VideoGame> findAll() {
-        return repository.findAll();
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findMatching(VideoGameFilter filter, VideoGameFields fields) {
+        return repository.findColumnsMatching(fields.names(), filter);
     }
 
     @Override
-    public VideoGame findById(Long id) {
-        return repository.findById(id)
+    @Transactional(readOnly = true)
+    public Map<String, Object> findById(Long id, VideoGameFields fields) {
+        return findAllById(List.of(id), fields).values().stream()
+                .findFirst()
                 .orElseThrow(() -> new VideoGameNotFoundException("It does not exist a video game with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> findAllById(Collection<Long> ids, VideoGameFields fields) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        // The id is always read to key the results, it is removed afterwards when it was not requested
+        List<String> columns = fields.contains("id")
+                ? fields.names()
+                : Stream.concat(Stream.of("id"), fields.names().stream()).toList();
+
+        Map<Long, Map<String, Object>> videoGames = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            repository.findColumnsByIds(columns, distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size())))
+                    .forEach(row -> {
+                        Long id = (Long) (fields.contains("id") ? row.get("id") : row.remove("id"));
+                        videoGames.put(id, row);
+                    });
+        }
+        return videoGames;
+    }
+
+    @Override
+    @Transactional
     public VideoGame register(VideoGameDTO dto) {
         VideoGame videoGame = new VideoGame(
                 dto.name(),
@@ -37,30 +140,171 @@ public class VideoGameServiceImpl implements VideoGameService {
                 dto.developedBy(),
                 dto.genre());
 
-        return repository.save(videoGame);
+        catalogVersionRepository.increment(Instant.now());
+        VideoGame savedVideoGame = repository.save(videoGame);
+        changeFeedService.recordInsert(savedVideoGame);
+
+        return savedVideoGame;
     }
 
     @Override
+    @Transactional
     public VideoGame update(Long id, VideoGameDTO dto) {
-        VideoGame videoGame = repository.findById(id)
+        catalogVersionRepository.increment(Instant.now());
+        // A PUT replaces the whole game, so every column is written. Not found rolls back the transaction, the
+        // catalog version included
+        Long version = repository.updateReturningVersion(id, dto.name(), dto.releaseDate(), dto.developedBy(),
+                        dto.genre())
                 .orElseThrow(() -> new VideoGameNotFoundException("It does not exist a video game with id: " + id));
-        videoGame.setName(dto.name());
-        videoGame.setReleaseDate(dto.releaseDate());
-        videoGame.setDevelopedBy(dto.developedBy());
-        videoGame.setGenre(dto.genre());
 
-        return repository.save(videoGame);
+        VideoGame videoGame = new VideoGame(dto.name(), dto.releaseDate(), dto.developedBy(), dto.genre());
+        videoGame.setId(id);
+        videoGame.setVersion(version);
+        changeFeedService.recordUpdate(videoGame);
+
+        return videoGame;
     }
 
     @Override
-    public void delete(Long id) {
+    @Transactional
+    public VideoGame patch(Long id, JsonNode mergePatch, Long expectedVersion) {
         VideoGame videoGame = repository.findById(id)
                 .orElseThrow(() -> new VideoGameNotFoundException("It does not exist a video game with id: " + id));
-        repository.delete(videoGame);
+        if (expectedVersion != null && !expectedVersion.equals(videoGame.getVersion())) {
+            throw new PreconditionFailedException("The video game with id " + id + " is at version "
+                    + videoGame.getVersion() + ", not " + expectedVersion);
+        }
+
+        VideoGameDTO current = new VideoGameDTO(videoGame.getName(), videoGame.getReleaseDate(),
+                videoGame.getDevelopedBy(), videoGame.getGenre());
+        VideoGameDTO patched = applyMergePatch(current, mergePatch);
+        Set<ConstraintViolation<VideoGameDTO>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        // Nothing to write: the version, the catalog version and the change log stay as they are
+        if (patched.equals(current)) {
+            return videoGame;
+        }
+
+        catalogVersionRepository.increment(Instant.now());
+        videoGame.setName(patched.name());
+        videoGame.setReleaseDate(patched.releaseDate());
+        videoGame.setDevelopedBy(patched.developedBy());
+        videoGame.setGenre(patched.genre());
+        // Only the changed columns are written, and only if the version is still the one read above
+        VideoGame savedVideoGame = repository.saveAndFlush(videoGame);
+        changeFeedService.recordUpdate(savedVideoGame);
+
+        return savedVideoGame;
+    }
+
+    @Override
+    @Transactional
+    public BulkUpdateResultDTO updateMatching(VideoGameFilter filter, VideoGameBulkUpdateDTO changes,
+                                              Integer limit, boolean dryRun) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("At least one filter is required to update video games");
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("The update does not change any field");
+        }
+        int rowLimit = limit == null ? maxBulkUpdateRows : Math.clamp(limit, 1, maxBulkUpdateRows);
+
+        if (dryRun) {
+            long matched = repository.countMatching(filter.genre(), filter.developedBy(), filter.releasedBefore());
+            return new BulkUpdateResultDTO(matched, 0, true);
+        }
+
+        // Every catalog write bumps the version first, holding its row lock serializes them: no write can change the
+        // rows counted here before the update below, which is rejected before touching any of them
+        catalogVersionRepository.increment(Instant.now());
+        if (repository.countMatching(filter.genre(), filter.developedBy(), filter.releasedBefore()) > rowLimit) {
+            // Rolls back the catalog version
+            throw new IllegalArgumentException("More than " + rowLimit + " video games match the filter, "
+                    + "narrow it or raise the limit");
+        }
+        // A single UPDATE ... WHERE <filter>: the ids come back from the statement itself, the filter may not match
+        // the rows once they are updated
+        List<Long> ids = repository.updateMatchingReturningIds(filter, changes);
+        // The change log selects the snapshots by id, IN lists stay bounded
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            changeFeedService.recordUpdates(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())));
+        }
+
+        return new BulkUpdateResultDTO(ids.size(), ids.size(), false);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        catalogVersionRepository.increment(Instant.now());
+        if (repository.deleteOneById(id) == 0) {
+            throw new VideoGameNotFoundException("It does not exist a video game with id: " + id);
+        }
+        changeFeedService.recordDelete(id);
+    }
+
+    @Override
+    @Transactional
+    public int deleteAll() {
+        catalogVersionRepository.increment(Instant.now());
+        int deleted = repository.deleteAllRows();
+        changeFeedService.recordClear();
+
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteMatching(VideoGameFilter filter) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("At least one filter is required to delete video games");
+        }
+
+        catalogVersionRepository.increment(Instant.now());
+        changeFeedService.recordDeletes(filter);
+
+        return repository.deleteMatching(filter.genre(), filter.developedBy(), filter.releasedBefore());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return repository.count();
+    }
+
+    // JSON Merge Patch (RFC 7386): present fields replace the current value, null clears it
+    private VideoGameDTO applyMergePatch(VideoGameDTO current, JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new IllegalArgumentException("The patch must be a JSON object");
+        }
+
+        ObjectNode merged = objectMapper.valueToTree(current);
+        mergePatch.properties().forEach(field -> {
+            if (!merged.has(field.getKey())) {
+                throw new IllegalArgumentException("Unknown video game field: " + field.getKey());
+            }
+            merged.set(field.getKey(), field.getValue());
+        });
+
+        try {
+            return objectMapper.treeToValue(merged, VideoGameDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid value in the patch: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogVersion getCatalogVersion() {
+        return catalogVersionRepository.findById(CatalogVersion.CATALOG_ID)
+                .orElseGet(() -> new CatalogVersion(0L, Instant.EPOCH));
     }
 
     @Override
-    public void deleteAll() {
-        repository.deleteAll();
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersionById(Long id) {
+        return repository.findVersionById(id);
     }
 }
@@ -0,0 +1,107 @@
+package com.example.api_rest.stream;
+
+import com.example.api_rest.event.ChangeLogAdvancedEvent;
+import com.example.api_rest.event.VideoGameChangedEvent;
+import com.example.api_rest.exception.ServiceUnavailableException;
+import com.example.api_rest.service.ChangeFeedService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class CatalogChangeBroadcaster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogChangeBroadcaster.class);
+
+    private final ChangeFeedService changeFeedService;
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Idle connections hold no thread at all, a send blocked on a slow socket only parks a virtual thread
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.stream.buffer-size}")
+    private int bufferSize;
+    @Value("${app.stream.max-subscribers}")
+    private int maxSubscribers;
+    @Value("${app.stream.timeout}")
+    private Duration timeout;
+    @Value("${app.changes.max-page-size}")
+    private int replayPageSize;
+
+    public CatalogChangeBroadcaster(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many open catalog streams, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, bufferSize, executor);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // Registered before the replay starts so no change committed meanwhile is lost
+        subscribers.add(subscriber);
+        subscriber.start(lastEventId, cursor -> changeFeedService.getChanges(cursor, replayPageSize));
+
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVideoGameChanged(VideoGameChangedEvent event) {
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.offer(event.change());
+        }
+    }
+
+    // Bulk writes: every subscriber reads their entries from the log, by pages of app.changes.max-page-size
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChangeLogAdvanced(ChangeLogAdvancedEvent event) {
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.advance(event.fromCursor());
+        }
+    }
+
+    // Keeps proxies from closing idle streams and detects clients that went away
+    @Scheduled(fixedRateString = "${app.stream.heartbeat-interval}")
+    public void heartbeat() {
+        subscribers.removeIf(StreamSubscriber::isClosed);
+        subscribers.forEach(StreamSubscriber::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.getEmitter().complete();
+        });
+        subscribers.clear();
+        executor.shutdownNow();
+    }
+
+    private void unsubscribe(StreamSubscriber subscriber) {
+        subscriber.close();
+        if (subscribers.remove(subscriber)) {
+            LOGGER.debug("Catalog stream closed, {} subscribers left", subscribers.size());
+        }
+    }
+}
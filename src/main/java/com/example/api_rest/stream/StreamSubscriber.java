@@ -0,0 +1,199 @@
+package com.example.api_rest.stream;
+
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.exception.ChangeLogCompactedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * A single SSE connection. Publishers only offer to its ring buffer and never block;
+ * the buffer is drained by one task at a time on the broadcaster executor.
+ * A subscriber whose buffer overflows, or whose Last-Event-ID is behind the compacted tombstones, is sent a "resync"
+ * event and disconnected. Bulk writes are not buffered change by
+ * change: they only advance the log, and the drain task reads their entries from it by pages.
+ */
+class StreamSubscriber {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final SseEmitter emitter;
+    private final ArrayBlockingQueue<VideoGameChangeDTO> buffer;
+    private final Executor executor;
+
+    // Starts as true so live events are only buffered until the replay has been sent
+    private final AtomicBoolean draining = new AtomicBoolean(true);
+    private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+    // Lowest cursor after which the log has entries not sent yet, NONE when there are none
+    private final AtomicLong pendingFrom = new AtomicLong(NONE);
+    private volatile LongFunction<ChangeFeedDTO> changeSource;
+    // The buffer overflowed, or the log no longer has every change to replay
+    private volatile boolean resyncRequired;
+    private volatile boolean closed;
+
+    private long replayedUpTo = -1;
+    private long lastCursor;
+
+    StreamSubscriber(SseEmitter emitter, int bufferSize, Executor executor) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Sends every change after {@code since} (when present) and then switches to live delivery.
+     */
+    void start(Long since, LongFunction<ChangeFeedDTO> changeSource) {
+        this.changeSource = changeSource;
+        executor.execute(() -> {
+            try {
+                if (since != null) {
+                    replay(since, changeSource);
+                }
+            } catch (ChangeLogCompactedException e) {
+                // Deletes after the Last-Event-ID are no longer in the log
+                resyncRequired = true;
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+            drain();
+        });
+    }
+
+    void offer(VideoGameChangeDTO change) {
+        if (closed) {
+            return;
+        }
+        if (!buffer.offer(change)) {
+            resyncRequired = true;
+        }
+        scheduleDrain();
+    }
+
+    // The entries with a cursor above fromCursor are in the log
+    void advance(long fromCursor) {
+        if (closed) {
+            return;
+        }
+        pendingFrom.accumulateAndGet(fromCursor, Math::min);
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        if (!closed) {
+            heartbeatPending.set(true);
+            scheduleDrain();
+        }
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    private void replay(long since, LongFunction<ChangeFeedDTO> changeSource) throws IOException {
+        long cursor = since;
+        ChangeFeedDTO page;
+        do {
+            page = changeSource.apply(cursor);
+            for (VideoGameChangeDTO change : page.changes()) {
+                send(change);
+            }
+            cursor = page.nextCursor();
+        } while (page.hasMore() && !closed);
+
+        lastCursor = Math.max(lastCursor, cursor);
+        replayedUpTo = Math.max(replayedUpTo, cursor);
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            if (resyncRequired) {
+                resync();
+                return;
+            }
+
+            long from = pendingFrom.getAndSet(NONE);
+            if (from != NONE && !closed) {
+                // The replay starts after from: the buffered changes up to it are sent first, or never
+                List<VideoGameChangeDTO> buffered = new ArrayList<>(buffer.size());
+                buffer.drainTo(buffered);
+                for (VideoGameChangeDTO earlier : buffered) {
+                    if (earlier.cursor() <= from && earlier.cursor() > replayedUpTo && !closed) {
+                        send(earlier);
+                    }
+                }
+                // Up to the end of the log, the buffered changes it covers are skipped below
+                replay(Math.max(from, replayedUpTo), changeSource);
+                for (VideoGameChangeDTO later : buffered) {
+                    if (later.cursor() > replayedUpTo && !closed) {
+                        send(later);
+                    }
+                }
+            }
+
+            VideoGameChangeDTO change;
+            while (!closed && (change = buffer.poll()) != null) {
+                // Already sent while replaying the change log
+                if (change.cursor() > replayedUpTo) {
+                    send(change);
+                }
+            }
+
+            if (!closed && heartbeatPending.getAndSet(false)) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (ChangeLogCompactedException e) {
+            // Sent by the next drain
+            resyncRequired = true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, the emitter callbacks unregister the subscriber
+            close();
+        } finally {
+            draining.set(false);
+            if (!closed && (resyncRequired || heartbeatPending.get() || pendingFrom.get() != NONE || !buffer.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void resync() throws IOException {
+        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(Map.of("cursor", lastCursor)));
+        close();
+        emitter.complete();
+    }
+
+    private void send(VideoGameChangeDTO change) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(change.cursor()))
+                .name(CHANGE_EVENT)
+                .data(change));
+        lastCursor = Math.max(lastCursor, change.cursor());
+    }
+}
@@ -1,22 +1,25 @@
-INSERT INTO api_video_game (name, release_date, developed_by, genre)
-VALUES ('The Witcher 3: Wild Hunt', '2015-05-19', 'CD Projekt', 'RPG'),
+INSERT INTO api_video_game (id, name, release_date, developed_by, genre)
+VALUES (1, 'The Witcher 3: Wild Hunt', '2015-05-19', 'CD Projekt', 'RPG'),
 
-('Elden Ring', '2022-02-25', 'FromSoftware', 'RPG'),
+(2, 'Elden Ring', '2022-02-25', 'FromSoftware', 'RPG'),
 
-('The Legend of Zelda: Breath of the Wild', '2017-03-03', 'Nintendo', 'ADVENTURE'),
+(3, 'The Legend of Zelda: Breath of the Wild', '2017-03-03', 'Nintendo', 'ADVENTURE'),
 
-('The Secret of Monkey Island', '1990-10-15', 'Lucasfilm Games', 'ADVENTURE'),
+(4, 'The Secret of Monkey Island', '1990-10-15', 'Lucasfilm Games', 'ADVENTURE'),
 
-('Baldur''s Gate', '1998-12-21', 'BioWare', 'RPG'),
+(5, 'Baldur''s Gate', '1998-12-21', 'BioWare', 'RPG'),
 
-('StarCraft', '1998-03-31', 'Blizzard Entertainment', 'STRATEGY'),
+(6, 'StarCraft', '1998-03-31', 'Blizzard Entertainment', 'STRATEGY'),
 
-('Resident Evil', '1996-03-22', 'Capcom', 'HORROR'),
+(7, 'Resident Evil', '1996-03-22', 'Capcom', 'HORROR'),
 
-('Silent Hill', '1999-02-23', 'Konami', 'HORROR'),
+(8, 'Silent Hill', '1999-02-23', 'Konami', 'HORROR'),
 
-('Mario Kart', '1992-08-27', 'Nintendo', 'RACING'),
+(9, 'Mario Kart', '1992-08-27', 'Nintendo', 'RACING'),
 
-('Minecraft', '2011-11-18', 'Mojang', 'SANDBOX'),
+(10, 'Minecraft', '2011-11-18', 'Mojang', 'SANDBOX'),
 
-('The Elder Scrolls V: Skyrim', '2011-11-11', 'Bethesda Game Studios', 'RPG');
\ No newline at end of file
+(11, 'The Elder Scrolls V: Skyrim', '2011-11-11', 'Bethesda Game Studios', 'RPG');
+
+-- The ids above are explicit, the sequence continues after them (pooled-lo: nextval is the first id of a block)
+ALTER SEQUENCE api_video_game_seq RESTART WITH 12;
\ No newline at end of file
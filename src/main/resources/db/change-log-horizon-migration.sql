@@ -0,0 +1,12 @@
+-- Adds the compaction horizon of the change log (CatalogVersion.changesCompactedUpTo) to an existing PostgreSQL
+-- database. Only needed when the schema is not recreated on startup (spring.jpa.hibernate.ddl-auto other than
+-- create/create-drop). Tombstones compacted before it was added are not known: the horizon starts at the oldest
+-- entry still in the log.
+
+BEGIN;
+
+ALTER TABLE api_catalog_version ADD COLUMN IF NOT EXISTS changes_compacted_up_to BIGINT NOT NULL DEFAULT 0;
+UPDATE api_catalog_version
+SET changes_compacted_up_to = (SELECT COALESCE(MIN(id) - 1, 0) FROM api_video_game_change);
+
+COMMIT;
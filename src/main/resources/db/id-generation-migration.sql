@@ -0,0 +1,23 @@
+-- Migrates an existing PostgreSQL database from IDENTITY ids to the sequences used by @SwitchableId.
+-- Only needed when the schema is not recreated on startup (spring.jpa.hibernate.ddl-auto other than create/create-drop).
+-- Existing ids are kept, so /api/games/{id} URLs remain valid. Run it once with the application stopped.
+
+BEGIN;
+
+-- Games
+CREATE SEQUENCE IF NOT EXISTS api_video_game_seq INCREMENT BY 50;
+ALTER SEQUENCE api_video_game_seq INCREMENT BY 50;
+ALTER TABLE api_video_game ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Users
+CREATE SEQUENCE IF NOT EXISTS api_user_seq INCREMENT BY 50;
+ALTER SEQUENCE api_user_seq INCREMENT BY 50;
+ALTER TABLE api_user ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- pooled-lo hands out [nextval, nextval + 49], so the next value must be above every existing id.
+-- Ids created with app.id.strategy=time-ordered are >= 2^40 (any time after 2025-01-08) and are skipped:
+-- the sequence never reaches them, so the strategy can be switched back and forth without collisions.
+SELECT setval('api_video_game_seq', COALESCE((SELECT MAX(id) FROM api_video_game WHERE id < (1::bigint << 40)), 0) + 1, false);
+SELECT setval('api_user_seq', COALESCE((SELECT MAX(id) FROM api_user WHERE id < (1::bigint << 40)), 0) + 1, false);
+
+COMMIT;
@@ -0,0 +1,9 @@
+-- Indexes of GET /auth/users on PostgreSQL. username_key and email_key hold lower(username) and lower(email)
+-- (user-unique-keys-migration.sql), so these are the lower() indexes of the prefix search: varchar_pattern_ops lets
+-- LIKE 'prefix%' use them whatever the collation of the database, the unique indexes only do with the C collation.
+-- ix_api_user_role_id is also created by Hibernate when it creates the schema.
+-- Not in a transaction: CREATE INDEX CONCURRENTLY does not block the writes, the application can keep running.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_api_user_username_key_prefix ON api_user (username_key varchar_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_api_user_email_key_prefix ON api_user (email_key varchar_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_api_user_role_id ON api_user (role, id);
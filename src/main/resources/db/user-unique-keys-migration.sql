@@ -0,0 +1,29 @@
+-- Moves the unique constraints of an existing PostgreSQL database from username and email to their lower-case keys,
+-- which make them case-insensitive (User.key). Only needed when the schema is not recreated on startup
+-- (spring.jpa.hibernate.ddl-auto other than create/create-drop). Run it once with the application stopped.
+
+BEGIN;
+
+ALTER TABLE api_user ADD COLUMN IF NOT EXISTS username_key VARCHAR(255);
+ALTER TABLE api_user ADD COLUMN IF NOT EXISTS email_key VARCHAR(255);
+UPDATE api_user SET username_key = lower(username), email_key = lower(email);
+ALTER TABLE api_user ALTER COLUMN username_key SET NOT NULL;
+
+-- The previous constraints, named by Hibernate
+DO $$
+DECLARE
+    old_constraint record;
+BEGIN
+    FOR old_constraint IN
+        SELECT conname FROM pg_constraint WHERE conrelid = 'api_user'::regclass AND contype = 'u'
+    LOOP
+        EXECUTE format('ALTER TABLE api_user DROP CONSTRAINT %I', old_constraint.conname);
+    END LOOP;
+END $$;
+
+-- Fails when two users only differ in case: rename one of them first, e.g. listed by
+-- SELECT username_key, count(*) FROM api_user GROUP BY username_key HAVING count(*) > 1;
+ALTER TABLE api_user ADD CONSTRAINT uk_api_user_username_key UNIQUE (username_key);
+ALTER TABLE api_user ADD CONSTRAINT uk_api_user_email_key UNIQUE (email_key);
+
+COMMIT;
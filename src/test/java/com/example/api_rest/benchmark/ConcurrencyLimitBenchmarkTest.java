@@ -0,0 +1,153 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.filter.AdaptiveConcurrencyLimit;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.TokenService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Goodput of GET /games under overload, with and without the adaptive concurrency limit (app.concurrency-limit). Every
+ * client gives up after benchmark.deadline-ms: a response that arrives later is as useless as an error. Goodput counts
+ * the 200 responses within the deadline. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ConcurrencyLimitBenchmarkTest -Dbenchmark.clients=400}; the clients share the
+ * machine with the server, give it several cores or the client and the connections become the bottleneck.
+ */
+@Tag("benchmark")
+// The security debugger logs every request at INFO, which would turn this into a console benchmark, and so would the
+// stack trace of every response the clients stopped waiting for. The circuit breaker would open on the slow calls
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql = false", "logging.level.root = WARN",
+                "logging.level.com.example.api_rest.exception = OFF", "app.circuit-breaker.enabled = false"})
+public class ConcurrencyLimitBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+    private static final int WARM_UP = Integer.getInteger("benchmark.warm-up", 10000);
+    private static final int GAMES = Integer.getInteger("benchmark.items", 100);
+    private static final Duration DEADLINE = Duration.ofMillis(Integer.getInteger("benchmark.deadline-ms", 1000));
+    private static final Map<String, String> RESULTS = new TreeMap<>();
+
+    @AfterAll
+    static void printResults() {
+        System.out.printf("%n[benchmark] %d x GET /games (%d games), %d concurrent clients, %d ms deadline%n",
+                REQUESTS, GAMES, CLIENTS, DEADLINE.toMillis());
+        RESULTS.forEach((mode, result) -> System.out.printf("[benchmark]   %-20s %s%n", mode, result));
+        System.out.println();
+    }
+
+    abstract class OverloadBenchmark {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private VideoGameRepository repository;
+
+        @Autowired
+        private TokenService tokenService;
+
+        @Autowired
+        private ObjectProvider<AdaptiveConcurrencyLimit> limit;
+
+        void measure(String mode) throws Exception {
+            repository.deleteAllInBatch();
+            repository.saveAll(IntStream.range(0, GAMES)
+                    .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                    .toList());
+
+            String token = tokenService.generateToken(new UsernamePasswordAuthenticationToken(
+                    "user", "54321", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ApiConfig.API_BASE_PATH + "/games"))
+                    .header("Cookie", "auth-token=" + token)
+                    .timeout(DEADLINE)
+                    .build();
+
+            // A single client thread keeps CLIENTS requests in flight, so the client takes little CPU from the server
+            try (ExecutorService clientThread = Executors.newSingleThreadExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .executor(clientThread)
+                         .build()) {
+                run(httpClient, request, WARM_UP);
+
+                long start = System.nanoTime();
+                Map<String, LongAdder> outcomes = run(httpClient, request, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                AdaptiveConcurrencyLimit concurrencyLimit = limit.getIfAvailable();
+                RESULTS.put(mode, String.format("goodput %6.0f req/s, %6d ok, %6d shed (503), %6d late or failed%s",
+                        outcomes.get("ok").sum() / seconds, outcomes.get("ok").sum(), outcomes.get("shed").sum(),
+                        outcomes.get("failed").sum(),
+                        concurrencyLimit == null ? "" : ", final limit " + concurrencyLimit.getLimit()));
+            }
+        }
+
+        private Map<String, LongAdder> run(HttpClient httpClient, HttpRequest httpRequest, int requests) throws Exception {
+            Map<String, LongAdder> outcomes = Map.of("ok", new LongAdder(), "shed", new LongAdder(), "failed", new LongAdder());
+            Semaphore inFlight = new Semaphore(CLIENTS);
+
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, e) -> {
+                            String outcome = e != null ? "failed"
+                                    : response.statusCode() == 200 ? "ok"
+                                    : response.statusCode() == 503 ? "shed"
+                                    : "failed";
+                            outcomes.get(outcome).increment();
+                            inFlight.release();
+                        });
+            }
+            inFlight.acquire(CLIENTS);
+            return outcomes;
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "app.concurrency-limit.enabled = false")
+    class Unlimited extends OverloadBenchmark {
+
+        @Test
+        void goodput() throws Exception {
+            measure("no limit");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "app.concurrency-limit.enabled = true")
+    class AdaptiveLimit extends OverloadBenchmark {
+
+        @Test
+        void goodput() throws Exception {
+            measure("adaptive limit");
+        }
+    }
+}
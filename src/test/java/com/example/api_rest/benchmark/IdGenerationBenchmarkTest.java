@@ -0,0 +1,97 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.VideoGameBatchService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput of POST /games/batch persistence with every app.id.strategy.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=IdGenerationBenchmarkTest -Dbenchmark.items=20000}; point the
+ * test datasource to PostgreSQL to include the nextval round trips.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql = false")
+public class IdGenerationBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 5000);
+    // Any time-ordered id generated after 2025-01-08
+    private static final long TIME_ORDERED_MIN_ID = 1L << 40;
+    private static final Map<String, Double> ROWS_PER_SECOND = new TreeMap<>();
+
+    @AfterAll
+    static void printResults() {
+        System.out.printf("%n[benchmark] %d inserts per strategy%n", ITEMS);
+        ROWS_PER_SECOND.forEach((strategy, rate) -> System.out.printf("[benchmark]   %-12s %.0f rows/s%n", strategy, rate));
+        System.out.println();
+    }
+
+    abstract class StrategyBenchmark {
+
+        @Autowired
+        private VideoGameBatchService batchService;
+
+        @Autowired
+        private VideoGameRepository repository;
+
+        BatchResultDTO measure(String strategy) {
+            List<VideoGameDTO> dtos = IntStream.range(0, ITEMS)
+                    .mapToObj(i -> new VideoGameDTO("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                    .toList();
+
+            // Warm up
+            batchService.registerAll(dtos.subList(0, Math.min(500, ITEMS)));
+            repository.deleteAllInBatch();
+
+            long start = System.nanoTime();
+            BatchResultDTO result = batchService.registerAll(dtos);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            repository.deleteAllInBatch();
+
+            assertEquals(ITEMS, result.created());
+            ROWS_PER_SECOND.put(strategy, ITEMS / seconds);
+            return result;
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "app.id.strategy = sequence")
+    class Sequence extends StrategyBenchmark {
+
+        @Test
+        void insertThroughput() {
+            BatchResultDTO result = measure("sequence");
+
+            assertTrue(result.items().getFirst().id() < TIME_ORDERED_MIN_ID);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "app.id.strategy = time-ordered")
+    class TimeOrdered extends StrategyBenchmark {
+
+        @Test
+        void insertThroughput() {
+            BatchResultDTO result = measure("time-ordered");
+
+            assertTrue(result.items().getFirst().id() >= TIME_ORDERED_MIN_ID);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.catalog.InMemoryCatalog;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.impl.SnapshotVideoGameServiceImpl;
+import com.example.api_rest.service.impl.VideoGameServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Catalog reads answered by the database (VideoGameServiceImpl) against the in-memory catalog
+ * (SnapshotVideoGameServiceImpl). Reports latency per request. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=InMemoryCatalogBenchmarkTest -Dbenchmark.items=100000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql = false", "app.games.in-memory.enabled = true"})
+public class InMemoryCatalogBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 20000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 2000);
+    private static final Genre[] GENRES = Genre.values();
+
+    @Autowired
+    private VideoGameServiceImpl database;
+
+    @Autowired
+    private SnapshotVideoGameServiceImpl inMemory;
+
+    @Autowired
+    private InMemoryCatalog catalog;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        ids = repository.saveAll(IntStream.range(0, ITEMS)
+                        .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(1980 + i % 45, 1 + i % 12, 1),
+                                "Studio " + (i % 500), GENRES[i % GENRES.length]))
+                        .toList())
+                .stream()
+                .map(VideoGame::getId)
+                .toList();
+        // The games were saved without the service, so they are not in the change log
+        catalog.load();
+    }
+
+    @Test
+    void findById() {
+        measure("findById (" + ITEMS + " games)", REQUESTS,
+                i -> database.findById(ids.get(i % ids.size())),
+                i -> inMemory.findById(ids.get(i % ids.size())));
+    }
+
+    @Test
+    void findMatching() {
+        measure("findMatching genre + developer (" + ITEMS + " games)", REQUESTS,
+                i -> database.findMatching(filter(i)),
+                i -> inMemory.findMatching(filter(i)));
+    }
+
+    @Test
+    void findAll() {
+        measure("findAll (" + ITEMS + " games)", Math.max(1, REQUESTS / 100),
+                i -> database.findAll(),
+                i -> inMemory.findAll());
+    }
+
+    private static VideoGameFilter filter(int i) {
+        return new VideoGameFilter(GENRES[i % GENRES.length], "Studio " + (i % 500), null);
+    }
+
+    private static void measure(String operation, int requests, Request databasePath, Request inMemoryPath) {
+        // Warm up both paths
+        run(requests, databasePath);
+        run(requests, inMemoryPath);
+
+        long database = run(requests, databasePath);
+        long inMemory = run(requests, inMemoryPath);
+
+        System.out.printf("%n[benchmark] %d x %s%n", requests, operation);
+        System.out.printf("[benchmark]   database  %12.2f us/op%n", database / 1e3 / requests);
+        System.out.printf("[benchmark]   in-memory %12.2f us/op%n%n", inMemory / 1e3 / requests);
+    }
+
+    private static long run(int requests, Request path) {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            path.execute(i);
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void execute(int i);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.reactive.ReactiveCatalogApplication;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.TokenService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * GET /games for many concurrent clients: the servlet app (Tomcat, JDBC) against ReactiveCatalogApplication (Netty,
+ * R2DBC), both streaming the same catalog as JSON. Reports throughput, latency and the peak of the server's request
+ * threads and open database connections while the clients wait. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ReactiveReadBenchmarkTest -Dbenchmark.clients=10000}; client and servers share
+ * the process, so 10k clients need more than 20k file descriptors ({@code ulimit -n}).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql = false",
+        "logging.level.root = ERROR"
+})
+public class ReactiveReadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 4000);
+    private static final int GAMES = Integer.getInteger("benchmark.items", 1000);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ConfigurableApplicationContext reactiveApp;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        repository.saveAll(IntStream.range(0, GAMES)
+                .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                .toList());
+        reactiveApp = ReactiveCatalogApplication.start("--logging.level.root=ERROR", "--app.games.reactive.fetch-size=500");
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveApp.close();
+    }
+
+    @Test
+    void servlet_vs_reactive() throws Exception {
+        int reactivePort = ((WebServerApplicationContext) reactiveApp).getWebServer().getPort();
+        ConnectionPool r2dbcPool = (ConnectionPool) reactiveApp.getBean(ConnectionFactory.class);
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        // The reactive stack first: Tomcat keeps its worker threads alive for a minute after the servlet run
+        String reactive = measure(reactivePort, "reactor-http-",
+                () -> r2dbcPool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0));
+        String servlet = measure(servletPort, "http-nio-",
+                () -> hikari.getHikariPoolMXBean().getActiveConnections());
+
+        System.out.printf("%n[benchmark] GET /games (%d games), %d concurrent clients%n", GAMES, CLIENTS);
+        System.out.printf("[benchmark]   servlet (Tomcat, JDBC)    %s%n", servlet);
+        System.out.printf("[benchmark]   reactive (Netty, R2DBC)   %s%n%n", reactive);
+    }
+
+    private String measure(int port, String serverThreadPrefix, IntSupplier openConnections) throws Exception {
+        String token = tokenService.generateToken(new UsernamePasswordAuthenticationToken(
+                "user", "54321", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ApiConfig.API_BASE_PATH + "/games"))
+                .header("Cookie", "auth-token=" + token)
+                .header("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .timeout(Duration.ofMinutes(5))
+                .build();
+
+        try (ExecutorService clientThread = Executors.newSingleThreadExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientThread)
+                     .build()) {
+            // Warm up
+            run(httpClient, request, Math.min(CLIENTS, 200), 1000, new LongAdder());
+
+            Peaks peaks = new Peaks(serverThreadPrefix, openConnections);
+            Thread sampler = Thread.ofPlatform().daemon().start(peaks);
+            long start = System.nanoTime();
+            LongAdder rejected = new LongAdder();
+            long[] latencies = run(httpClient, request, CLIENTS, CLIENTS, rejected);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sampler.interrupt();
+            sampler.join();
+
+            Arrays.sort(latencies);
+            return String.format("%6.0f req/s, %5d rejected, p50 %7.1f ms, p99 %7.1f ms, peak %4d server threads (%4d in the JVM), peak %3d db connections",
+                    CLIENTS / seconds, rejected.sum(), latencies[latencies.length / 2] / 1e6,
+                    latencies[(int) (latencies.length * 0.99)] / 1e6, peaks.serverThreads, peaks.threads, peaks.connections);
+        }
+    }
+
+    // Every client sends its request at once and waits for the whole body. Non-200 responses (e.g. 503 once the JDBC
+    // pool times out) are counted, not failed
+    private static long[] run(HttpClient httpClient, HttpRequest request, int concurrency, int requests,
+                              LongAdder rejected) throws Exception {
+        long[] latencies = new long[requests];
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int i = 0; i < requests && failure.get() == null; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (e != null) {
+                            failure.compareAndSet(null, e);
+                        } else if (response.statusCode() != 200) {
+                            rejected.increment();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+
+        if (failure.get() != null) {
+            throw new AssertionError("Request failed", failure.get());
+        }
+        return latencies;
+    }
+
+    private static final class Peaks implements Runnable {
+
+        private final String serverThreadPrefix;
+        private final IntSupplier openConnections;
+        private volatile int serverThreads;
+        private volatile int threads;
+        private volatile int connections;
+
+        private Peaks(String serverThreadPrefix, IntSupplier openConnections) {
+            this.serverThreadPrefix = serverThreadPrefix;
+            this.openConnections = openConnections;
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                ThreadInfo[] live = THREADS.getThreadInfo(THREADS.getAllThreadIds());
+                int server = (int) Arrays.stream(live)
+                        .filter(info -> info != null && info.getThreadName().startsWith(serverThreadPrefix))
+                        .count();
+                serverThreads = Math.max(serverThreads, server);
+                threads = Math.max(threads, live.length);
+                connections = Math.max(connections, openConnections.getAsInt());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.repository.UserRepository;
+import com.example.api_rest.service.AuthService;
+import com.example.api_rest.service.UserBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * One-by-one registration (POST /auth/register) against POST /auth/bulk-register. BCrypt dominates both, so the
+ * speedup follows the number of cores (app.auth.bulk.hash-threads = 0 uses all of them).
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=UserBulkRegisterBenchmarkTest -Dbenchmark.users=500}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql = false")
+public class UserBulkRegisterBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200);
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserBatchService batchService;
+
+    @Autowired
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void registerOneByOne_vs_bulk() {
+        List<RegisterUserDTO> dtos = IntStream.range(0, USERS)
+                .mapToObj(i -> new RegisterUserDTO("user" + i, "password" + i, "user" + i + "@example.com"))
+                .toList();
+
+        // Warm up both paths
+        dtos.subList(0, 20).forEach(authService::register);
+        repository.deleteAllInBatch();
+        batchService.registerAll(dtos.subList(0, 20));
+        repository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        dtos.forEach(authService::register);
+        double oneByOneSeconds = (System.nanoTime() - start) / 1e9;
+        repository.deleteAllInBatch();
+
+        start = System.nanoTime();
+        BatchResultDTO result = batchService.registerAll(dtos);
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(USERS, result.created());
+        System.out.printf("%n[benchmark] %d users on %d cores: one-by-one %.0f users/s, bulk %.0f users/s (x%.1f)%n%n",
+                USERS, Runtime.getRuntime().availableProcessors(), USERS / oneByOneSeconds, USERS / bulkSeconds,
+                oneByOneSeconds / bulkSeconds);
+    }
+}
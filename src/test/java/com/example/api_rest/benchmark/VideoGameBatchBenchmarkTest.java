@@ -0,0 +1,70 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.VideoGameBatchService;
+import com.example.api_rest.service.VideoGameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * One-by-one registration against POST /games/batch persistence.
+ * Run with {@code ./mvnw test -Pbenchmark -Dbenchmark.items=5000}; point the test datasource to
+ * PostgreSQL to include real network round trips.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql = false")
+public class VideoGameBatchBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 2000);
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private VideoGameBatchService batchService;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void registerOneByOne_vs_batch() {
+        List<VideoGameDTO> dtos = IntStream.range(0, ITEMS)
+                .mapToObj(i -> new VideoGameDTO("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                .toList();
+
+        // Warm up both paths
+        dtos.subList(0, 100).forEach(videoGameService::register);
+        batchService.registerAll(dtos.subList(0, 100));
+        repository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        dtos.forEach(videoGameService::register);
+        double oneByOneSeconds = (System.nanoTime() - start) / 1e9;
+        repository.deleteAllInBatch();
+
+        start = System.nanoTime();
+        BatchResultDTO result = batchService.registerAll(dtos);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(ITEMS, result.created());
+        System.out.printf("%n[benchmark] %d inserts: one-by-one %.0f rows/s, batch %.0f rows/s (x%.1f)%n%n",
+                ITEMS, ITEMS / oneByOneSeconds, ITEMS / batchSeconds, oneByOneSeconds / batchSeconds);
+    }
+}
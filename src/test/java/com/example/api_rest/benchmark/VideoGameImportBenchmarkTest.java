@@ -0,0 +1,75 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.dto.JobDTO;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.JobService;
+import com.example.api_rest.service.VideoGameImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ingest rate of POST /games/import, from the upload to the finished job.
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=VideoGameImportBenchmarkTest -Dbenchmark.rows=1000000}; point the
+ * test datasource to PostgreSQL to measure COPY instead of the JDBC batches used on H2.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql = false")
+public class VideoGameImportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+
+    @Autowired
+    private VideoGameImportService importService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void importCsv() throws InterruptedException {
+        // Warm up
+        await(importService.importFile(csv(10_000)));
+        repository.deleteAllInBatch();
+
+        MockMultipartFile file = csv(ROWS);
+        long start = System.nanoTime();
+        JobDTO job = await(importService.importFile(file));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(JobDTO.Status.COMPLETED, job.status(), job.error());
+        assertEquals(ROWS, job.affectedRows());
+        System.out.printf("%n[benchmark] import of %d rows (%.1f MB): %.1f s, %.0f rows/s%n%n",
+                ROWS, file.getSize() / 1e6, seconds, ROWS / seconds);
+    }
+
+    private JobDTO await(JobDTO job) throws InterruptedException {
+        while (job.status() == JobDTO.Status.RUNNING) {
+            Thread.sleep(10);
+            job = jobService.findById(job.id());
+        }
+        return job;
+    }
+
+    private static MockMultipartFile csv(int rows) {
+        StringBuilder csv = new StringBuilder("name,releaseDate,developedBy,genre\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Game ").append(i).append(",2000-01-01,Studio ").append(i % 20).append(",ACTION\n");
+        }
+        return new MockMultipartFile("file", "catalog.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.VideoGameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Catalog reads: managed entities loaded by JpaRepository against the read-only record projections of
+ * VideoGameService. Reports heap allocated by the calling thread and latency per request. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=VideoGameReadBenchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql = false")
+public class VideoGameReadBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 2000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 200);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        ids = repository.saveAll(IntStream.range(0, ITEMS)
+                        .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                        .toList())
+                .stream()
+                .map(VideoGame::getId)
+                .toList();
+    }
+
+    @Test
+    void findAll_entities_vs_views() {
+        measure("findAll (" + ITEMS + " games)", REQUESTS,
+                i -> transactionTemplate.execute(status -> repository.findAll()),
+                i -> videoGameService.findAll());
+    }
+
+    @Test
+    void findById_entities_vs_views() {
+        measure("findById", ids.size(),
+                i -> transactionTemplate.execute(status -> repository.findById(ids.get(i)).orElseThrow()),
+                i -> videoGameService.findById(ids.get(i)));
+    }
+
+    private static void measure(String operation, int requests, Request entityPath, Request viewPath) {
+        // Warm up both paths
+        run(Math.min(requests, 50), entityPath);
+        run(Math.min(requests, 50), viewPath);
+
+        long[] entity = run(requests, entityPath);
+        long[] view = run(requests, viewPath);
+
+        System.out.printf("%n[benchmark] %d x %s%n", requests, operation);
+        System.out.printf("[benchmark]   managed entities %9.1f us/op, %10d bytes/op%n",
+                entity[0] / 1e3 / requests, entity[1] / requests);
+        System.out.printf("[benchmark]   record views     %9.1f us/op, %10d bytes/op%n%n",
+                view[0] / 1e3 / requests, view[1] / requests);
+    }
+
+    private static long[] run(int requests, Request path) {
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            path.execute(i);
+        }
+        long nanos = System.nanoTime() - start;
+        return new long[]{nanos, THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore};
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void execute(int i);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.ChangeFeedService;
+import com.example.api_rest.service.VideoGameService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Update and delete of single games: the previous findById + write path against the single statement path of
+ * VideoGameService. Run with {@code ./mvnw test -Pbenchmark -Dtest=VideoGameWriteBenchmarkTest}; point the test
+ * datasource to PostgreSQL to include real network round trips.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql = false", "spring.jpa.properties.hibernate.generate_statistics = true"})
+public class VideoGameWriteBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 2000);
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void update_findByIdPath_vs_singleStatement() {
+        List<Long> ids = insertGames();
+        VideoGameDTO dto = new VideoGameDTO("Updated", LocalDate.of(2001, 1, 1), "Studio", Genre.RPG);
+
+        measure("update", ids, id -> transactionTemplate.executeWithoutResult(status -> {
+            VideoGame videoGame = repository.findById(id).orElseThrow();
+            videoGame.setName(dto.name());
+            videoGame.setReleaseDate(dto.releaseDate());
+            videoGame.setDevelopedBy(dto.developedBy());
+            videoGame.setGenre(dto.genre());
+            catalogVersionRepository.increment(Instant.now());
+            changeFeedService.recordUpdate(repository.saveAndFlush(videoGame));
+        }), id -> videoGameService.update(id, dto));
+    }
+
+    @Test
+    void delete_findByIdPath_vs_singleStatement() {
+        List<Long> ids = insertGames();
+        // Both paths need their own rows, the second half is deleted by the current path
+        List<Long> previous = ids.subList(0, ids.size() / 2);
+        List<Long> current = ids.subList(ids.size() / 2, ids.size());
+
+        long previousNanos = run(previous, id -> transactionTemplate.executeWithoutResult(status -> {
+            VideoGame videoGame = repository.findById(id).orElseThrow();
+            catalogVersionRepository.increment(Instant.now());
+            repository.delete(videoGame);
+            changeFeedService.recordDelete(id);
+        }));
+        long previousStatements = statistics.getPrepareStatementCount();
+        long currentNanos = run(current, videoGameService::delete);
+        long currentStatements = statistics.getPrepareStatementCount();
+
+        print("delete", previous.size(), previousNanos, previousStatements, currentNanos, currentStatements);
+    }
+
+    private void measure(String operation, List<Long> ids, LongConsumer previousPath, LongConsumer currentPath) {
+        // Warm up both paths
+        ids.subList(0, 100).forEach(previousPath::accept);
+        ids.subList(0, 100).forEach(currentPath::accept);
+
+        long previousNanos = run(ids, previousPath);
+        long previousStatements = statistics.getPrepareStatementCount();
+        long currentNanos = run(ids, currentPath);
+        long currentStatements = statistics.getPrepareStatementCount();
+
+        print(operation, ids.size(), previousNanos, previousStatements, currentNanos, currentStatements);
+    }
+
+    private long run(List<Long> ids, LongConsumer path) {
+        statistics.clear();
+        long start = System.nanoTime();
+        ids.forEach(path::accept);
+        return System.nanoTime() - start;
+    }
+
+    private List<Long> insertGames() {
+        return repository.saveAll(IntStream.range(0, ITEMS)
+                        .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                        .toList())
+                .stream()
+                .map(VideoGame::getId)
+                .toList();
+    }
+
+    private static void print(String operation, int count, long previousNanos, long previousStatements,
+                              long currentNanos, long currentStatements) {
+        System.out.printf("%n[benchmark] %d x %s%n", count, operation);
+        System.out.printf("[benchmark]   findById path    %7.1f us/op, %.1f statements/op%n",
+                previousNanos / 1e3 / count, (double) previousStatements / count);
+        System.out.printf("[benchmark]   single statement %7.1f us/op, %.1f statements/op%n%n",
+                currentNanos / 1e3 / count, (double) currentStatements / count);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.api_rest.benchmark;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.TokenService;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput and latency of GET /games under concurrent clients, served by Tomcat's platform thread pool and by
+ * virtual threads (spring.threads.virtual.enabled). The virtual-thread run also reports the jdk.VirtualThreadPinned
+ * events, with the frame that pinned the carrier. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=VirtualThreadBenchmarkTest -Dbenchmark.clients=400}; H2 answers from memory,
+ * point the test datasource to PostgreSQL to include the network waits virtual threads are meant for.
+ */
+@Tag("benchmark")
+// The security debugger logs every request at INFO, which would turn this into a console benchmark
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql = false", "logging.level.root = WARN"})
+public class VirtualThreadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+    private static final int WARM_UP = Integer.getInteger("benchmark.warm-up", 10000);
+    private static final int GAMES = Integer.getInteger("benchmark.items", 100);
+    private static final Map<String, String> RESULTS = new TreeMap<>();
+
+    @AfterAll
+    static void printResults() {
+        System.out.printf("%n[benchmark] %d x GET /games (%d games), %d concurrent clients%n", REQUESTS, GAMES, CLIENTS);
+        RESULTS.forEach((mode, result) -> System.out.printf("[benchmark]   %-16s %s%n", mode, result));
+        System.out.println();
+    }
+
+    abstract class ThreadModelBenchmark {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private VideoGameRepository repository;
+
+        @Autowired
+        private TokenService tokenService;
+
+        void measure(String mode, boolean recordPinning) throws Exception {
+            repository.deleteAllInBatch();
+            repository.saveAll(IntStream.range(0, GAMES)
+                    .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(2000, 1, 1), "Studio " + (i % 20), Genre.ACTION))
+                    .toList());
+
+            String token = tokenService.generateToken(new UsernamePasswordAuthenticationToken(
+                    "user", "54321", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ApiConfig.API_BASE_PATH + "/games"))
+                    .header("Cookie", "auth-token=" + token)
+                    .build();
+
+            // A single client thread keeps CLIENTS requests in flight, so the client takes little CPU from the server
+            try (ExecutorService clientThread = Executors.newSingleThreadExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .executor(clientThread)
+                         .build()) {
+                // Warm up, the first context started also pays for the JIT compilation of the whole stack
+                run(httpClient, request, WARM_UP);
+
+                Map<String, LongAdder> pinnedFrames = new ConcurrentHashMap<>();
+                RecordingStream pinning = new RecordingStream();
+                if (recordPinning) {
+                    pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+                    pinning.onEvent("jdk.VirtualThreadPinned", event -> pinnedFrames
+                            .computeIfAbsent(firstApplicationFrame(event.getStackTrace().getFrames()), frame -> new LongAdder())
+                            .increment());
+                    pinning.startAsync();
+                }
+
+                long start = System.nanoTime();
+                long[] latencies = run(httpClient, request, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                pinning.close();
+
+                Arrays.sort(latencies);
+                long pinned = pinnedFrames.values().stream().mapToLong(LongAdder::sum).sum();
+                RESULTS.put(mode, String.format("%8.0f req/s, p50 %6.2f ms, p99 %6.2f ms%s",
+                        REQUESTS / seconds, latencies[latencies.length / 2] / 1e6,
+                        latencies[(int) (latencies.length * 0.99)] / 1e6,
+                        recordPinning ? ", " + pinned + " pinned parks " + pinnedFrames.keySet() : ""));
+            }
+        }
+
+        private long[] run(HttpClient httpClient, HttpRequest httpRequest, int requests) throws Exception {
+            long[] latencies = new long[requests];
+            Semaphore inFlight = new Semaphore(CLIENTS);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            for (int i = 0; i < requests && failure.get() == null; i++) {
+                inFlight.acquire();
+                int request = i;
+                long sent = System.nanoTime();
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, e) -> {
+                            latencies[request] = System.nanoTime() - sent;
+                            if (e != null || response.statusCode() != 200) {
+                                failure.compareAndSet(null, e != null ? e : new AssertionError("HTTP " + response.statusCode()));
+                            }
+                            inFlight.release();
+                        });
+            }
+            inFlight.acquire(CLIENTS);
+
+            if (failure.get() != null) {
+                throw new AssertionError("Request failed", failure.get());
+            }
+            return latencies;
+        }
+
+        private static String firstApplicationFrame(List<RecordedFrame> frames) {
+            return frames.stream()
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                    .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                    .findFirst()
+                    .orElse("jdk");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled = false")
+    class PlatformThreads extends ThreadModelBenchmark {
+
+        @Test
+        void throughputAndLatency() throws Exception {
+            measure("platform threads", false);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled = true")
+    class VirtualThreads extends ThreadModelBenchmark {
+
+        @Test
+        void throughputAndLatency() throws Exception {
+            measure("virtual threads", true);
+        }
+    }
+}
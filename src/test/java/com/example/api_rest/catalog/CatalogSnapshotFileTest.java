@@ -0,0 +1,121 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.Genre;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class CatalogSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void writeAndRead_keepsEveryGameAndTheCursor() {
+        CatalogSnapshotFile file = snapshotFile(directory.resolve("catalog.snapshot"));
+        List<VideoGameView> games = List.of(
+                new VideoGameView(1L, "Ōkami", LocalDate.of(2006, 4, 20), "Clover Studio", Genre.ADVENTURE, 3L),
+                new VideoGameView(2L, "Untitled", null, null, null, 0L));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(games, new CatalogVersion(12L, Instant.ofEpochMilli(1000)), 42L);
+
+        file.write(snapshot);
+        CatalogSnapshot read = file.read().orElseThrow();
+
+        assertThat(read.findAll()).isEqualTo(games);
+        assertThat(read.getCursor()).isEqualTo(42L);
+        assertThat(read.getCatalogVersion().getVersion()).isEqualTo(12L);
+        assertThat(read.getCatalogVersion().getLastModified()).isEqualTo(Instant.ofEpochMilli(1000));
+        assertThat(read.getCapturedAt()).isEqualTo(Instant.ofEpochMilli(snapshot.getCapturedAt().toEpochMilli()));
+        assertThat(read.findMatching(new VideoGameFilter(Genre.ADVENTURE, null, null)))
+                .containsExactly(games.getFirst());
+    }
+
+    @Test
+    void write_replacesThePreviousSnapshot() throws Exception {
+        CatalogSnapshotFile file = snapshotFile(directory.resolve("catalog.snapshot"));
+        CatalogVersion catalogVersion = new CatalogVersion(1L, Instant.EPOCH);
+
+        file.write(CatalogSnapshot.of(List.of(new VideoGameView(1L, "Doom", null, null, null, 0L)), catalogVersion, 1L));
+        file.write(CatalogSnapshot.of(List.of(), catalogVersion, 2L));
+
+        assertThat(file.read().orElseThrow().size()).isZero();
+        // No temporary file is left behind
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void read_missingOrCorruptFile_isEmpty() throws Exception {
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshotFile file = snapshotFile(path);
+        assertThat(file.read()).isEmpty();
+
+        Files.write(path, new byte[]{0x56, 0x47, 0x43, 0x53, 0, 0, 0, 2, 0, 0});
+        assertThat(file.read()).isEmpty();
+
+        Files.writeString(path, "not a snapshot");
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    void read_genresByTheirNameInTheFile_notByTheirCurrentOrder() throws Exception {
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshotFile file = snapshotFile(path);
+        file.write(CatalogSnapshot.of(List.of(new VideoGameView(1L, "Gran Turismo", null, null, Genre.ACTION, 0L)),
+                new CatalogVersion(1L, Instant.EPOCH), 1L));
+
+        // A file written when ACTION and RACING were declared the other way round
+        byte[] bytes = Files.readAllBytes(path);
+        replace(bytes, "ACTION", "ACTI0N");
+        replace(bytes, "RACING", "ACTION");
+        replace(bytes, "ACTI0N", "RACING");
+        Files.write(path, bytes);
+
+        assertThat(file.read().orElseThrow().findAll().getFirst().genre()).isEqualTo(Genre.RACING);
+    }
+
+    @Test
+    void read_genreThatNoLongerExists_isEmpty() throws Exception {
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshotFile file = snapshotFile(path);
+        file.write(CatalogSnapshot.of(List.of(), new CatalogVersion(1L, Instant.EPOCH), 1L));
+
+        Files.write(path, replace(Files.readAllBytes(path), "SANDBOX", "PUZZLES"));
+
+        assertThat(file.read()).isEmpty();
+    }
+
+    // Replaces the first occurrence, of the same length
+    private static byte[] replace(byte[] bytes, String target, String replacement) {
+        byte[] from = target.getBytes(StandardCharsets.UTF_8);
+        byte[] to = replacement.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + from.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + from.length, from, 0, from.length)) {
+                System.arraycopy(to, 0, bytes, i, to.length);
+                return bytes;
+            }
+        }
+        throw new AssertionError(target + " not found");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CatalogSnapshotFile snapshotFile(Path path) {
+        return new CatalogSnapshotFile(path.toString(), mock(CatalogLoader.class), mock(ObjectProvider.class));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogSnapshotTest {
+
+    private static final CatalogVersion VERSION = new CatalogVersion(4L, Instant.EPOCH);
+
+    private static final VideoGameView DARK_SOULS =
+            game(3L, "Dark Souls", LocalDate.of(2011, 9, 22), "FromSoftware", Genre.RPG);
+    private static final VideoGameView ELDEN_RING =
+            game(1L, "Elden Ring", LocalDate.of(2022, 2, 25), "FromSoftware", Genre.RPG);
+    private static final VideoGameView STARCRAFT =
+            game(2L, "StarCraft", LocalDate.of(1998, 3, 31), "Blizzard Entertainment", Genre.STRATEGY);
+    private static final VideoGameView UNRELEASED =
+            game(4L, "Unreleased", null, null, null);
+
+    private final CatalogSnapshot snapshot =
+            CatalogSnapshot.of(List.of(DARK_SOULS, ELDEN_RING, STARCRAFT, UNRELEASED), VERSION, 10L);
+
+    @Test
+    void findAll_isInIdOrder() {
+        assertThat(snapshot.findAll()).containsExactly(ELDEN_RING, STARCRAFT, DARK_SOULS, UNRELEASED);
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.getCursor()).isEqualTo(10L);
+        assertThat(snapshot.getCatalogVersion().getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void findById_findsEveryIdAndNothingElse() {
+        List<VideoGameView> games = LongStream.rangeClosed(0, 5000)
+                .map(i -> i * 1_048_576L)
+                .mapToObj(id -> game(id, "Game " + id, null, null, null))
+                .toList();
+        CatalogSnapshot large = CatalogSnapshot.of(games, VERSION, 0L);
+
+        games.forEach(game -> assertThat(large.findById(game.id())).isSameAs(game));
+        assertThat(large.findById(1L)).isNull();
+        assertThat(large.findById(-1_048_576L)).isNull();
+    }
+
+    @Test
+    void findMatching_combinesTheCriteria() {
+        assertThat(snapshot.findMatching(new VideoGameFilter(Genre.RPG, null, null)))
+                .containsExactly(ELDEN_RING, DARK_SOULS);
+        assertThat(snapshot.findMatching(new VideoGameFilter(null, "FromSoftware", LocalDate.of(2022, 2, 25))))
+                .containsExactly(DARK_SOULS);
+        assertThat(snapshot.findMatching(new VideoGameFilter(null, null, LocalDate.of(2011, 9, 23))))
+                .containsExactly(STARCRAFT, DARK_SOULS);
+        assertThat(snapshot.findMatching(new VideoGameFilter(Genre.STRATEGY, "FromSoftware", null)))
+                .isEmpty();
+        assertThat(snapshot.findMatching(new VideoGameFilter(Genre.ACTION, null, null)))
+                .isEmpty();
+    }
+
+    @Test
+    void apply_insertUpdateDelete_returnsANewSnapshot() {
+        VideoGameView updated = game(3L, "Dark Souls Remastered", LocalDate.of(2018, 5, 24), "QLOC", Genre.RPG);
+        VideoGameView inserted = game(7L, "Hades", LocalDate.of(2020, 9, 17), "Supergiant Games", Genre.ACTION);
+        CatalogVersion newVersion = new CatalogVersion(7L, Instant.EPOCH.plusSeconds(60));
+
+        CatalogSnapshot next = snapshot.apply(List.of(
+                change(11L, ChangeType.UPDATE, updated),
+                change(12L, ChangeType.INSERT, inserted),
+                new VideoGameChangeDTO(13L, ChangeType.DELETE, 2L, Instant.EPOCH, null)), newVersion);
+
+        assertThat(next.findAll()).containsExactly(ELDEN_RING, updated, UNRELEASED, inserted);
+        assertThat(next.findById(2L)).isNull();
+        assertThat(next.findMatching(new VideoGameFilter(null, "FromSoftware", null))).containsExactly(ELDEN_RING);
+        assertThat(next.getCursor()).isEqualTo(13L);
+        assertThat(next.getCatalogVersion().getVersion()).isEqualTo(7L);
+        // Readers of the previous snapshot are not affected
+        assertThat(snapshot.findById(3L)).isSameAs(DARK_SOULS);
+        assertThat(snapshot.findById(7L)).isNull();
+    }
+
+    @Test
+    void apply_movesChangedGamesBetweenIndexBuckets() {
+        VideoGameView moved = game(2L, "StarCraft Remastered", LocalDate.of(2017, 8, 14), "FromSoftware", Genre.RPG);
+
+        CatalogSnapshot next = snapshot.apply(List.of(change(11L, ChangeType.UPDATE, moved)), VERSION);
+
+        assertThat(next.findMatching(new VideoGameFilter(Genre.RPG, null, null)))
+                .containsExactly(ELDEN_RING, moved, DARK_SOULS);
+        assertThat(next.findMatching(new VideoGameFilter(Genre.STRATEGY, null, null))).isEmpty();
+        assertThat(next.findMatching(new VideoGameFilter(null, "Blizzard Entertainment", null))).isEmpty();
+        assertThat(next.findMatching(new VideoGameFilter(null, null, LocalDate.of(2012, 1, 1))))
+                .containsExactly(DARK_SOULS);
+        assertThat(next.findAll()).containsExactly(ELDEN_RING, moved, DARK_SOULS, UNRELEASED);
+    }
+
+    @Test
+    void apply_manyChanges_keepsTheIdIndexConsistent() {
+        List<VideoGameView> games = LongStream.rangeClosed(0, 2000)
+                .map(i -> i * 1_048_576L)
+                .mapToObj(id -> game(id, "Game " + id, null, null, null))
+                .toList();
+        CatalogSnapshot large = CatalogSnapshot.of(games, VERSION, 0L);
+
+        // Every other game is deleted and as many new ones are inserted, the id map grows past its capacity
+        List<VideoGameChangeDTO> changes = new ArrayList<>();
+        long cursor = 1;
+        for (int i = 0; i < games.size(); i += 2) {
+            changes.add(new VideoGameChangeDTO(cursor++, ChangeType.DELETE, games.get(i).id(), Instant.EPOCH, null));
+        }
+        List<VideoGameView> inserted = LongStream.rangeClosed(1, 3000)
+                .mapToObj(id -> game(id, "New " + id, null, null, null))
+                .toList();
+        for (VideoGameView videoGame : inserted) {
+            changes.add(change(cursor++, ChangeType.INSERT, videoGame));
+        }
+
+        CatalogSnapshot next = large.apply(changes, VERSION);
+
+        for (int i = 0; i < games.size(); i++) {
+            assertThat(next.findById(games.get(i).id())).isEqualTo(i % 2 == 0 ? null : games.get(i));
+        }
+        inserted.forEach(videoGame -> assertThat(next.findById(videoGame.id())).isEqualTo(videoGame));
+        assertThat(next.size()).isEqualTo(1000 + 3000);
+        assertThat(next.findAll()).isSortedAccordingTo(Comparator.comparing(VideoGameView::id));
+        assertThat(large.findById(0L)).isSameAs(games.getFirst());
+    }
+
+    @Test
+    void apply_clear_keepsOnlyLaterGames() {
+        VideoGameView inserted = game(8L, "Celeste", LocalDate.of(2018, 1, 25), "Maddy Makes Games", Genre.ACTION);
+
+        CatalogSnapshot next = snapshot.apply(List.of(
+                new VideoGameChangeDTO(11L, ChangeType.CLEAR, null, Instant.EPOCH, null),
+                change(12L, ChangeType.INSERT, inserted)), VERSION);
+
+        assertThat(next.findAll()).containsExactly(inserted);
+        assertThat(next.findMatching(new VideoGameFilter(Genre.RPG, null, null))).isEmpty();
+    }
+
+    private static VideoGameView game(long id, String name, LocalDate releaseDate, String developedBy, Genre genre) {
+        return new VideoGameView(id, name, releaseDate, developedBy, genre, 0L);
+    }
+
+    private static VideoGameChangeDTO change(long cursor, ChangeType type, VideoGameView view) {
+        VideoGame videoGame = new VideoGame(view.name(), view.releaseDate(), view.developedBy(), view.genre());
+        videoGame.setId(view.id());
+        videoGame.setVersion(view.version());
+        return new VideoGameChangeDTO(cursor, type, view.id(), Instant.EPOCH, videoGame);
+    }
+}
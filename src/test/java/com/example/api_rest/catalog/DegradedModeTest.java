@@ -0,0 +1,94 @@
+package com.example.api_rest.catalog;
+
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.net.ConnectException;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DegradedModeTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ObjectProvider<InMemoryCatalog> inMemoryCatalog;
+
+    @Mock
+    private ObjectProvider<CatalogSnapshotFile> snapshotFile;
+
+    @Mock
+    private ObjectProvider<DatabaseCircuitBreaker> circuitBreakerProvider;
+
+    private final DatabaseCircuitBreaker circuitBreaker = new DatabaseCircuitBreaker(10, 5, 50, Duration.ofSeconds(2),
+            100, Duration.ofMinutes(1), 2, Clock.systemUTC());
+
+    private DegradedMode degradedMode;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(circuitBreakerProvider.getIfAvailable()).thenReturn(circuitBreaker);
+        doAnswer(invocation -> {
+            invocation.<Consumer<DatabaseCircuitBreaker>>getArgument(0).accept(circuitBreaker);
+            return null;
+        }).when(circuitBreakerProvider).ifAvailable(any());
+
+        degradedMode = new DegradedMode(dataSource, inMemoryCatalog, snapshotFile, new LastGoodCatalog(),
+                circuitBreakerProvider);
+        degradedMode.listenToCircuitBreaker();
+    }
+
+    @AfterEach
+    void tearDown() {
+        degradedMode.shutdown();
+    }
+
+    @Test
+    void checkDatabaseTest_poolTimeoutWithoutConnectionFailure_staysOff() throws Exception {
+        when(dataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"));
+
+        degradedMode.checkDatabase();
+
+        assertThat(degradedMode.isActive()).isFalse();
+    }
+
+    @Test
+    void checkDatabaseTest_connectionRefused_switchesItOn_untilTheDatabaseAnswers() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(dataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out",
+                        new ConnectException("Connection refused")))
+                .thenReturn(connection);
+
+        degradedMode.checkDatabase();
+        assertThat(degradedMode.isActive()).isTrue();
+
+        degradedMode.checkDatabase();
+        assertThat(degradedMode.isActive()).isFalse();
+    }
+
+    @Test
+    void circuitBreakerForcedOpen_switchesItOn_withoutCheckingTheDatabase() {
+        circuitBreaker.force(DatabaseCircuitBreaker.State.FORCED_OPEN);
+
+        assertThat(degradedMode.isActive()).isTrue();
+        verifyNoInteractions(dataSource);
+    }
+}
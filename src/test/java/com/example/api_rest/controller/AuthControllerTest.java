@@ -1,11 +1,16 @@
 package com.example.api_rest.controller;
 
+import com.example.api_rest.catalog.DegradedMode;
 import com.example.api_rest.config.ApiConfig;
 import com.example.api_rest.config.SecurityConfig;
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.BatchResultDTO;
 import com.example.api_rest.dto.DeleteUserDTO;
 import com.example.api_rest.dto.EditUserDTO;
 import com.example.api_rest.dto.LoginUserDTO;
 import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserPageDTO;
+import com.example.api_rest.dto.UserView;
 import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.User;
 import com.example.api_rest.exception.UserNotFoundException;
@@ -14,6 +19,7 @@ import com.example.api_rest.exception.handler.CustomSecurityExceptionHandler;
 import com.example.api_rest.exception.utils.ErrorResponseFactory;
 import com.example.api_rest.filter.JwtAuthenticationFilter;
 import com.example.api_rest.service.AuthService;
+import com.example.api_rest.service.UserBatchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +35,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -50,6 +57,13 @@ public class AuthControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private UserBatchService batchService;
+
+    // StaleCatalogResponseAdvice dependency
+    @MockitoBean
+    private DegradedMode degradedMode;
+
     // ============= SecurityConfig dependencies ===========
 
     @MockitoBean
@@ -108,6 +122,66 @@ public class AuthControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void bulkRegisterTest_asAdmin_returnsItemResults() throws Exception {
+        List<RegisterUserDTO> dtos = List.of(new RegisterUserDTO("ana", "1234", null),
+                new RegisterUserDTO("bob", "1234", null));
+        when(batchService.registerAll(dtos)).thenReturn(BatchResultDTO.of(List.of(
+                BatchItemResultDTO.created(0, 5L),
+                BatchItemResultDTO.invalid(1, List.of("username: is already in use")))));
+
+        mockMvc.perform(post(BASE_PATH + "/bulk-register")
+                        .cookie(jwtCookie("admin-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(5))
+                .andExpect(jsonPath("$.items[1].status").value("INVALID"));
+    }
+
+    @Test
+    void bulkRegisterTest_asUser_returns403() throws Exception {
+        mockMvc.perform(post(BASE_PATH + "/bulk-register")
+                        .cookie(jwtCookie("user-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void searchTest_asAdmin_returnsPage() throws Exception {
+        when(authService.search("an", Role.ADMIN, 4L, 10)).thenReturn(new UserPageDTO(
+                List.of(new UserView(5L, "Ana", "ana@example.com", Role.ADMIN, LocalDateTime.now())), 5L, false));
+
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("q", "an")
+                        .param("role", "ADMIN")
+                        .param("after", "4")
+                        .param("limit", "10")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("Ana"))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(5))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void searchTest_invalidRole_returns400() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("role", "ROOT")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchTest_asUser_returns403() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void registerTest_asAnonymous_returns401() throws Exception{
         mockMvc.perform(post(BASE_PATH + "/register"))
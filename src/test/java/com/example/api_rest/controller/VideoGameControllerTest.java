@@ -1,16 +1,35 @@
 package com.example.api_rest.controller;
 
+import com.example.api_rest.catalog.DegradedMode;
 import com.example.api_rest.config.ApiConfig;
 import com.example.api_rest.config.SecurityConfig;
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.BulkUpdateResultDTO;
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.JobDTO;
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
 import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameFields;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.ChangeType;
 import com.example.api_rest.entity.Genre;
 import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.exception.PreconditionFailedException;
 import com.example.api_rest.exception.VideoGameNotFoundException;
 import com.example.api_rest.exception.handler.CustomSecurityExceptionHandler;
 import com.example.api_rest.exception.utils.ErrorResponseFactory;
 import com.example.api_rest.filter.JwtAuthenticationFilter;
 import com.example.api_rest.service.AuthService;
+import com.example.api_rest.service.ChangeFeedService;
+import com.example.api_rest.service.JobService;
+import com.example.api_rest.service.VideoGameImportService;
+import com.example.api_rest.service.VideoGameBatchService;
 import com.example.api_rest.service.impl.VideoGameServiceImpl;
+import com.example.api_rest.stream.CatalogChangeBroadcaster;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,18 +38,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockCookie;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +76,25 @@ public class VideoGameControllerTest {
     @MockitoBean
     VideoGameServiceImpl videoGameService;
 
+    @MockitoBean
+    VideoGameBatchService batchService;
+
+    @MockitoBean
+    ChangeFeedService changeFeedService;
+
+    @MockitoBean
+    CatalogChangeBroadcaster broadcaster;
+
+    @MockitoBean
+    JobService jobService;
+
+    @MockitoBean
+    VideoGameImportService importService;
+
+    // StaleCatalogResponseAdvice dependency
+    @MockitoBean
+    private DegradedMode degradedMode;
+
     @MockitoBean
     private AuthService authService;
 
@@ -72,6 +119,7 @@ public class VideoGameControllerTest {
         when(authService.getUserFromToken(anyString())).thenReturn("mockUser");
         when(authService.getAuthoritiesFromToken("user-token")).thenReturn(List.of(new SimpleGrantedAuthority("ROLE_USER")));
         when(authService.getAuthoritiesFromToken("admin-token")).thenReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        when(videoGameService.getCatalogVersion()).thenReturn(new CatalogVersion(7L, Instant.parse("2024-01-01T10:00:00Z")));
     }
 
     @Test
@@ -83,7 +131,7 @@ public class VideoGameControllerTest {
         );
 
         when(videoGameService.findAll())
-                .thenReturn(expectedList);
+                .thenReturn(expectedList.stream().map(VideoGameView::from).toList());
 
         mockMvc.perform(get(BASE_PATH)
                         .cookie(jwtCookie("user-token"))
@@ -95,6 +143,163 @@ public class VideoGameControllerTest {
                 .andExpect(jsonPath("$[2].developedBy").value(expectedList.get(2).getDevelopedBy()));
     }
 
+    @Test
+    void findAllTest_asUser_withFields_returnsOnlyThoseProperties() throws Exception {
+        VideoGameFields fields = new VideoGameFields(List.of("id", "name"));
+        when(videoGameService.findAll(fields))
+                .thenReturn(List.of(Map.of("id", 1L, "name", "Elden Ring")));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("fields", "id,name")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-7;id.name\""))
+                .andExpect(jsonPath("$[0].name").value("Elden Ring"))
+                .andExpect(jsonPath("$[0].genre").doesNotExist());
+        verify(videoGameService, never()).findAll();
+    }
+
+    @Test
+    void findAllTest_asUser_unknownField_returns400() throws Exception {
+        mockMvc.perform(get(BASE_PATH)
+                        .param("fields", "id,password")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isBadRequest());
+        verify(videoGameService, never()).findAll(any(VideoGameFields.class));
+    }
+
+    @Test
+    void findAllTest_asUser_withFilter_returnsMatchingGames() throws Exception {
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, "FromSoftware", LocalDate.of(2020, 1, 1));
+        when(videoGameService.findMatching(filter))
+                .thenReturn(List.of(VideoGameView.from(
+                        new VideoGame("Dark Souls", LocalDate.of(2011, 9, 22), "FromSoftware", Genre.RPG))));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("genre", "RPG")
+                        .param("developedBy", "FromSoftware")
+                        .param("releasedBefore", "2020-01-01")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Dark Souls"));
+        verify(videoGameService, never()).findAll();
+    }
+
+    @Test
+    void findAllTest_asUser_withFilterAndFields_returnsMatchingFieldset() throws Exception {
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, null, null);
+        VideoGameFields fields = new VideoGameFields(List.of("id", "name"));
+        when(videoGameService.findMatching(filter, fields))
+                .thenReturn(List.of(Map.of("id", 3L, "name", "Dark Souls")));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("genre", "RPG")
+                        .param("fields", "id,name")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-7;id.name\""))
+                .andExpect(jsonPath("$[0].name").value("Dark Souls"))
+                .andExpect(jsonPath("$[0].genre").doesNotExist());
+        verify(videoGameService, never()).findMatching(any(VideoGameFilter.class));
+        verify(videoGameService, never()).findAll(any(VideoGameFields.class));
+    }
+
+    @Test
+    void findByIdTest_asUser_withFields_returnsFieldsetETag() throws Exception {
+        VideoGameFields fields = new VideoGameFields(List.of("name"));
+        when(videoGameService.findVersionById(20L))
+                .thenReturn(Optional.of(3L));
+        when(videoGameService.findById(20L, fields))
+                .thenReturn(Map.of("name", "Dragon Quest"));
+
+        mockMvc.perform(get(BASE_PATH + "/20")
+                        .param("fields", "name")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v3;name\""))
+                .andExpect(jsonPath("$.name").value("Dragon Quest"))
+                .andExpect(jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    void findAllByIdTest_asUser_keepsRequestOrderAndMarksMissing() throws Exception {
+        when(videoGameService.findAllById(List.of(3L, 99L, 1L)))
+                .thenReturn(Map.of(1L, VideoGameView.from(new VideoGame(1L, "Elden Ring")),
+                        3L, VideoGameView.from(new VideoGame(3L, "Minecraft"))));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("ids", "3,99,1")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].status").value("FOUND"))
+                .andExpect(jsonPath("$[0].videoGame.name").value("Minecraft"))
+                .andExpect(jsonPath("$[1].id").value(99))
+                .andExpect(jsonPath("$[1].status").value("MISSING"))
+                .andExpect(jsonPath("$[1].videoGame").isEmpty())
+                .andExpect(jsonPath("$[2].videoGame.name").value("Elden Ring"));
+        verify(videoGameService, never()).findAll();
+    }
+
+    @Test
+    void findAllByIdTest_asUser_tooManyIds_returns400() throws Exception {
+        String ids = String.join(",", IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList());
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("ids", ids)
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(videoGameService);
+    }
+
+    @Test
+    void findAllByIdTest_asUser_invalidId_returns400() throws Exception {
+        mockMvc.perform(get(BASE_PATH)
+                        .param("ids", "1,abc")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(videoGameService);
+    }
+
+    @Test
+    void findAllTest_asUser_returnsCatalogETag() throws Exception {
+        when(videoGameService.findAll())
+                .thenReturn(List.of(VideoGameView.from(new VideoGame("Bioshock"))));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-7\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")));
+    }
+
+    @Test
+    void findAllTest_asUser_matchingETag_returns304WithoutLoading() throws Exception {
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie("user-token"))
+                        .header("If-None-Match", "\"catalog-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"catalog-7\""))
+                .andExpect(content().string(""));
+
+        verify(videoGameService, never()).findAll();
+    }
+
+    @Test
+    void findAllTest_asUser_staleETag_returns200() throws Exception {
+        when(videoGameService.findAll())
+                .thenReturn(List.of(VideoGameView.from(new VideoGame("Bioshock"))));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie("user-token"))
+                        .header("If-None-Match", "\"catalog-6\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     void findAllTest_asAnonymous_returns401() throws Exception {
         mockMvc.perform(get(BASE_PATH))
@@ -106,7 +311,7 @@ public class VideoGameControllerTest {
         VideoGame videoGame = new VideoGame(5L, "Minecraft");
 
         when(videoGameService.findById(videoGame.getId()))
-                .thenReturn(videoGame);
+                .thenReturn(VideoGameView.from(videoGame));
 
         mockMvc.perform(get(BASE_PATH + "/" + videoGame.getId())
                         .cookie(jwtCookie("user-token"))
@@ -116,6 +321,31 @@ public class VideoGameControllerTest {
                 .andExpect(jsonPath("$.name").value(videoGame.getName()));
     }
 
+    @Test
+    void findByIdTest_asUser_noDatabaseConnection_returns503() throws Exception {
+        when(videoGameService.findById(5L))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available, request timed out after 5000ms"));
+
+        mockMvc.perform(get(BASE_PATH + "/5")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("The database is busy, try again later"));
+    }
+
+    @Test
+    void findByIdTest_asUser_matchingETag_returns304WithoutLoading() throws Exception {
+        when(videoGameService.findVersionById(5L))
+                .thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get(BASE_PATH + "/5")
+                        .cookie(jwtCookie("user-token"))
+                        .header("If-None-Match", "\"v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v3\""));
+
+        verify(videoGameService, never()).findById(any(Long.class));
+    }
+
     @Test
     void findByIdTest_asUser_invalidId_returns404() throws Exception {
         when(videoGameService.findById(any(Long.class)))
@@ -133,6 +363,56 @@ public class VideoGameControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void findChangesTest_asUser_returns200() throws Exception {
+        Instant now = Instant.now();
+        ChangeFeedDTO feed = new ChangeFeedDTO(List.of(
+                new VideoGameChangeDTO(11L, ChangeType.INSERT, 3L, now, new VideoGame(3L, "Minecraft")),
+                new VideoGameChangeDTO(12L, ChangeType.DELETE, 4L, now, null)),
+                12L, false);
+        when(changeFeedService.getChanges(10L, 500))
+                .thenReturn(feed);
+
+        mockMvc.perform(get(BASE_PATH + "/changes")
+                        .param("since", "10")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].videoGame.name").value("Minecraft"))
+                .andExpect(jsonPath("$.changes[1].type").value("DELETE"))
+                .andExpect(jsonPath("$.changes[1].videoGame").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(12))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void findChangesTest_asAnonymous_returns401() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/changes"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(changeFeedService);
+    }
+
+    @Test
+    void streamTest_asUser_startsAsyncStream() throws Exception {
+        when(broadcaster.subscribe(25L))
+                .thenReturn(new SseEmitter());
+
+        mockMvc.perform(get(BASE_PATH + "/stream")
+                        .header("Last-Event-ID", "25")
+                        .cookie(jwtCookie("user-token")))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(broadcaster).subscribe(25L);
+    }
+
+    @Test
+    void streamTest_asAnonymous_returns401() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/stream"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(broadcaster);
+    }
+
     @Test
     void registerTest_asAdmin_returns201() throws Exception {
         VideoGameDTO dto = new VideoGameDTO("Age of Empires", LocalDate.now(), "", Genre.STRATEGY);
@@ -174,6 +454,37 @@ public class VideoGameControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void registerAllTest_asAdmin_returnsItemResults() throws Exception {
+        List<VideoGameDTO> dtos = List.of(
+                new VideoGameDTO("Age of Empires", LocalDate.now(), "Ensemble Studios", Genre.STRATEGY),
+                new VideoGameDTO(null, null, null, null));
+        when(batchService.registerAll(dtos))
+                .thenReturn(BatchResultDTO.of(List.of(
+                        BatchItemResultDTO.created(0, 61L),
+                        BatchItemResultDTO.invalid(1, List.of("name: must not be blank")))));
+
+        mockMvc.perform(post(BASE_PATH + "/batch")
+                        .cookie(jwtCookie("admin-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(61))
+                .andExpect(jsonPath("$.items[1].status").value("INVALID"));
+    }
+
+    @Test
+    void registerAllTest_asUser_returns403() throws Exception {
+        mockMvc.perform(post(BASE_PATH + "/batch")
+                        .cookie(jwtCookie("user-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(batchService);
+    }
+
     @Test
     void updateTest_asAdmin_validData_returns2xx() throws Exception {
         VideoGameDTO dto = new VideoGameDTO(
@@ -231,6 +542,114 @@ public class VideoGameControllerTest {
         verifyNoInteractions(videoGameService);
     }
 
+    @Test
+    void updateMatchingTest_asAdmin_returnsResult() throws Exception {
+        VideoGameFilter filter = new VideoGameFilter(null, "Enix", null);
+        VideoGameBulkUpdateDTO changes = new VideoGameBulkUpdateDTO("Square Enix", null, null);
+        when(videoGameService.updateMatching(filter, changes, 50, true))
+                .thenReturn(new BulkUpdateResultDTO(7, 0, true));
+
+        mockMvc.perform(patch(BASE_PATH)
+                        .param("developedBy", "Enix")
+                        .param("limit", "50")
+                        .param("dryRun", "true")
+                        .cookie(jwtCookie("admin-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(7))
+                .andExpect(jsonPath("$.dryRun").value(true));
+    }
+
+    @Test
+    void updateMatchingTest_asAdmin_invalidData_returns400() throws Exception {
+        VideoGameBulkUpdateDTO changes = new VideoGameBulkUpdateDTO(null, null, LocalDate.now().plusYears(1));
+
+        mockMvc.perform(patch(BASE_PATH)
+                        .param("developedBy", "Enix")
+                        .cookie(jwtCookie("admin-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(videoGameService);
+    }
+
+    @Test
+    void updateMatchingTest_asUser_returns403() throws Exception {
+        mockMvc.perform(patch(BASE_PATH)
+                        .param("developedBy", "Enix")
+                        .cookie(jwtCookie("user-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"developedBy\":\"Square Enix\"}"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(videoGameService);
+    }
+
+    @Test
+    void patchTest_asAdmin_withIfMatch_returns200WithETag() throws Exception {
+        VideoGame videoGame = new VideoGame(20L, "Dragon Quest");
+        videoGame.setVersion(4L);
+        when(videoGameService.patch(eq(20L), any(), eq(3L)))
+                .thenReturn(videoGame);
+
+        mockMvc.perform(patch(BASE_PATH + "/20")
+                        .cookie(jwtCookie("admin-token"))
+                        .header("If-Match", "\"v3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"Dragon Quest\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v4\""))
+                .andExpect(jsonPath("$.name").value("Dragon Quest"));
+    }
+
+    @Test
+    void patchTest_asAdmin_withoutIfMatch_skipsVersionCheck() throws Exception {
+        VideoGame videoGame = new VideoGame(20L, "Dragon Quest");
+        videoGame.setVersion(4L);
+        when(videoGameService.patch(eq(20L), any(), isNull()))
+                .thenReturn(videoGame);
+
+        mockMvc.perform(patch(BASE_PATH + "/20")
+                        .cookie(jwtCookie("admin-token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Dragon Quest\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void patchTest_asAdmin_weakIfMatch_returns412() throws Exception {
+        mockMvc.perform(patch(BASE_PATH + "/20")
+                        .cookie(jwtCookie("admin-token"))
+                        .header("If-Match", "W/\"v3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"Dragon Quest\"}"))
+                .andExpect(status().isPreconditionFailed());
+        verifyNoInteractions(videoGameService);
+    }
+
+    @Test
+    void patchTest_asAdmin_staleVersion_returns412() throws Exception {
+        when(videoGameService.patch(eq(20L), any(), eq(3L)))
+                .thenThrow(new PreconditionFailedException("The video game with id 20 is at version 4, not 3"));
+
+        mockMvc.perform(patch(BASE_PATH + "/20")
+                        .cookie(jwtCookie("admin-token"))
+                        .header("If-Match", "\"v3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"Dragon Quest\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchTest_asUser_returns403() throws Exception {
+        mockMvc.perform(patch(BASE_PATH + "/20")
+                        .cookie(jwtCookie("user-token"))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"Dragon Quest\"}"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(videoGameService);
+    }
+
     @Test
     void deleteTest_asAdmin_validData_returns204() throws Exception {
         mockMvc.perform(delete(BASE_PATH + "/20")
@@ -270,6 +689,92 @@ public class VideoGameControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void deleteAllTest_largeCatalog_returns202WithJob() throws Exception {
+        JobDTO job = JobDTO.running("job-1", "DELETE_ALL_VIDEO_GAMES", Instant.now());
+        when(videoGameService.count()).thenReturn(1_000_000L);
+        when(jobService.submit(eq("DELETE_ALL_VIDEO_GAMES"), any())).thenReturn(job);
+
+        mockMvc.perform(delete(BASE_PATH)
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString(ApiConfig.API_BASE_PATH + "/jobs/job-1")))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+        verify(videoGameService, never()).deleteAll();
+    }
+
+    @Test
+    void deleteAllTest_asyncRequested_returns202() throws Exception {
+        JobDTO job = JobDTO.running("job-2", "DELETE_ALL_VIDEO_GAMES", Instant.now());
+        when(jobService.submit(eq("DELETE_ALL_VIDEO_GAMES"), any())).thenReturn(job);
+
+        mockMvc.perform(delete(BASE_PATH)
+                        .param("async", "true")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void importTest_asAdmin_returns202WithJob() throws Exception {
+        JobDTO job = JobDTO.running("job-3", "IMPORT_VIDEO_GAMES", Instant.now());
+        when(importService.importFile(any())).thenReturn(job);
+
+        mockMvc.perform(multipart(BASE_PATH + "/import")
+                        .file(new MockMultipartFile("file", "catalog.csv", "text/csv", "name\nHades\n".getBytes()))
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString(ApiConfig.API_BASE_PATH + "/jobs/job-3")))
+                .andExpect(jsonPath("$.type").value("IMPORT_VIDEO_GAMES"));
+    }
+
+    @Test
+    void importTest_withoutFile_returns400() throws Exception {
+        mockMvc.perform(multipart(BASE_PATH + "/import")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isBadRequest());
+        verify(importService, never()).importFile(any());
+    }
+
+    @Test
+    void syncTest_dryRun_returns202WithJob() throws Exception {
+        JobDTO job = JobDTO.running("job-4", "SYNC_VIDEO_GAMES", Instant.now());
+        when(importService.syncFile(any(), eq(true))).thenReturn(job);
+
+        mockMvc.perform(multipart(BASE_PATH + "/sync")
+                        .file(new MockMultipartFile("file", "feed.csv", "text/csv", "name\nHades\n".getBytes()))
+                        .param("dryRun", "true")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString(ApiConfig.API_BASE_PATH + "/jobs/job-4")))
+                .andExpect(jsonPath("$.type").value("SYNC_VIDEO_GAMES"));
+    }
+
+    @Test
+    void deleteMatchingTest_asAdmin_returnsCount() throws Exception {
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, "BioWare", LocalDate.of(2000, 1, 1));
+        when(videoGameService.deleteMatching(filter)).thenReturn(2);
+
+        mockMvc.perform(delete(BASE_PATH)
+                        .param("genre", "RPG")
+                        .param("developedBy", "BioWare")
+                        .param("releasedBefore", "2000-01-01")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+        verify(videoGameService, never()).deleteAll();
+        verifyNoInteractions(jobService);
+    }
+
+    @Test
+    void deleteMatchingTest_invalidGenre_returns400() throws Exception {
+        mockMvc.perform(delete(BASE_PATH)
+                        .param("genre", "NOT_A_GENRE")
+                        .cookie(jwtCookie("admin-token")))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(videoGameService);
+    }
+
     @Test
     void deleteAllTest_asUser_returns403() throws Exception {
         mockMvc.perform(delete(BASE_PATH)
@@ -0,0 +1,260 @@
+package com.example.api_rest.datasource;
+
+import com.example.api_rest.deadline.RequestDeadline;
+import com.example.api_rest.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseCircuitBreakerTest {
+
+    private MutableClock clock;
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        // Window of 10 calls, decides from 4, opens at 50%, slow above 1s, open for 10s, 2 probes
+        circuitBreaker = new DatabaseCircuitBreaker(10, 4, 50, Duration.ofSeconds(1), 50,
+                Duration.ofSeconds(10), 2, clock);
+        // The calls are made for a request
+        RequestDeadline.set(Instant.now().plus(Duration.ofMinutes(5)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void callTest_failureRateReached_opensAndFailsFast() {
+        succeed();
+        fail();
+        succeed();
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        fail();
+
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, this::succeed);
+        assertEquals(1, circuitBreaker.getStatus().notPermittedCalls());
+        assertEquals(1L, circuitBreaker.getStatus().transitions().get("CLOSED_TO_OPEN"));
+    }
+
+    @Test
+    void callTest_slowCallRateReached_opens() {
+        succeed();
+        succeed();
+        slow();
+        slow();
+
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void callTest_slowBackgroundCalls_doNotOpen() {
+        RequestDeadline.clear();
+
+        for (int i = 0; i < 10; i++) {
+            slow();
+        }
+
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(10, circuitBreaker.getStatus().bufferedCalls());
+    }
+
+    @Test
+    void callTest_applicationErrors_areSuccessfulCalls() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DataIntegrityViolationException.class, () -> circuitBreaker.call(() -> {
+                throw new DataIntegrityViolationException("duplicate key");
+            }));
+        }
+
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0f, circuitBreaker.getStatus().failureRate());
+    }
+
+    @Test
+    void callTest_oldOutcomesLeaveTheWindow() {
+        fail();
+        for (int i = 0; i < 9; i++) {
+            succeed();
+        }
+        fail();
+        fail();
+        fail();
+        fail();
+
+        // 4 failures out of the last 10 calls
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(40f, circuitBreaker.getStatus().failureRate());
+    }
+
+    @Test
+    void callTest_afterWaitDuration_halfOpenProbesClose() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        succeed();
+        assertEquals(DatabaseCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        succeed();
+
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1L, circuitBreaker.getStatus().transitions().get("HALF_OPEN_TO_CLOSED"));
+    }
+
+    @Test
+    void callTest_halfOpen_failedProbeReopens() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        fail();
+        succeed();
+
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(1L, circuitBreaker.getStatus().transitions().get("HALF_OPEN_TO_OPEN"));
+    }
+
+    @Test
+    void callTest_halfOpen_rejectsCallsBeyondTheProbes() throws Exception {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+        CountDownLatch probing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first probe is still running on another thread
+        Thread probe = new Thread(() -> circuitBreaker.call(() -> {
+            probing.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        probe.start();
+        probing.await(5, TimeUnit.SECONDS);
+
+        succeed();
+        assertThrows(CircuitBreakerOpenException.class, this::succeed);
+
+        release.countDown();
+        probe.join();
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void forceTest_forcedStatesIgnoreOutcomes() {
+        circuitBreaker.force(DatabaseCircuitBreaker.State.FORCED_OPEN);
+        assertThrows(CircuitBreakerOpenException.class, this::succeed);
+        clock.advance(Duration.ofMinutes(1));
+        assertThrows(CircuitBreakerOpenException.class, this::succeed);
+
+        circuitBreaker.force(DatabaseCircuitBreaker.State.FORCED_CLOSED);
+        for (int i = 0; i < 10; i++) {
+            fail();
+        }
+        assertEquals(DatabaseCircuitBreaker.State.FORCED_CLOSED, circuitBreaker.getState());
+
+        assertThrows(IllegalArgumentException.class, () -> circuitBreaker.force(DatabaseCircuitBreaker.State.HALF_OPEN));
+    }
+
+    @Test
+    void callTest_concurrentCalls_keepTheWindowConsistent() throws Exception {
+        // Failures stay below the threshold: 1 in 4 calls
+        DatabaseCircuitBreaker wide = new DatabaseCircuitBreaker(100, 100, 50, Duration.ofSeconds(1), 50,
+                Duration.ofSeconds(10), 2, clock);
+        int threads = 8;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    try {
+                        int call = i;
+                        wide.call(() -> {
+                            if (call % 4 == 0) {
+                                throw new CannotCreateTransactionException("Connection is not available");
+                            }
+                            return "ok";
+                        });
+                    } catch (CannotCreateTransactionException ignored) {
+                        // Counted by the circuit breaker
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, wide.getState());
+        assertEquals(100, wide.getStatus().bufferedCalls());
+        assertTrue(wide.getStatus().failureRate() >= 0 && wide.getStatus().failureRate() < 50);
+    }
+
+    @Test
+    void callTest_nestedCall_isPartOfTheOuterOne() {
+        circuitBreaker.call(() -> circuitBreaker.call(() -> "connection"));
+
+        assertEquals(1, circuitBreaker.getStatus().bufferedCalls());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void succeed() {
+        circuitBreaker.call(() -> "ok");
+    }
+
+    private void slow() {
+        circuitBreaker.call(() -> {
+            clock.advance(Duration.ofSeconds(2));
+            return "ok";
+        });
+    }
+
+    private void fail() {
+        assertThrows(CannotCreateTransactionException.class, () -> circuitBreaker.call(() -> {
+            throw new CannotCreateTransactionException("Connection is not available, request timed out");
+        }));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
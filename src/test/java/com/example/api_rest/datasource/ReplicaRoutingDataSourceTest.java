@@ -0,0 +1,114 @@
+package com.example.api_rest.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), 1);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.clearPrimaryRequired();
+    }
+
+    @Test
+    void determineCurrentLookupKeyTest_outsideReadOnlyTransaction_returnsPrimary() {
+        assertEquals("primary", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKeyTest_readOnlyTransaction_roundRobinsReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("replica-0", "replica-1", "replica-0"), List.of(
+                routingDataSource.determineCurrentLookupKey(),
+                routingDataSource.determineCurrentLookupKey(),
+                routingDataSource.determineCurrentLookupKey()));
+    }
+
+    @Test
+    void determineCurrentLookupKeyTest_primaryRequired_returnsPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+
+        assertEquals("primary", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void checkReplicasTest_failingReplica_isSkipped() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenReturn(connection);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertAll(
+                () -> assertFalse(routingDataSource.isHealthy(0)),
+                () -> assertTrue(routingDataSource.isHealthy(1)),
+                () -> assertEquals("replica-1", routingDataSource.determineCurrentLookupKey()),
+                () -> assertEquals("replica-1", routingDataSource.determineCurrentLookupKey())
+        );
+        verify(connection).close();
+    }
+
+    @Test
+    void checkReplicasTest_noHealthyReplica_returnsPrimary() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new IllegalStateException("Pool could not start"));
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("primary", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void checkReplicasTest_recoveredReplica_isUsedAgain() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(firstReplica.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+        when(secondReplica.getConnection()).thenReturn(connection);
+
+        routingDataSource.checkReplicas();
+        assertFalse(routingDataSource.isHealthy(0));
+
+        routingDataSource.checkReplicas();
+        assertTrue(routingDataSource.isHealthy(0));
+    }
+}
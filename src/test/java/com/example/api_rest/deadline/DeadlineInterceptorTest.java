@@ -0,0 +1,101 @@
+package com.example.api_rest.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineInterceptorTest {
+
+    private final StringValueResolver valueResolver = Map.of("${read}", "PT5S", "${write}", "PT30S")::get;
+
+    private DeadlineInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new DeadlineInterceptor(valueResolver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void preHandleTest_noHeader_usesTheDeadlineOfTheMethodOverTheOneOfTheController() throws Exception {
+        preHandle(new MockHttpServletRequest(), "read");
+        assertRemainingAbout(Duration.ofSeconds(5));
+
+        preHandle(new MockHttpServletRequest(), "write");
+        assertRemainingAbout(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void preHandleTest_header_shortensTheDeadlineButNeverExtendsIt() throws Exception {
+        preHandle(withHeader("2000"), "write");
+        assertRemainingAbout(Duration.ofSeconds(2));
+
+        preHandle(withHeader("60000"), "read");
+        assertRemainingAbout(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void preHandleTest_invalidHeader_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> preHandle(withHeader("0"), "read"));
+        assertThrows(IllegalArgumentException.class, () -> preHandle(withHeader("soon"), "read"));
+    }
+
+    @Test
+    void preHandleTest_exemptMethod_hasNoDeadline() throws Exception {
+        preHandle(new MockHttpServletRequest(), "stream");
+        assertTrue(RequestDeadline.remaining().isEmpty());
+    }
+
+    @Test
+    void afterCompletionTest_clearsTheDeadline() throws Exception {
+        preHandle(new MockHttpServletRequest(), "read");
+        interceptor.afterCompletion(new MockHttpServletRequest(), new MockHttpServletResponse(), null, null);
+
+        assertTrue(RequestDeadline.remaining().isEmpty());
+    }
+
+    private void preHandle(MockHttpServletRequest request, String method) throws Exception {
+        HandlerMethod handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(method));
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+    }
+
+    private static MockHttpServletRequest withHeader(String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, timeout);
+        return request;
+    }
+
+    private static void assertRemainingAbout(Duration expected) {
+        Duration remaining = RequestDeadline.remaining().orElseThrow();
+        assertTrue(remaining.compareTo(expected) <= 0 && remaining.compareTo(expected.minusSeconds(1)) > 0,
+                "remaining " + remaining + ", expected about " + expected);
+    }
+
+    @Deadline("${write}")
+    static class Endpoints {
+
+        @Deadline("${read}")
+        public void read() {
+        }
+
+        public void write() {
+        }
+
+        @Deadline(Deadline.NONE)
+        public void stream() {
+        }
+    }
+}
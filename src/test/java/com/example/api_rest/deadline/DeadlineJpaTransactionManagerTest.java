@@ -0,0 +1,52 @@
+package com.example.api_rest.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class DeadlineJpaTransactionManagerTest {
+
+    private final DeadlineJpaTransactionManager transactionManager =
+            new DeadlineJpaTransactionManager(mock(EntityManagerFactory.class));
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void determineTimeoutTest_noDeadline_keepsTheTimeoutOfTheTransaction() {
+        assertEquals(TransactionDefinition.TIMEOUT_DEFAULT, transactionManager.determineTimeout(withTimeout(-1)));
+        assertEquals(7, transactionManager.determineTimeout(withTimeout(7)));
+    }
+
+    @Test
+    void determineTimeoutTest_deadline_capsTheTimeoutRoundingUp() {
+        RequestDeadline.set(Instant.now().plusMillis(2500));
+
+        assertEquals(3, transactionManager.determineTimeout(withTimeout(-1)));
+        assertEquals(3, transactionManager.determineTimeout(withTimeout(10)));
+        assertEquals(1, transactionManager.determineTimeout(withTimeout(1)));
+    }
+
+    @Test
+    void determineTimeoutTest_deadlinePassed_throwsTransactionTimedOutException() {
+        RequestDeadline.set(Instant.now().minusMillis(1));
+
+        assertThrows(TransactionTimedOutException.class, () -> transactionManager.determineTimeout(withTimeout(-1)));
+    }
+
+    private static TransactionDefinition withTimeout(int seconds) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setTimeout(seconds);
+        return definition;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.api_rest.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedIdSourceTest {
+
+    private static final long NOW = TimeOrderedIdSource.EPOCH + 1_000_000;
+    // Last millisecond the 39-bit timestamp can hold
+    private static final long LAST_MILLI = TimeOrderedIdSource.EPOCH
+            + ((1L << 39) - 1) * TimeOrderedIdSource.TICK_MILLIS;
+
+    @Test
+    void next_encodesTimestampNodeAndCounter() {
+        TimeOrderedIdSource ids = new TimeOrderedIdSource(5, () -> NOW);
+
+        long first = ids.next();
+        long second = ids.next();
+
+        assertEquals(100_000, first >>> 14);
+        assertEquals(5, (first >>> 8) & TimeOrderedIdSource.MAX_NODE);
+        assertEquals(0, first & TimeOrderedIdSource.MAX_SEQUENCE);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void next_whenCounterIsExhausted_borrowsNextTick() {
+        TimeOrderedIdSource ids = new TimeOrderedIdSource(0, () -> NOW);
+        Set<Long> generated = new HashSet<>();
+
+        long last = 0;
+        for (int i = 0; i < 3 * (TimeOrderedIdSource.MAX_SEQUENCE + 1); i++) {
+            long id = ids.next();
+            assertTrue(id > last);
+            generated.add(id);
+            last = id;
+        }
+
+        assertEquals(3 * (TimeOrderedIdSource.MAX_SEQUENCE + 1), generated.size());
+    }
+
+    @Test
+    void next_whenClockGoesBackwards_keepsGrowing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdSource ids = new TimeOrderedIdSource(0, clock::get);
+
+        long beforeJump = ids.next();
+        clock.set(NOW - 5_000);
+        long afterJump = ids.next();
+
+        assertTrue(afterJump > beforeJump);
+    }
+
+    @Test
+    void next_staysWithinJavaScriptSafeIntegers() {
+        TimeOrderedIdSource now = new TimeOrderedIdSource(TimeOrderedIdSource.MAX_NODE);
+        TimeOrderedIdSource last = new TimeOrderedIdSource(TimeOrderedIdSource.MAX_NODE, () -> LAST_MILLI);
+
+        assertTrue(now.next() <= TimeOrderedIdSource.MAX_ID);
+        long id = 0;
+        for (int i = 0; i <= TimeOrderedIdSource.MAX_SEQUENCE; i++) {
+            id = last.next();
+        }
+        assertEquals(TimeOrderedIdSource.MAX_ID, id);
+        assertEquals((1L << 53) - 1, TimeOrderedIdSource.MAX_ID);
+    }
+
+    @Test
+    void constructor_whenNodeIsOutOfRange_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdSource(64));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdSource(-1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.api_rest.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void releaseTest_steadyLatencyAtTheLimit_growsTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+        sample(limit, 50, RTT, 10);
+
+        assertTrue(limit.getLimit() > 10, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void releaseTest_risingLatency_shrinksTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100);
+        sample(limit, 200, RTT, 50);
+        int before = limit.getLimit();
+
+        // Requests queue: five times slower
+        sample(limit, 50, 5 * RTT, 100);
+
+        assertTrue(limit.getLimit() < before, limit.getLimit() + " < " + before);
+    }
+
+    @Test
+    void releaseTest_fewRequestsInFlight_keepsTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+
+        sample(limit, 50, RTT, 2);
+        sample(limit, 50, 5 * RTT, 2);
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void releaseTest_dropped_backsOffDownToTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+
+        assertTrue(limit.tryAcquire(1.0));
+        limit.release(RTT, 1, true);
+        assertEquals(18, limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+            limit.release(RTT, 1, true);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void tryAcquireTest_takesUpToTheShareOfTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 4);
+
+        assertTrue(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire(0.5));
+        assertFalse(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire(1.0));
+        assertTrue(limit.tryAcquire(1.0));
+        assertFalse(limit.tryAcquire(1.0));
+        assertEquals(4, limit.getInFlight());
+
+        limit.release(-1, 4, false);
+        assertEquals(3, limit.getInFlight());
+        assertTrue(limit.tryAcquire(1.0));
+    }
+
+    private static void sample(AdaptiveConcurrencyLimit limit, int samples, long rtt, int inFlight) {
+        for (int i = 0; i < samples; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+            limit.release(rtt, inFlight, false);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.api_rest.filter;
+
+import com.example.api_rest.exception.utils.ErrorResponseFactory;
+import com.example.api_rest.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ConcurrencyLimitFilterTest {
+
+    private static final String USER_TOKEN = "user-token";
+    private static final String ADMIN_TOKEN = "admin-token";
+    private static final String FORGED_TOKEN = "forged-token";
+
+    private AdaptiveConcurrencyLimit limit;
+    private TokenService tokenService;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = mock(TokenService.class);
+        when(tokenService.validateToken(USER_TOKEN)).thenReturn(true);
+        when(tokenService.validateToken(ADMIN_TOKEN)).thenReturn(true);
+        when(tokenService.validateToken(FORGED_TOKEN)).thenThrow(new BadJwtException("Invalid signature"));
+        when(tokenService.getAuthoritiesFromToken(USER_TOKEN))
+                .thenReturn(List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(tokenService.getAuthoritiesFromToken(ADMIN_TOKEN))
+                .thenReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        limit = new AdaptiveConcurrencyLimit(10, 10, 10);
+        filter = new ConcurrencyLimitFilter(limit,
+                new ErrorResponseFactory(new ObjectMapper()), tokenService, "auth-token");
+    }
+
+    @Test
+    void priorityOfTest_classifiesByTheRolesOfTheTokenAndTheMethod() {
+        assertEquals(ConcurrencyLimitFilter.Priority.ANONYMOUS, filter.priorityOf(request("POST", null)));
+        assertEquals(ConcurrencyLimitFilter.Priority.USER_READ, filter.priorityOf(request("GET", USER_TOKEN)));
+        assertEquals(ConcurrencyLimitFilter.Priority.ADMIN_READ, filter.priorityOf(request("GET", ADMIN_TOKEN)));
+        assertEquals(ConcurrencyLimitFilter.Priority.ADMIN_WRITE, filter.priorityOf(request("DELETE", ADMIN_TOKEN)));
+    }
+
+    @Test
+    void priorityOfTest_userWrite_isAnonymous() {
+        assertEquals(ConcurrencyLimitFilter.Priority.ANONYMOUS, filter.priorityOf(request("PUT", USER_TOKEN)));
+    }
+
+    @Test
+    void priorityOfTest_invalidToken_isAnonymous() {
+        assertEquals(ConcurrencyLimitFilter.Priority.ANONYMOUS, filter.priorityOf(request("DELETE", FORGED_TOKEN)));
+    }
+
+    @Test
+    void doFilterTest_belowTheAnonymousShare_doesNotReadTheToken() throws Exception {
+        occupy(4);
+
+        assertEquals(200, perform(request("GET", USER_TOKEN)).getStatus());
+        assertEquals(200, perform(request("GET", null)).getStatus());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void doFilterTest_halfTheLimitBusy_shedsAnonymousRequestsOnly() throws Exception {
+        occupy(5);
+
+        MockHttpServletResponse anonymous = perform(request("GET", null));
+        assertEquals(503, anonymous.getStatus());
+        assertEquals("1", anonymous.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(503, perform(request("GET", FORGED_TOKEN)).getStatus());
+
+        assertEquals(200, perform(request("GET", USER_TOKEN)).getStatus());
+        assertEquals(5, limit.getInFlight());
+    }
+
+    @Test
+    void doFilterTest_mostOfTheLimitBusy_shedsUserReadsThenAdminReadsThenAdminWrites() throws Exception {
+        occupy(7);
+        assertEquals(503, perform(request("GET", USER_TOKEN)).getStatus());
+        assertEquals(200, perform(request("GET", ADMIN_TOKEN)).getStatus());
+
+        occupy(1);
+        assertEquals(503, perform(request("GET", ADMIN_TOKEN)).getStatus());
+        assertEquals(200, perform(request("PUT", ADMIN_TOKEN)).getStatus());
+
+        occupy(2);
+        assertEquals(503, perform(request("PUT", ADMIN_TOKEN)).getStatus());
+    }
+
+    @Test
+    void doFilterTest_halfTheLimitBusy_shedsUserWrites() throws Exception {
+        occupy(5);
+
+        assertEquals(503, perform(request("POST", USER_TOKEN)).getStatus());
+        assertEquals(200, perform(request("GET", USER_TOKEN)).getStatus());
+    }
+
+    @Test
+    void doFilterTest_failingRequest_givesItsSlotBack() {
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("GET", USER_TOKEN), new MockHttpServletResponse(), failingChain));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private void occupy(int slots) {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+        }
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/games");
+        if (token != null) {
+            request.setCookies(new Cookie("auth-token", token));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.Genre;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogDiffTest {
+
+    private static final LocalDate RELEASE = LocalDate.of(2017, 2, 24);
+
+    @Test
+    void acceptTest_matchesByNameAndDeveloper() {
+        CatalogDiff diff = new CatalogDiff(List.of(
+                view(1L, "Hollow Knight", "Team Cherry", Genre.PLATFORM),
+                view(2L, "Celeste", "Maddy Makes Games", Genre.PLATFORM)));
+
+        CatalogDiff.Change unchanged = diff.accept(dto("Hollow Knight", "Team Cherry", Genre.PLATFORM));
+        assertEquals(CatalogDiff.Action.UNCHANGED, unchanged.action());
+        CatalogDiff.Change updated = diff.accept(dto("Celeste", "Maddy Makes Games", Genre.ADVENTURE));
+        assertEquals(CatalogDiff.Action.UPDATE, updated.action());
+        assertEquals(2L, updated.current().id());
+        // Same name, another developer: a different game
+        assertEquals(CatalogDiff.Action.INSERT, diff.accept(dto("Celeste", "Someone Else", Genre.PLATFORM)).action());
+        assertEquals(List.of(), diff.remaining());
+    }
+
+    @Test
+    void acceptTest_keyRepeatedInTheFeed_isDuplicate() {
+        CatalogDiff diff = new CatalogDiff(List.of());
+
+        assertEquals(CatalogDiff.Action.INSERT, diff.accept(dto("Hades", "Supergiant Games", Genre.RPG)).action());
+        assertEquals(CatalogDiff.Action.DUPLICATE, diff.accept(dto("Hades", "Supergiant Games", null)).action());
+    }
+
+    @Test
+    void remainingTest_unlistedAndRepeatedRows_inIdOrder() {
+        CatalogDiff diff = new CatalogDiff(List.of(
+                view(7L, "Hades", "Supergiant Games", Genre.RPG),
+                view(3L, "Hades", "Supergiant Games", Genre.RPG),
+                view(5L, "Bastion", "Supergiant Games", Genre.RPG)));
+
+        diff.accept(dto("Hades", "Supergiant Games", Genre.RPG));
+
+        // The lowest id is the one kept for the key
+        assertEquals(List.of(5L, 7L), diff.remaining().stream().map(VideoGameView::id).toList());
+    }
+
+    private static VideoGameView view(Long id, String name, String developedBy, Genre genre) {
+        return new VideoGameView(id, name, RELEASE, developedBy, genre, 0L);
+    }
+
+    private static VideoGameDTO dto(String name, String developedBy, Genre genre) {
+        return new VideoGameDTO(name, RELEASE, developedBy, genre);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvImportReaderTest {
+
+    @Test
+    void nextTest_quotedFields_keepSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvImportReader reader = reader("""
+                genre,name,developedBy,releaseDate\r
+                rpg,"Papers, Please","Lucas ""3909"" Pope",2013-08-08\r
+                ,"Two
+                lines",,
+                """);
+
+        assertEquals(ImportRecord.valid(0, new VideoGameDTO("Papers, Please", LocalDate.of(2013, 8, 8),
+                "Lucas \"3909\" Pope", Genre.RPG)), reader.next());
+        assertEquals(ImportRecord.valid(1, new VideoGameDTO("Two\nlines", null, null, null)), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void nextTest_invalidValues_returnsTheErrorsOfTheRecord() throws IOException {
+        CsvImportReader reader = reader("""
+                name,releaseDate,genre
+                Hades,yesterday,ROGUELIKE
+                Celeste
+
+                Hollow Knight,2017-02-24,PLATFORM""");
+
+        assertEquals(ImportRecord.invalid(0, List.of("releaseDate: must be a date (yyyy-MM-dd)",
+                "genre: unknown genre ROGUELIKE")), reader.next());
+        assertEquals(ImportRecord.invalid(1, List.of("Expected 3 fields, found 1")), reader.next());
+        // Blank lines are skipped, the last record needs no line break
+        assertEquals(2, reader.next().index());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void constructorTest_invalidHeader_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> reader(""));
+        assertThrows(IllegalArgumentException.class, () -> reader("name,publisher\n"));
+        assertThrows(IllegalArgumentException.class, () -> reader("developedBy,genre\n"));
+    }
+
+    @Test
+    void nextTest_unterminatedQuote_throwsIllegalArgumentException() throws IOException {
+        CsvImportReader reader = reader("name\n\"Hades\n");
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    private static CsvImportReader reader(String csv) throws IOException {
+        return new CsvImportReader(new StringReader(csv));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.api_rest.importer;
+
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void nextTest_array_returnsEveryGame() throws IOException {
+        JsonImportReader reader = reader("""
+                [{"name": "Hades", "genre": "RPG", "releaseDate": "2020-09-17"}, {"name": "Celeste"}]""");
+
+        assertEquals(ImportRecord.valid(0, new VideoGameDTO("Hades", LocalDate.of(2020, 9, 17), null, Genre.RPG)),
+                reader.next());
+        assertEquals(ImportRecord.valid(1, new VideoGameDTO("Celeste", null, null, null)), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void nextTest_ndjson_returnsEveryGame() throws IOException {
+        JsonImportReader reader = reader("""
+                {"name": "Hades"}
+                {"name": "Celeste"}
+                """);
+
+        assertEquals("Hades", reader.next().videoGame().name());
+        assertEquals("Celeste", reader.next().videoGame().name());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void nextTest_invalidGames_returnsTheirErrorsAndGoesOn() throws IOException {
+        JsonImportReader reader = reader("""
+                [{"name": "Hades", "genre": "ROGUELIKE"}, 42, {"name": "Celeste"}]""");
+
+        assertFalse(reader.next().errors().isEmpty());
+        assertEquals(ImportRecord.invalid(1, List.of("The video game must be a JSON object")), reader.next());
+        assertEquals("Celeste", reader.next().videoGame().name());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void nextTest_emptyInput_returnsNothing() throws IOException {
+        assertNull(reader("").next());
+        assertNull(reader("[]").next());
+    }
+
+    private JsonImportReader reader(String json) throws IOException {
+        return new JsonImportReader(objectMapper.createParser(json), objectMapper);
+    }
+}
@@ -23,9 +23,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -82,6 +88,133 @@ public class AuthIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void bulkRegisterTest_asAdmin_registersTheNewUsers() throws Exception {
+        repository.save(new User("taken", "1234", "taken@example.com", LocalDateTime.now(), LocalDateTime.now(), Role.USER));
+        List<RegisterUserDTO> dtos = List.of(
+                new RegisterUserDTO("ana", "ana-pass", "ana@example.com"),
+                new RegisterUserDTO("TAKEN", "1234", null),
+                new RegisterUserDTO("bob", "bob-pass", "taken@example.com"),
+                new RegisterUserDTO("ana", "1234", null));
+
+        mockMvc.perform(post(BASE_PATH + "/bulk-register")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].errors[0]").value("username: is already in use"))
+                .andExpect(jsonPath("$.items[2].errors[0]").value("email: is already in use"))
+                .andExpect(jsonPath("$.items[3].errors[0]").value("username: is repeated in the batch"));
+
+        User ana = repository.findByUsername("ana").orElseThrow();
+        assertThat(passwordEncoder.matches("ana-pass", ana.getPassword())).isTrue();
+        assertThat(ana.getRole()).isEqualTo(Role.USER);
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void registerTest_asAdmin_usernameInAnotherCase_returns400() throws Exception {
+        repository.save(new User("newUser", "1234"));
+        RegisterUserDTO dto = new RegisterUserDTO("NEWUSER", "321", null);
+
+        mockMvc.perform(post(BASE_PATH + "/register")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The username is already in use"));
+    }
+
+    @Test
+    void registerTest_asAdmin_withDuplicatedEmail_returns400() throws Exception {
+        repository.save(new User("user", "1234", "Example@gmail.com", LocalDateTime.now(), LocalDateTime.now(), Role.USER));
+        RegisterUserDTO dto = new RegisterUserDTO("newUser", "321", "example@gmail.com");
+
+        mockMvc.perform(post(BASE_PATH + "/register")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The email is already in use"));
+    }
+
+    @Test
+    void registerTest_concurrentSameUsername_onlyOneIsRegistered() throws Exception {
+        RegisterUserDTO dto = new RegisterUserDTO("newUser", "1234", null);
+        String body = objectMapper.writeValueAsString(dto);
+        Cookie cookie = jwtCookie(Role.ADMIN);
+        CyclicBarrier barrier = new CyclicBarrier(4);
+
+        List<Integer> statuses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(executor.submit(() -> {
+                    barrier.await();
+                    return mockMvc.perform(post(BASE_PATH + "/register")
+                                    .cookie(cookie)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            statuses = new ArrayList<>();
+            for (Future<Integer> response : responses) {
+                statuses.add(response.get());
+            }
+        }
+
+        assertThat(statuses).containsExactlyInAnyOrder(201, 400, 400, 400);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchTest_asAdmin_prefixAndRole_inPages() throws Exception {
+        for (String username : List.of("Anna", "andres", "bob", "ANTONIO", "an_x")) {
+            repository.save(new User(username, passwordEncoder.encode("1234"), username.toLowerCase() + "@example.com",
+                    LocalDateTime.now(), LocalDateTime.now(), username.equals("ANTONIO") ? Role.ADMIN : Role.USER));
+        }
+        repository.save(new User("carl", "1234", "Antonia@example.com", LocalDateTime.now(), LocalDateTime.now(), Role.USER));
+
+        String firstPage = mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("q", "AN")
+                        .param("limit", "2")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[*].username").value(contains("Anna", "andres")))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        long cursor = objectMapper.readTree(firstPage).get("nextCursor").asLong();
+
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("q", "AN")
+                        .param("after", String.valueOf(cursor))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.users[*].username").value(contains("ANTONIO", "an_x", "carl")))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // _ is not a wildcard
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("q", "an_")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.users[*].username").value(contains("an_x")));
+
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("role", "ADMIN")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.users[*].username").value(contains("ANTONIO")));
+
+        mockMvc.perform(get(BASE_PATH + "/users")
+                        .param("q", "an")
+                        .param("role", "USER")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.users[*].username").value(contains("Anna", "andres", "an_x", "carl")));
+    }
+
     @Test
     void registerTest_asUser_returns403() throws Exception{
         mockMvc.perform(post(BASE_PATH + "/register")
@@ -0,0 +1,180 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.catalog.CatalogSnapshotFile;
+import com.example.api_rest.catalog.DegradedMode;
+import com.example.api_rest.catalog.StaleCatalogResponseAdvice;
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.datasource.DatabaseCircuitBreaker;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.exception.CircuitBreakerOpenException;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.TokenService;
+import com.example.api_rest.service.VideoGameService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "app.games.snapshot.path = ${java.io.tmpdir}/api-rest-circuit-breaker-test/catalog.snapshot",
+        // Only the tests write the snapshot and check the database
+        "app.games.snapshot.interval = PT1H",
+        "app.games.degraded.health-check-interval = PT1H"
+})
+@AutoConfigureMockMvc
+public class CircuitBreakerIntegrationTest {
+
+    private static final String BASE_PATH = ApiConfig.API_BASE_PATH + "/circuit-breaker";
+    private static final String GAMES_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private VideoGameRepository videoGameRepository;
+
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private CatalogSnapshotFile snapshotFile;
+
+    @Autowired
+    private DegradedMode degradedMode;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${app.games.snapshot.path}")
+    private Path snapshotPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.deleteIfExists(snapshotPath);
+        videoGameService.deleteAll();
+        videoGameService.register(new VideoGameDTO("Hollow Knight", LocalDate.of(2017, 2, 24), "Team Cherry", Genre.PLATFORM));
+    }
+
+    @AfterEach
+    void tearDown() {
+        circuitBreaker.force(DatabaseCircuitBreaker.State.CLOSED);
+        degradedMode.checkDatabase();
+    }
+
+    @Test
+    void forcedOpen_readsFallBackToTheSnapshot_andWritesFailFast() throws Exception {
+        snapshotFile.persist();
+
+        mockMvc.perform(put(BASE_PATH + "/state")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\": \"FORCED_OPEN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("FORCED_OPEN"))
+                .andExpect(jsonPath("$.transitions.CLOSED_TO_FORCED_OPEN").value(1));
+
+        mockMvc.perform(get(GAMES_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(StaleCatalogResponseAdvice.STALE_SINCE_HEADER))
+                .andExpect(jsonPath("$[0].name").value("Hollow Knight"));
+        mockMvc.perform(post(GAMES_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Celeste\", \"developedBy\": \"Maddy Makes Games\"}"))
+                .andExpect(status().isServiceUnavailable());
+
+        // Back to normal operation
+        mockMvc.perform(put(BASE_PATH + "/state")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\": \"CLOSED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("CLOSED"));
+        degradedMode.checkDatabase();
+
+        mockMvc.perform(get(GAMES_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(StaleCatalogResponseAdvice.STALE_SINCE_HEADER));
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notPermittedCalls").isNumber())
+                .andExpect(jsonPath("$.transitions.FORCED_OPEN_TO_CLOSED").value(1));
+    }
+
+    @Test
+    void forcedOpen_withoutSnapshotFile_readsFallBackToTheLastListing() throws Exception {
+        // No snapshot file was written, the listing below is the only copy of the catalog
+        mockMvc.perform(get(GAMES_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk());
+        String eTag = videoGameService.getCatalogVersion().getVersion() + "";
+
+        circuitBreaker.force(DatabaseCircuitBreaker.State.FORCED_OPEN);
+
+        mockMvc.perform(get(GAMES_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(StaleCatalogResponseAdvice.STALE_SINCE_HEADER))
+                .andExpect(header().string("ETag", "\"catalog-" + eTag + "\""))
+                .andExpect(jsonPath("$[0].name").value("Hollow Knight"));
+    }
+
+    @Test
+    void forcedOpen_repositoryCallsFailFast() {
+        circuitBreaker.force(DatabaseCircuitBreaker.State.FORCED_OPEN);
+
+        assertThatThrownBy(() -> videoGameRepository.count()).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void setState_notForcible_returns400() throws Exception {
+        mockMvc.perform(put(BASE_PATH + "/state")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\": \"HALF_OPEN\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void circuitBreaker_asUser_returns403() throws Exception {
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    private Cookie jwtCookie(Role role) {
+        String token = tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return new Cookie("auth-token", token);
+    }
+}
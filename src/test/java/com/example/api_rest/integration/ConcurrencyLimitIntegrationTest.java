@@ -0,0 +1,122 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.filter.AdaptiveConcurrencyLimit;
+import com.example.api_rest.service.TokenService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "app.concurrency-limit.enabled = true",
+        // A fixed limit of 10: anonymous requests up to 5 in flight, reads up to 8
+        "app.concurrency-limit.initial-limit = 10",
+        "app.concurrency-limit.min-limit = 10",
+        "app.concurrency-limit.max-limit = 10"
+})
+@AutoConfigureMockMvc
+public class ConcurrencyLimitIntegrationTest {
+
+    private static final String BASE_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimit limit;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private int occupied;
+
+    @AfterEach
+    void tearDown() {
+        for (; occupied > 0; occupied--) {
+            limit.release(-1, 0, false);
+        }
+    }
+
+    @Test
+    void anonymousRequest_halfTheLimitBusy_isShedBeforeAuthentication() throws Exception {
+        occupy(5);
+
+        // 503 rather than 401: the request never reached JwtAuthenticationFilter
+        mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void read_mostOfTheLimitBusy_isShed() throws Exception {
+        occupy(8);
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void adminRead_userReadsShed_isNotShed() throws Exception {
+        occupy(7);
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void adminWrite_adminReadsShed_isNotShed() throws Exception {
+        occupy(8);
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(delete(BASE_PATH + "/424242")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void forgedToken_halfTheLimitBusy_isShedLikeAnAnonymousRequest() throws Exception {
+        occupy(5);
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(new Cookie("auth-token", "forged")))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    private void occupy(int slots) {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+            occupied++;
+        }
+    }
+
+    private Cookie jwtCookie(Role role) {
+        String token = tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return new Cookie("auth-token", token);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.deadline.DeadlineInterceptor;
+import com.example.api_rest.deadline.RequestDeadline;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.service.TokenService;
+import com.example.api_rest.service.VideoGameService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+public class DeadlineIntegrationTest {
+
+    private static final String GAMES_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void getGames_withTimeoutHeader_returns200() throws Exception {
+        mockMvc.perform(get(GAMES_PATH)
+                        .cookie(jwtCookie(Role.USER))
+                        .header(DeadlineInterceptor.TIMEOUT_HEADER, "3000"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getGames_invalidTimeoutHeader_returns400() throws Exception {
+        mockMvc.perform(get(GAMES_PATH)
+                        .cookie(jwtCookie(Role.USER))
+                        .header(DeadlineInterceptor.TIMEOUT_HEADER, "-5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void serviceCall_deadlinePassed_noTransactionIsBegun() {
+        RequestDeadline.set(Instant.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> videoGameService.findAll()).isInstanceOf(TransactionTimedOutException.class);
+    }
+
+    private Cookie jwtCookie(Role role) {
+        String token = tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return new Cookie("auth-token", token);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.catalog.CatalogSnapshotFile;
+import com.example.api_rest.catalog.DegradedMode;
+import com.example.api_rest.catalog.LastGoodCatalog;
+import com.example.api_rest.catalog.StaleCatalogResponseAdvice;
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.service.TokenService;
+import com.example.api_rest.service.VideoGameService;
+import com.example.api_rest.service.impl.VideoGameServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The database outage is simulated on VideoGameServiceImpl: its reads and writes fail like they do when no connection
+ * can be obtained, while the rest of the application keeps its (healthy) H2 database. The health check failing is
+ * simulated by entering degraded mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "app.games.snapshot.path = ${java.io.tmpdir}/api-rest-degraded-mode-test/catalog.snapshot",
+        // Only the tests write the snapshot and check the database
+        "app.games.snapshot.interval = PT1H",
+        "app.games.degraded.health-check-interval = PT1H"
+})
+@AutoConfigureMockMvc
+public class DegradedModeIntegrationTest {
+
+    private static final String BASE_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @MockitoSpyBean
+    private VideoGameServiceImpl database;
+
+    @MockitoSpyBean
+    private LastGoodCatalog lastGoodCatalog;
+
+    @Autowired
+    private CatalogSnapshotFile snapshotFile;
+
+    @Autowired
+    private DegradedMode degradedMode;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.games.snapshot.path}")
+    private Path snapshotPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.deleteIfExists(snapshotPath);
+        videoGameService.deleteAll();
+        videoGameService.register(new VideoGameDTO("Hollow Knight", LocalDate.of(2017, 2, 24), "Team Cherry", Genre.PLATFORM));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Mockito.reset(database, lastGoodCatalog);
+        degradedMode.checkDatabase();
+    }
+
+    @Test
+    void databaseDown_readsComeFromTheSnapshotFile_andWritesAreRejected() throws Exception {
+        snapshotFile.persist();
+        databaseUnreachable();
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(StaleCatalogResponseAdvice.STALE_SINCE_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Hollow Knight"));
+        assertThat(degradedMode.isActive()).isTrue();
+
+        mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VideoGameDTO("Celeste", LocalDate.of(2018, 1, 25), "Maddy Makes Games", Genre.PLATFORM))))
+                .andExpect(status().isServiceUnavailable());
+
+        // The database is back
+        Mockito.reset(database);
+        degradedMode.checkDatabase();
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(StaleCatalogResponseAdvice.STALE_SINCE_HEADER));
+        mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VideoGameDTO("Celeste", LocalDate.of(2018, 1, 25), "Maddy Makes Games", Genre.PLATFORM))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void databaseDown_withoutSnapshot_returns503() throws Exception {
+        // Neither a snapshot file nor a listing read before the outage
+        doReturn(null).when(lastGoodCatalog).getSnapshot();
+        databaseUnreachable();
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void databaseCallsFailing_return503_withoutSwitchingToDegradedMode() throws Exception {
+        snapshotFile.persist();
+        // e.g. pool timeouts: the health check still reaches the database
+        databaseDown();
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VideoGameDTO("Celeste", LocalDate.of(2018, 1, 25), "Maddy Makes Games", Genre.PLATFORM))))
+                .andExpect(status().isServiceUnavailable());
+
+        degradedMode.checkDatabase();
+        assertThat(degradedMode.isActive()).isFalse();
+    }
+
+    // What the health check does once it can not connect
+    private void databaseUnreachable() {
+        databaseDown();
+        degradedMode.enter("Connection refused");
+    }
+
+    private void databaseDown() {
+        CannotCreateTransactionException noConnection = new CannotCreateTransactionException("Connection refused");
+        doThrow(noConnection).when(database).getCatalogVersion();
+        doThrow(noConnection).when(database).findAll();
+        doThrow(noConnection).when(database).register(any());
+    }
+
+    private Cookie jwtCookie(Role role) {
+        String token = tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return new Cookie("auth-token", token);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.catalog.InMemoryCatalog;
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.service.TokenService;
+import com.example.api_rest.service.VideoGameService;
+import com.example.api_rest.service.impl.SnapshotVideoGameServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "app.games.in-memory.enabled = true",
+        // Only the tests refresh the catalog
+        "app.games.in-memory.refresh-interval = PT1H"
+})
+@AutoConfigureMockMvc
+public class InMemoryCatalogIntegrationTest {
+
+    private static final String BASE_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private InMemoryCatalog catalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        videoGameService.deleteAll();
+    }
+
+    @Test
+    void reads_areServedFromMemory() throws Exception {
+        assertThat(videoGameService).isInstanceOf(SnapshotVideoGameServiceImpl.class);
+        long id = register(new VideoGameDTO("Bioshock", LocalDate.of(2007, 8, 21), "2K Boston", Genre.ACTION));
+
+        // Changed behind the application's back: the catalog in memory does not see it
+        jdbcTemplate.update("UPDATE api_video_game SET name = 'Changed' WHERE id = ?", id);
+
+        mockMvc.perform(get(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v0\""))
+                .andExpect(jsonPath("$.name").value("Bioshock"));
+    }
+
+    @Test
+    void writes_areVisibleAsSoonAsTheyCommit() throws Exception {
+        long id = register(new VideoGameDTO("Doom", LocalDate.of(1993, 12, 10), "id Software", Genre.ACTION));
+        long catalogVersion = videoGameService.getCatalogVersion().getVersion();
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VideoGameDTO("Doom II", LocalDate.of(1994, 9, 30), "id Software", Genre.ACTION))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Doom II"))
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(header().string("ETag", "\"catalog-" + (catalogVersion + 1) + "\""));
+
+        mockMvc.perform(delete(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void findAll_withFilter_usesTheIndexes() throws Exception {
+        register(new VideoGameDTO("Dark Souls", LocalDate.of(2011, 9, 22), "FromSoftware", Genre.RPG));
+        register(new VideoGameDTO("Elden Ring", LocalDate.of(2022, 2, 25), "FromSoftware", Genre.RPG));
+        register(new VideoGameDTO("StarCraft", LocalDate.of(1998, 3, 31), "Blizzard Entertainment", Genre.STRATEGY));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("developedBy", "FromSoftware")
+                        .param("releasedBefore", "2020-01-01")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Dark Souls"));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("fields", "name,genre")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].genre").value("STRATEGY"))
+                .andExpect(jsonPath("$[2].id").doesNotExist());
+    }
+
+    @Test
+    void refresh_appliesTheWritesOfOtherInstances() {
+        // Another instance writes the game and its change log entry, no event reaches this one
+        jdbcTemplate.update("INSERT INTO api_video_game (id, name, genre, version) VALUES (?, ?, ?, 0)",
+                900_000L, "Hades", Genre.ACTION.name());
+        jdbcTemplate.update("INSERT INTO api_video_game_change (video_game_id, type, changed_at, name, genre, version) " +
+                "VALUES (?, 'INSERT', ?, ?, ?, 0)", 900_000L, Timestamp.from(Instant.now()), "Hades", Genre.ACTION.name());
+
+        assertThat(videoGameService.findVersionById(900_000L)).isEmpty();
+
+        catalog.refresh();
+
+        assertThat(videoGameService.findById(900_000L).name()).isEqualTo("Hades");
+        assertThat(videoGameService.count()).isEqualTo(1);
+    }
+
+    private long register(VideoGameDTO dto) throws Exception {
+        String body = mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private Cookie jwtCookie(Role role) {
+        String token = tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return new Cookie("auth-token", token);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.reactive.ReactiveCatalogApplication;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.TokenService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveCatalogApplication started next to the servlet app under test, which creates the schema of the in-memory
+ * database they share.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+public class ReactiveCatalogIntegrationTest {
+
+    private static final String BASE_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    private static ConfigurableApplicationContext reactiveApp;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        if (reactiveApp == null) {
+            reactiveApp = ReactiveCatalogApplication.start();
+        }
+        int port = ((WebServerApplicationContext) reactiveApp).getWebServer().getPort();
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+
+        repository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (reactiveApp != null) {
+            reactiveApp.close();
+            reactiveApp = null;
+        }
+    }
+
+    @Test
+    void server_isNettyOnR2dbc() {
+        assertThat(((WebServerApplicationContext) reactiveApp).getWebServer()).isInstanceOf(NettyWebServer.class);
+        assertThat(reactiveApp.getBeanNamesForType(DataSource.class)).isEmpty();
+    }
+
+    @Test
+    void findAllTest_asUser_ndjson_streamsEveryGameInIdOrder() {
+        List<VideoGame> saved = saveGames(5);
+
+        List<String> lines = client.get().uri(BASE_PATH)
+                .cookie("auth-token", token(Role.USER))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody()
+                .lines().toList();
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines.getFirst())
+                .contains("\"id\":" + saved.getFirst().getId())
+                .contains("\"name\":\"Game 0\"")
+                .contains("\"releaseDate\":\"2000-01-01\"")
+                .contains("\"genre\":\"RPG\"")
+                .contains("\"version\":0");
+        assertThat(lines.getLast()).contains("\"name\":\"Game 4\"");
+    }
+
+    @Test
+    void findAllTest_asAdmin_json_returnsAnArray() {
+        saveGames(3);
+
+        client.get().uri(BASE_PATH)
+                .cookie("auth-token", token(Role.ADMIN))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[2].name").isEqualTo("Game 2");
+    }
+
+    @Test
+    void findByIdTest_asUser_returnsTheGame() {
+        VideoGame videoGame = saveGames(1).getFirst();
+
+        client.get().uri(BASE_PATH + "/" + videoGame.getId())
+                .cookie("auth-token", token(Role.USER))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Game 0")
+                .jsonPath("$.developedBy").isEqualTo("Studio");
+    }
+
+    @Test
+    void findByIdTest_unknownId_returns404() {
+        client.get().uri(BASE_PATH + "/424242")
+                .cookie("auth-token", token(Role.USER))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("It does not exist a video game with id: 424242");
+    }
+
+    @Test
+    void findAllTest_withoutValidToken_returns401() {
+        client.get().uri(BASE_PATH)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid or expired token");
+
+        client.get().uri(BASE_PATH)
+                .cookie("auth-token", token(Role.USER) + "forged")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void writes_areNotServed_returns403() {
+        client.delete().uri(BASE_PATH + "/1")
+                .cookie("auth-token", token(Role.ADMIN))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private List<VideoGame> saveGames(int count) {
+        return repository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> new VideoGame("Game " + i, LocalDate.of(2000, 1, 1), "Studio", Genre.RPG))
+                .toList());
+    }
+
+    private String token(Role role) {
+        return tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.api_rest.integration;
+
+import com.example.api_rest.config.ApiConfig;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.filter.ReadYourWritesFilter;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.TokenService;
+import com.example.api_rest.service.VideoGameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two in-memory H2 databases stand in for the replicas of the primary. They are "replicated" by copying the primary
+ * with SCRIPT before every test, and writes made afterwards only reach the primary, like a lagging replica.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.datasource.url = jdbc:h2:mem:routing-primary",
+        "app.datasource.replicas.urls = " + ReadReplicaIntegrationTest.FIRST_REPLICA + "," + ReadReplicaIntegrationTest.SECOND_REPLICA
+})
+@AutoConfigureMockMvc
+public class ReadReplicaIntegrationTest {
+
+    static final String FIRST_REPLICA = "jdbc:h2:mem:routing-replica-0;DB_CLOSE_DELAY=-1";
+    static final String SECOND_REPLICA = "jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1";
+
+    private static final String BASE_PATH = ApiConfig.API_BASE_PATH + "/games";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoGameService videoGameService;
+
+    @Autowired
+    private VideoGameRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate primary = jdbcTemplate("jdbc:h2:mem:routing-primary");
+    private final JdbcTemplate firstReplica = jdbcTemplate(FIRST_REPLICA);
+    private final JdbcTemplate secondReplica = jdbcTemplate(SECOND_REPLICA);
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        repository.save(new VideoGame("Bioshock"));
+        replicate(firstReplica);
+        replicate(secondReplica);
+    }
+
+    @Test
+    void readOnlyReads_areServedByTheReplicasInRoundRobin() {
+        firstReplica.update("UPDATE api_video_game SET name = 'Bioshock (replica 0)'");
+        secondReplica.update("UPDATE api_video_game SET name = 'Bioshock (replica 1)'");
+
+        Set<String> names = Set.of(
+                videoGameService.findAll().getFirst().name(),
+                videoGameService.findAll().getFirst().name());
+
+        assertThat(names).containsExactlyInAnyOrder("Bioshock (replica 0)", "Bioshock (replica 1)");
+    }
+
+    @Test
+    void writes_goToThePrimaryOnly() {
+        VideoGame saved = videoGameService.register(new VideoGameDTO("Dark Souls", LocalDate.now(), "FromSoftware", Genre.RPG));
+
+        assertThat(countById(primary, saved.getId())).isOne();
+        assertThat(countById(firstReplica, saved.getId())).isZero();
+        assertThat(countById(secondReplica, saved.getId())).isZero();
+        // Not replicated yet
+        List<VideoGameView> fromReplica = videoGameService.findAll();
+        assertThat(fromReplica).extracting(VideoGameView::name).containsExactly("Bioshock");
+    }
+
+    @Test
+    void readYourWrites_clientThatWrote_readsFromThePrimary() throws Exception {
+        VideoGameDTO dto = new VideoGameDTO("Dark Souls", LocalDate.now(), "FromSoftware", Genre.RPG);
+
+        Cookie primaryUntil = mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andExpect(cookie().httpOnly(ReadYourWritesFilter.COOKIE_NAME, true))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN), primaryUntil))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(ReadYourWritesFilter.COOKIE_NAME))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void readYourWrites_expiredCookie_readsFromTheReplicas() throws Exception {
+        repository.save(new VideoGame("Dark Souls"));
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER), expired))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void readYourWrites_forgedCookie_readsFromTheReplicas() throws Exception {
+        VideoGameDTO dto = new VideoGameDTO("Dark Souls", LocalDate.now(), "FromSoftware", Genre.RPG);
+        String signed = mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue();
+        String signature = signed.substring(signed.indexOf('.'));
+
+        Cookie unsigned = new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(Long.MAX_VALUE));
+        Cookie tampered = new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.MAX_VALUE + signature);
+
+        for (Cookie forged : List.of(unsigned, tampered)) {
+            mockMvc.perform(get(BASE_PATH)
+                            .cookie(jwtCookie(Role.USER), forged))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+        }
+    }
+
+    private static void replicate(JdbcTemplate replica) {
+        List<String> script = jdbcTemplate("jdbc:h2:mem:routing-primary")
+                .queryForList("SCRIPT", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    private static long countById(JdbcTemplate jdbcTemplate, Long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM api_video_game WHERE id = ?", Long.class, id);
+    }
+
+    private static JdbcTemplate jdbcTemplate(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    private Cookie jwtCookie(Role role) {
+        String token = tokenService.generateToken(
+                new UsernamePasswordAuthenticationToken(
+                        role.name(),
+                        "1234",
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        return new Cookie("auth-token", token);
+    }
+}
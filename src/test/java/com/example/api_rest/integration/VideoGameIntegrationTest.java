@@ -2,10 +2,16 @@ package com.example.api_rest.integration;
 
 import com.example.api_rest.config.ApiConfig;
 import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.ChangeType;
 import com.example.api_rest.entity.Genre;
 import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.entity.VideoGameChange;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameChangeRepository;
 import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.ChangeFeedService;
 import com.example.api_rest.service.AuthService;
 import com.example.api_rest.service.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,18 +22,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
 @AutoConfigureMockMvc
@@ -39,6 +50,15 @@ public class VideoGameIntegrationTest {
     @Autowired
     private VideoGameRepository repository;
 
+    @Autowired
+    private VideoGameChangeRepository changeRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
     @Autowired
     private TokenService tokenService;
 
@@ -70,6 +90,34 @@ public class VideoGameIntegrationTest {
                 .andExpect(jsonPath("$[2].name").value(videoGameList.get(2).getName()));
     }
 
+    @Test
+    void findAllTest_asUser_conditionalGet_returns304UntilCatalogChanges() throws Exception {
+        repository.save(new VideoGame("Bioshock"));
+
+        String eTag = mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER))
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        VideoGameDTO dto = new VideoGameDTO("Dark Souls", LocalDate.now(), "FromSoftware", Genre.RPG);
+        mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER))
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
     @Test
     void findAllTest_asAnonymous_returns401() throws Exception {
         ResultActions result = mockMvc.perform(get(BASE_PATH)
@@ -92,6 +140,82 @@ public class VideoGameIntegrationTest {
                 .andExpect(jsonPath("$.name").value(videoGame.getName()));
     }
 
+    @Test
+    void findAllTest_asUser_withFilterAndFields_returnsMatchingSparseFieldset() throws Exception {
+        repository.saveAll(List.of(
+                new VideoGame("Diablo", LocalDate.of(1996, 12, 31), "Blizzard Entertainment", Genre.RPG),
+                new VideoGame("Warcraft II", LocalDate.of(1995, 12, 9), "Blizzard Entertainment", Genre.STRATEGY),
+                new VideoGame("Fallout", LocalDate.of(1997, 10, 10), "Interplay", Genre.RPG)));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("genre", "RPG")
+                        .param("releasedBefore", "1997-01-01")
+                        .param("fields", "name")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Diablo"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].genre").doesNotExist());
+    }
+
+    @Test
+    void findAllTest_asUser_withFields_returnsSparseFieldset() throws Exception {
+        VideoGame videoGame = repository.save(new VideoGame("StarCraft", LocalDate.of(1998, 3, 31), "Blizzard Entertainment", Genre.STRATEGY));
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("fields", "name,genre")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("StarCraft"))
+                .andExpect(jsonPath("$[0].genre").value("STRATEGY"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].developedBy").doesNotExist());
+
+        mockMvc.perform(get(BASE_PATH + "/" + videoGame.getId())
+                        .param("fields", "id,releaseDate")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(videoGame.getId()))
+                .andExpect(jsonPath("$.releaseDate").value("1998-03-31"))
+                .andExpect(jsonPath("$.name").doesNotExist());
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("ids", videoGame.getId() + ",0")
+                        .param("fields", "developedBy")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].videoGame.developedBy").value("Blizzard Entertainment"))
+                .andExpect(jsonPath("$[0].videoGame.name").doesNotExist())
+                .andExpect(jsonPath("$[1].status").value("MISSING"));
+    }
+
+    @Test
+    void findAllByIdTest_asUser_returns200() throws Exception {
+        List<VideoGame> videoGames = repository.saveAll(List.of(new VideoGame("Bioshock"), new VideoGame("Dark Souls")));
+        long first = videoGames.get(0).getId();
+        long second = videoGames.get(1).getId();
+
+        mockMvc.perform(get(BASE_PATH)
+                        .param("ids", second + "," + (second + 1000) + "," + first)
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].videoGame.name").value("Dark Souls"))
+                .andExpect(jsonPath("$[1].status").value("MISSING"))
+                .andExpect(jsonPath("$[2].videoGame.name").value("Bioshock"));
+    }
+
+    @Test
+    void findByIdTest_asUser_conditionalGet_returns304() throws Exception {
+        VideoGame videoGame = repository.save(new VideoGame("Minecraft"));
+
+        mockMvc.perform(get(BASE_PATH + "/" + videoGame.getId())
+                        .cookie(jwtCookie(Role.USER))
+                        .header("If-None-Match", "\"v" + videoGame.getVersion() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v" + videoGame.getVersion() + "\""));
+    }
+
     @Test
     void findByIdTest_asUser_invalidId_returns404() throws Exception {
         long id = 99L;
@@ -111,6 +235,109 @@ public class VideoGameIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void findChangesTest_asUser_returnsWritesSinceCursor() throws Exception {
+        long since = latestCursor();
+
+        VideoGameDTO dto = new VideoGameDTO("Doom", LocalDate.of(1993, 12, 10), "id Software", Genre.ACTION);
+        String body = mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new VideoGameDTO("Doom II", dto.releaseDate(), dto.developedBy(), dto.genre()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete(BASE_PATH + "/" + id)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(BASE_PATH + "/changes")
+                        .param("since", String.valueOf(since))
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(3))
+                .andExpect(jsonPath("$.changes[0].type").value("INSERT"))
+                .andExpect(jsonPath("$.changes[1].type").value("UPDATE"))
+                .andExpect(jsonPath("$.changes[1].videoGame.name").value("Doom II"))
+                .andExpect(jsonPath("$.changes[1].videoGame.version").value(1))
+                .andExpect(jsonPath("$.changes[2].type").value("DELETE"))
+                .andExpect(jsonPath("$.changes[2].videoGameId").value(id));
+    }
+
+    @Test
+    void streamTest_asUser_receivesCommittedChanges() throws Exception {
+        MvcResult stream = mockMvc.perform(get(BASE_PATH + "/stream")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        VideoGameDTO dto = new VideoGameDTO("Half-Life", LocalDate.of(1998, 11, 19), "Valve", Genre.ACTION);
+        mockMvc.perform(post(BASE_PATH)
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!stream.getResponse().getContentAsString().contains("Half-Life") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("event:change")
+                .contains("\"type\":\"INSERT\"")
+                .contains("Half-Life");
+    }
+
+    @Test
+    void compactTest_removesSupersededEntries() {
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        VideoGame videoGame = repository.save(new VideoGame("Quake"));
+        VideoGameChange inserted = changeRepository.save(new VideoGameChange(videoGame, ChangeType.INSERT, old));
+        VideoGameChange updated = changeRepository.save(new VideoGameChange(videoGame, ChangeType.UPDATE, old));
+        VideoGameChange deleted = changeRepository.save(new VideoGameChange(videoGame.getId(), ChangeType.DELETE, Instant.now()));
+
+        changeFeedService.compact();
+
+        assertThat(changeRepository.findById(inserted.getId())).isEmpty();
+        assertThat(changeRepository.findById(updated.getId())).isEmpty();
+        assertThat(changeRepository.findById(deleted.getId())).isPresent();
+    }
+
+    @Test
+    void compactTest_oldTombstones_consumersBehindThemGet410() throws Exception {
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        VideoGame videoGame = repository.save(new VideoGame("Quake II"));
+        VideoGameChange inserted = changeRepository.save(new VideoGameChange(videoGame, ChangeType.INSERT, old));
+        VideoGameChange deleted = changeRepository.save(new VideoGameChange(videoGame.getId(), ChangeType.DELETE, old));
+
+        changeFeedService.compact();
+
+        try {
+            mockMvc.perform(get(BASE_PATH + "/changes")
+                            .cookie(jwtCookie(Role.USER))
+                            .param("since", String.valueOf(inserted.getId())))
+                    .andExpect(status().isGone());
+            mockMvc.perform(get(BASE_PATH + "/changes")
+                            .cookie(jwtCookie(Role.USER))
+                            .param("since", String.valueOf(deleted.getId())))
+                    .andExpect(status().isOk());
+        } finally {
+            // The other tests read the log from cursors that may be behind it
+            CatalogVersion catalogVersion = catalogVersionRepository.findById(CatalogVersion.CATALOG_ID).orElseThrow();
+            catalogVersion.setChangesCompactedUpTo(0L);
+            catalogVersionRepository.save(catalogVersion);
+        }
+    }
+
     @Test
     void registerTest_asAdmin_returns201() throws Exception {
         VideoGameDTO dto = new VideoGameDTO("Age of Empires", LocalDate.now(), "", Genre.STRATEGY);
@@ -123,6 +350,41 @@ public class VideoGameIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Age of Empires"));
     }
 
+    @Test
+    void registerAllTest_asAdmin_storesValidItems() throws Exception {
+        long since = latestCursor();
+        List<VideoGameDTO> dtos = List.of(
+                new VideoGameDTO("Doom", LocalDate.of(1993, 12, 10), "id Software", Genre.ACTION),
+                new VideoGameDTO(null, null, null, null),
+                new VideoGameDTO("Quake", LocalDate.of(1996, 6, 22), "id Software", Genre.ACTION));
+
+        mockMvc.perform(post(BASE_PATH + "/batch")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.items[2].status").value("CREATED"));
+
+        assertThat(repository.findAll())
+                .extracting(VideoGame::getName)
+                .containsExactlyInAnyOrder("Doom", "Quake");
+        assertThat(changeFeedService.getChanges(since, 10).changes())
+                .extracting(change -> change.videoGame().getName())
+                .containsExactlyInAnyOrder("Doom", "Quake");
+    }
+
+    @Test
+    void registerAllTest_asAdmin_emptyBatch_returns400() throws Exception {
+        mockMvc.perform(post(BASE_PATH + "/batch")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void registerTest_asAdmin_invalidData_returns400() throws Exception {
         VideoGameDTO dto = new VideoGameDTO(null, null, null, null);
@@ -168,7 +430,117 @@ public class VideoGameIntegrationTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().is2xxSuccessful())
                 .andExpect(jsonPath("$.name").value(dto.name()))
-                .andExpect(jsonPath("$.releaseDate").value(dto.releaseDate().toString()));
+                .andExpect(jsonPath("$.releaseDate").value(dto.releaseDate().toString()))
+                .andExpect(jsonPath("$.version").value(videoGame.getVersion() + 1));
+
+        VideoGame stored = repository.findById(videoGame.getId()).orElseThrow();
+        assertThat(stored.getName()).isEqualTo(dto.name());
+        assertThat(stored.getVersion()).isEqualTo(videoGame.getVersion() + 1);
+    }
+
+    @Test
+    void updateMatchingTest_asAdmin_renamesStudio() throws Exception {
+        List<VideoGame> videoGames = repository.saveAll(List.of(
+                new VideoGame("Dragon Quest", LocalDate.of(1986, 5, 27), "Enix", Genre.RPG),
+                new VideoGame("Star Ocean", LocalDate.of(1996, 7, 19), "Enix", Genre.RPG),
+                new VideoGame("Final Fantasy", LocalDate.of(1987, 12, 18), "Square", Genre.RPG)));
+        long since = latestCursor();
+
+        mockMvc.perform(patch(BASE_PATH)
+                        .param("developedBy", "Enix")
+                        .param("dryRun", "true")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"developedBy\":\"Square Enix\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.updated").value(0));
+        assertThat(changeFeedService.getChanges(since, 10).changes()).isEmpty();
+
+        mockMvc.perform(patch(BASE_PATH)
+                        .param("developedBy", "Enix")
+                        .param("limit", "1")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"developedBy\":\"Square Enix\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch(BASE_PATH)
+                        .param("developedBy", "Enix")
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"developedBy\":\"Square Enix\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertThat(repository.findAll())
+                .extracting(VideoGame::getName, VideoGame::getDevelopedBy, VideoGame::getGenre)
+                .containsExactlyInAnyOrder(
+                        tuple("Dragon Quest", "Square Enix", Genre.RPG),
+                        tuple("Star Ocean", "Square Enix", Genre.RPG),
+                        tuple("Final Fantasy", "Square", Genre.RPG));
+        assertThat(repository.findById(videoGames.getFirst().getId()).orElseThrow().getVersion())
+                .isEqualTo(videoGames.getFirst().getVersion() + 1);
+        assertThat(changeFeedService.getChanges(since, 10).changes())
+                .extracting(change -> change.videoGame().getDevelopedBy())
+                .containsExactly("Square Enix", "Square Enix");
+    }
+
+    @Test
+    void patchTest_asAdmin_conditionalUpdate() throws Exception {
+        VideoGame videoGame = repository.save(new VideoGame("Dragon Quest", LocalDate.of(1986, 5, 27), "Enix", Genre.RPG));
+        String eTag = "\"v" + videoGame.getVersion() + "\"";
+        long since = latestCursor();
+
+        String newETag = mockMvc.perform(patch(BASE_PATH + "/" + videoGame.getId())
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .header("If-Match", eTag)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"developedBy\":\"Square Enix\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.developedBy").value("Square Enix"))
+                .andExpect(jsonPath("$.name").value("Dragon Quest"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(newETag).isNotEqualTo(eTag);
+        assertThat(changeFeedService.getChanges(since, 10).changes()).hasSize(1);
+
+        // The first ETag is stale now
+        mockMvc.perform(patch(BASE_PATH + "/" + videoGame.getId())
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .header("If-Match", eTag)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"developedBy\":\"Chunsoft\"}"))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(repository.findById(videoGame.getId()).orElseThrow().getDevelopedBy()).isEqualTo("Square Enix");
+    }
+
+    @Test
+    void patchTest_asAdmin_unchangedPayload_doesNotWrite() throws Exception {
+        VideoGame videoGame = repository.save(new VideoGame("Dragon Quest", LocalDate.of(1986, 5, 27), "Enix", Genre.RPG));
+        long since = latestCursor();
+
+        mockMvc.perform(patch(BASE_PATH + "/" + videoGame.getId())
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"developedBy\":\"Enix\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v" + videoGame.getVersion() + "\""));
+
+        assertThat(repository.findById(videoGame.getId()).orElseThrow().getVersion()).isEqualTo(videoGame.getVersion());
+        assertThat(changeFeedService.getChanges(since, 10).changes()).isEmpty();
+    }
+
+    @Test
+    void patchTest_asAdmin_invalidResult_returns400() throws Exception {
+        VideoGame videoGame = repository.save(new VideoGame("Dragon Quest", LocalDate.of(1986, 5, 27), "Enix", Genre.RPG));
+
+        mockMvc.perform(patch(BASE_PATH + "/" + videoGame.getId())
+                        .cookie(jwtCookie(Role.ADMIN))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value(startsWith("name:")));
     }
 
     @Test
@@ -239,9 +611,261 @@ public class VideoGameIntegrationTest {
 
     @Test
     void deleteAllTest_asAdmin_returns204() throws Exception {
+        repository.saveAll(List.of(new VideoGame("Bioshock"), new VideoGame("Dark Souls")));
+
         mockMvc.perform(delete(BASE_PATH)
                         .cookie(jwtCookie(Role.ADMIN)))
                 .andExpect(status().isNoContent());
+
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void deleteAllTest_asAdmin_async_completesJob() throws Exception {
+        repository.saveAll(List.of(new VideoGame("Bioshock"), new VideoGame("Dark Souls")));
+
+        String location = mockMvc.perform(delete(BASE_PATH)
+                        .param("async", "true")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        String jobPath = location.substring(location.indexOf(ApiConfig.API_BASE_PATH));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!mockMvc.perform(get(jobPath).cookie(jwtCookie(Role.ADMIN))).andReturn()
+                .getResponse().getContentAsString().contains("COMPLETED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        mockMvc.perform(get(jobPath)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.affectedRows").value(2));
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void importTest_asAdmin_csv_storesValidRowsAndReportsTheOthers() throws Exception {
+        String csv = """
+                name,developedBy,releaseDate,genre
+                Hollow Knight,Team Cherry,2017-02-24,platform
+                "Papers, Please",Lucas Pope,2013-08-08,
+                ,Nobody,2020-01-01,RPG
+                Celeste,"Maddy ""Makes"" Games",not-a-date,PLATFORM
+                """;
+
+        String jobPath = importFile(new MockMultipartFile("file", "catalog.csv", "text/csv", csv.getBytes()));
+
+        mockMvc.perform(get(jobPath)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("IMPORT_VIDEO_GAMES"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.affectedRows").value(2))
+                .andExpect(jsonPath("$.processedRows").value(4))
+                .andExpect(jsonPath("$.rejectedRows").value(2))
+                .andExpect(jsonPath("$.rejected[0].index").value(2))
+                .andExpect(jsonPath("$.rejected[0].errors[0]").value("name: must not be blank"))
+                .andExpect(jsonPath("$.rejected[1].index").value(3));
+        List<VideoGame> imported = repository.findAll();
+        assertThat(imported)
+                .extracting(VideoGame::getName, VideoGame::getDevelopedBy, VideoGame::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple("Hollow Knight", "Team Cherry", 0L),
+                        tuple("Papers, Please", "Lucas Pope", 0L));
+        // Imported games are in the change feed like any other insert
+        List<Long> ids = imported.stream().map(VideoGame::getId).toList();
+        assertThat(changeRepository.findAll())
+                .filteredOn(change -> ids.contains(change.getVideoGameId()))
+                .extracting(VideoGameChange::getType, VideoGameChange::getName)
+                .containsExactlyInAnyOrder(
+                        tuple(ChangeType.INSERT, "Hollow Knight"),
+                        tuple(ChangeType.INSERT, "Papers, Please"));
+    }
+
+    @Test
+    void importTest_asAdmin_json_storesTheGames() throws Exception {
+        String json = """
+                [{"name": "Hades", "developedBy": "Supergiant Games", "genre": "RPG"},
+                 {"name": "Celeste", "developedBy": "Maddy Makes Games", "releaseDate": "2018-01-25"}]
+                """;
+
+        String jobPath = importFile(new MockMultipartFile("file", "catalog.json", "application/json", json.getBytes()));
+
+        mockMvc.perform(get(jobPath)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.affectedRows").value(2))
+                .andExpect(jsonPath("$.rejectedRows").value(0));
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importTest_unsupportedFile_returns400() throws Exception {
+        mockMvc.perform(multipart(BASE_PATH + "/import")
+                        .file(new MockMultipartFile("file", "catalog.xlsx", "application/octet-stream", new byte[]{1}))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importTest_asUser_returns403() throws Exception {
+        mockMvc.perform(multipart(BASE_PATH + "/import")
+                        .file(new MockMultipartFile("file", "catalog.csv", "text/csv", "name\nHades".getBytes()))
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void syncTest_asAdmin_writesOnlyTheDifferences() throws Exception {
+        VideoGame kept = repository.save(new VideoGame("Hollow Knight", LocalDate.of(2017, 2, 24), "Team Cherry", Genre.PLATFORM));
+        VideoGame changed = repository.save(new VideoGame("Celeste", LocalDate.of(2018, 1, 25), "Maddy Makes Games", null));
+        repository.save(new VideoGame("Bioshock", LocalDate.of(2007, 8, 21), "2K", Genre.HORROR));
+        String feed = """
+                name,developedBy,releaseDate,genre
+                Hollow Knight,Team Cherry,2017-02-24,PLATFORM
+                Celeste,Maddy Makes Games,2018-01-25,PLATFORM
+                Hades,Supergiant Games,2020-09-17,RPG
+                """;
+
+        String jobPath = syncFile(feed, false);
+
+        mockMvc.perform(get(jobPath)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.type").value("SYNC_VIDEO_GAMES"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.affectedRows").value(3))
+                .andExpect(jsonPath("$.counts.inserted").value(1))
+                .andExpect(jsonPath("$.counts.updated").value(1))
+                .andExpect(jsonPath("$.counts.deleted").value(1))
+                .andExpect(jsonPath("$.counts.unchanged").value(1));
+        assertThat(repository.findAll())
+                .extracting(VideoGame::getName, VideoGame::getGenre)
+                .containsExactlyInAnyOrder(
+                        tuple("Hollow Knight", Genre.PLATFORM),
+                        tuple("Celeste", Genre.PLATFORM),
+                        tuple("Hades", Genre.RPG));
+        // Ids are kept, only the changed game gets a new version
+        assertThat(repository.findById(kept.getId()).orElseThrow().getVersion()).isEqualTo(kept.getVersion());
+        assertThat(repository.findById(changed.getId()).orElseThrow().getVersion()).isEqualTo(changed.getVersion() + 1);
+
+        // The same feed again writes nothing, the catalog version included
+        String catalogETag = mockMvc.perform(get(BASE_PATH).cookie(jwtCookie(Role.USER)))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(syncFile(feed, false))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.affectedRows").value(0))
+                .andExpect(jsonPath("$.counts.unchanged").value(3));
+        mockMvc.perform(get(BASE_PATH)
+                        .cookie(jwtCookie(Role.USER))
+                        .header("If-None-Match", catalogETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void syncTest_invalidRecord_deletesNothing() throws Exception {
+        repository.save(new VideoGame("Bioshock", LocalDate.of(2007, 8, 21), "2K", Genre.HORROR));
+        String feed = """
+                name,developedBy,releaseDate,genre
+                Hades,Supergiant Games,2020-09-17,RPG
+                Bioshock,2K,someday,HORROR
+                """;
+
+        mockMvc.perform(get(syncFile(feed, false))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.counts.inserted").value(1))
+                .andExpect(jsonPath("$.counts.deleted").value(0))
+                .andExpect(jsonPath("$.counts.deletesSkipped").value(1))
+                .andExpect(jsonPath("$.rejectedRows").value(1));
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void syncTest_dryRun_onlyCounts() throws Exception {
+        repository.save(new VideoGame("Bioshock", LocalDate.of(2007, 8, 21), "2K", Genre.HORROR));
+
+        mockMvc.perform(get(syncFile("name,developedBy\nHades,Supergiant Games\n", true))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.counts.inserted").value(1))
+                .andExpect(jsonPath("$.counts.deleted").value(1));
+        assertThat(repository.findAll()).extracting(VideoGame::getName).containsExactly("Bioshock");
+    }
+
+    @Test
+    void syncTest_emptyFeed_failsWithoutDeleting() throws Exception {
+        repository.save(new VideoGame("Bioshock", LocalDate.of(2007, 8, 21), "2K", Genre.HORROR));
+
+        mockMvc.perform(get(syncFile("name,developedBy\n", false))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(jsonPath("$.status").value("FAILED"));
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    private String syncFile(String csv, boolean dryRun) throws Exception {
+        return awaitJob(mockMvc.perform(multipart(BASE_PATH + "/sync")
+                        .file(new MockMultipartFile("file", "feed.csv", "text/csv", csv.getBytes()))
+                        .param("dryRun", String.valueOf(dryRun))
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location"));
+    }
+
+    private String importFile(MockMultipartFile file) throws Exception {
+        return awaitJob(mockMvc.perform(multipart(BASE_PATH + "/import")
+                        .file(file)
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location"));
+    }
+
+    // Returns the path of the job once it is finished
+    private String awaitJob(String location) throws Exception {
+        String jobPath = location.substring(location.indexOf(ApiConfig.API_BASE_PATH));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (mockMvc.perform(get(jobPath).cookie(jwtCookie(Role.ADMIN))).andReturn()
+                .getResponse().getContentAsString().contains("RUNNING") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return jobPath;
+    }
+
+    @Test
+    void findJobTest_asUser_returns403() throws Exception {
+        mockMvc.perform(get(ApiConfig.API_BASE_PATH + "/jobs/unknown")
+                        .cookie(jwtCookie(Role.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void findJobTest_unknownJob_returns404() throws Exception {
+        mockMvc.perform(get(ApiConfig.API_BASE_PATH + "/jobs/unknown")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteMatchingTest_asAdmin_deletesMatchingRows() throws Exception {
+        repository.saveAll(List.of(
+                new VideoGame("Baldur's Gate", LocalDate.of(1998, 12, 21), "BioWare", Genre.RPG),
+                new VideoGame("Mass Effect", LocalDate.of(2007, 11, 20), "BioWare", Genre.RPG),
+                new VideoGame("StarCraft", LocalDate.of(1998, 3, 31), "Blizzard Entertainment", Genre.STRATEGY)));
+        long since = latestCursor();
+
+        mockMvc.perform(delete(BASE_PATH)
+                        .param("developedBy", "BioWare")
+                        .param("releasedBefore", "2000-01-01")
+                        .cookie(jwtCookie(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+
+        assertThat(repository.findAll())
+                .extracting(VideoGame::getName)
+                .containsExactlyInAnyOrder("Mass Effect", "StarCraft");
+        assertThat(changeFeedService.getChanges(since, 10).changes())
+                .singleElement()
+                .satisfies(change -> assertThat(change.type()).isEqualTo(ChangeType.DELETE));
     }
 
     @Test
@@ -257,6 +881,13 @@ public class VideoGameIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    private long latestCursor() {
+        return changeRepository.findAll().stream()
+                .mapToLong(VideoGameChange::getId)
+                .max()
+                .orElse(0L);
+    }
+
     private Cookie jwtCookie(Role role) {
         String token = tokenService.generateToken(
                 new UsernamePasswordAuthenticationToken(
@@ -4,12 +4,16 @@ import com.example.api_rest.dto.DeleteUserDTO;
 import com.example.api_rest.dto.EditUserDTO;
 import com.example.api_rest.dto.LoginUserDTO;
 import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserPageDTO;
+import com.example.api_rest.dto.UserView;
 import com.example.api_rest.entity.Role;
 import com.example.api_rest.entity.User;
+import com.example.api_rest.exception.EmailAlreadyExistsException;
 import com.example.api_rest.exception.UserNotFoundException;
 import com.example.api_rest.exception.UsernameAlreadyExistsException;
 import com.example.api_rest.repository.UserRepository;
 import com.example.api_rest.service.impl.AuthServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +21,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,7 +33,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -136,8 +145,6 @@ public class AuthServiceTest {
         User newUser = new User(9L, dto.username(), "encodedPassword");
         when(passwordEncoder.encode(anyString()))
                 .thenReturn("encodedPassword");
-        when(repository.findByUsername(dto.username()))
-                .thenReturn(Optional.empty());
         when(repository.save(any(User.class)))
                 .thenReturn(newUser);
 
@@ -155,23 +162,44 @@ public class AuthServiceTest {
                 () -> assertEquals("encodedPassword", captUser.getPassword()),
                 () -> assertEquals(captUser.getPassword(), result.getPassword())
         );
+        // The unique constraints do the check, in the same round trip
+        verify(repository, never()).findByUsername(anyString());
     }
 
     @Test
     void registerTest_duplicateUsername() {
         RegisterUserDTO dto = new RegisterUserDTO("mockUser", "1234", null);
-        User user = new User(7L, dto.username(), "pwd");
-        when(repository.findByUsername(dto.username()))
-                .thenReturn(Optional.of(user));
+        when(repository.save(any(User.class)))
+                .thenThrow(uniqueViolation(User.USERNAME_CONSTRAINT.toUpperCase()));
 
         assertThrows(UsernameAlreadyExistsException.class,
                 () -> authService.register(dto));
 
-        verifyNoInteractions(passwordEncoder);
-        verify(repository).findByUsername(dto.username());
+        verify(repository).save(any(User.class));
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void registerTest_duplicateEmail() {
+        RegisterUserDTO dto = new RegisterUserDTO("mockUser", "1234", "mock@example.com");
+        when(repository.save(any(User.class)))
+                .thenThrow(uniqueViolation(User.EMAIL_CONSTRAINT));
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> authService.register(dto));
+    }
+
+    @Test
+    void registerTest_otherViolation_isNotTranslated() {
+        RegisterUserDTO dto = new RegisterUserDTO("mockUser", "1234", null);
+        DataIntegrityViolationException violation = uniqueViolation("fk_something_else");
+        when(repository.save(any(User.class)))
+                .thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> authService.register(dto)));
+    }
+
     @Test
     void editTest_validData() {
         EditUserDTO dto = new EditUserDTO("mockUserMod", "123mod", null, Role.ADMIN);
@@ -235,6 +263,65 @@ public class AuthServiceTest {
         verify(repository, never()).save(any(User.class));
     }
 
+    @Test
+    void searchTest_escapedLowerCasePrefix_andNextCursor() {
+        ReflectionTestUtils.setField(authService, "maxPageSize", 2);
+        when(repository.searchPageByRole(10L, Role.ADMIN, "ana\\_%", Limit.of(3)))
+                .thenReturn(List.of(view(11L), view(12L), view(13L)));
+
+        UserPageDTO page = authService.search(" Ana_ ", Role.ADMIN, 10L, 50);
+
+        assertAll(
+                () -> assertEquals(List.of(11L, 12L), page.users().stream().map(UserView::id).toList()),
+                () -> assertEquals(12L, page.nextCursor()),
+                () -> assertTrue(page.hasMore())
+        );
+    }
+
+    @Test
+    void searchTest_withoutQuery_lastPage() {
+        ReflectionTestUtils.setField(authService, "maxPageSize", 200);
+        when(repository.findPage(0L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        UserPageDTO page = authService.search("  ", null, 0L, 0);
+
+        assertAll(
+                () -> assertTrue(page.users().isEmpty()),
+                () -> assertEquals(0L, page.nextCursor()),
+                () -> assertFalse(page.hasMore())
+        );
+    }
+
+    @Test
+    void searchTest_queryOnly_searchesBothPrefixes() {
+        ReflectionTestUtils.setField(authService, "maxPageSize", 200);
+        when(repository.searchPage(0L, "ana%", Limit.of(11)))
+                .thenReturn(List.of(view(3L)));
+
+        UserPageDTO page = authService.search("ANA", null, 0L, 10);
+
+        assertEquals(List.of(3L), page.users().stream().map(UserView::id).toList());
+        verify(repository, never()).findPage(anyLong(), any());
+    }
+
+    @Test
+    void searchTest_roleOnly_usesTheRoleIndex() {
+        ReflectionTestUtils.setField(authService, "maxPageSize", 200);
+        when(repository.findPageByRole(5L, Role.USER, Limit.of(11)))
+                .thenReturn(List.of(view(6L)));
+
+        UserPageDTO page = authService.search(null, Role.USER, 5L, 10);
+
+        assertEquals(List.of(6L), page.users().stream().map(UserView::id).toList());
+    }
+
+    @Test
+    void searchTest_negativeCursor() {
+        assertThrows(IllegalArgumentException.class, () -> authService.search(null, null, -1L, 10));
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void deleteTest_withIdAndUsername() {
         DeleteUserDTO dto = new DeleteUserDTO(8L, "Manolito");
@@ -340,4 +427,14 @@ public class AuthServiceTest {
 
         verify(tokenService).getAuthoritiesFromToken(token);
     }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        "insert into api_user", constraintName));
+    }
+
+    private static UserView view(Long id) {
+        return new UserView(id, "ana" + id, null, Role.ADMIN, LocalDateTime.now());
+    }
 }
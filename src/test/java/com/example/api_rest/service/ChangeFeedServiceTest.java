@@ -0,0 +1,202 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.entity.VideoGameChange;
+import com.example.api_rest.event.ChangeLogAdvancedEvent;
+import com.example.api_rest.event.VideoGameChangedEvent;
+import com.example.api_rest.exception.ChangeLogCompactedException;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameChangeRepository;
+import com.example.api_rest.service.impl.ChangeFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedServiceTest {
+
+    @Mock
+    private VideoGameChangeRepository repository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ChangeFeedServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxPageSize", 2);
+        ReflectionTestUtils.setField(service, "retention", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "tombstoneRetention", Duration.ofDays(7));
+    }
+
+    @Test
+    void getChangesTest_moreThanOnePage() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(3)))
+                .thenReturn(List.of(change(6L, ChangeType.INSERT), change(7L, ChangeType.DELETE), change(8L, ChangeType.UPDATE)));
+
+        ChangeFeedDTO result = service.getChanges(5L, 10);
+
+        assertAll(
+                () -> assertEquals(2, result.changes().size()),
+                () -> assertEquals(7L, result.nextCursor()),
+                () -> assertTrue(result.hasMore()),
+                () -> assertNotNull(result.changes().get(0).videoGame()),
+                () -> assertNull(result.changes().get(1).videoGame())
+        );
+    }
+
+    @Test
+    void getChangesTest_noChanges_keepsCursor() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(9L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        ChangeFeedDTO result = service.getChanges(9L, 1);
+
+        assertAll(
+                () -> assertTrue(result.changes().isEmpty()),
+                () -> assertEquals(9L, result.nextCursor()),
+                () -> assertFalse(result.hasMore())
+        );
+    }
+
+    @Test
+    void getChangesTest_negativeCursor() {
+        assertThrows(IllegalArgumentException.class, () -> service.getChanges(-1L, 10));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void recordUpdateTest_storesSnapshot() {
+        VideoGame videoGame = new VideoGame(4L, "Doom");
+        videoGame.setVersion(2L);
+        when(repository.save(any(VideoGameChange.class)))
+                .thenAnswer(invocation -> {
+                    VideoGameChange change = invocation.getArgument(0);
+                    change.setId(30L);
+                    return change;
+                });
+
+        service.recordUpdate(videoGame);
+
+        ArgumentCaptor<VideoGameChange> captor = ArgumentCaptor.forClass(VideoGameChange.class);
+        verify(repository).save(captor.capture());
+        VideoGameChange change = captor.getValue();
+        ArgumentCaptor<VideoGameChangedEvent> eventCaptor = ArgumentCaptor.forClass(VideoGameChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+
+        assertAll(
+                () -> assertEquals(ChangeType.UPDATE, change.getType()),
+                () -> assertEquals(4L, change.getVideoGameId()),
+                () -> assertEquals("Doom", change.getName()),
+                () -> assertEquals(2L, change.getVersion()),
+                () -> assertEquals(30L, eventCaptor.getValue().change().cursor())
+        );
+    }
+
+    @Test
+    void recordInsertsTest_publishesOneEventForTheTransaction() {
+        when(repository.findMaxId())
+                .thenReturn(Optional.of(40L))
+                .thenReturn(Optional.of(42L));
+
+        service.recordInserts(List.of(410L, 420L));
+
+        verify(repository).insertSnapshotOf(eq(ChangeType.INSERT), any(Instant.class), eq(List.of(410L, 420L)));
+        // The entries are not loaded, listeners page them from the log
+        verify(repository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+        verify(eventPublisher).publishEvent(new ChangeLogAdvancedEvent(40L, 42L));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void recordDeletesTest_byIds_publishesOneEvent() {
+        when(repository.findMaxId())
+                .thenReturn(Optional.of(7L))
+                .thenReturn(Optional.of(10L));
+
+        service.recordDeletes(List.of(1L, 2L, 3L));
+
+        verify(repository).saveAll(argThat(changes -> ((List<VideoGameChange>) changes).size() == 3));
+        verify(eventPublisher).publishEvent(new ChangeLogAdvancedEvent(7L, 10L));
+    }
+
+    @Test
+    void recordDeletesTest_nothingMatches_publishesNothing() {
+        when(repository.findMaxId())
+                .thenReturn(Optional.of(40L));
+
+        assertEquals(0, service.recordDeletes(new VideoGameFilter(Genre.HORROR, null, null)));
+
+        verify(repository).insertTombstonesOfMatching(eq(ChangeType.DELETE), any(Instant.class), eq(Genre.HORROR), isNull(), isNull());
+        verify(repository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void compactTest() {
+        when(repository.deleteClearedBefore(any(Instant.class), eq(ChangeType.CLEAR)))
+                .thenReturn(3);
+        when(repository.deleteSupersededBefore(any(Instant.class)))
+                .thenReturn(2);
+        when(repository.findMaxIdOfTypeBefore(eq(ChangeType.DELETE), any(Instant.class)))
+                .thenReturn(Optional.of(40L));
+        when(repository.deleteTypeBefore(eq(ChangeType.DELETE), any(Instant.class)))
+                .thenReturn(4);
+
+        assertEquals(9, service.compact());
+        verify(catalogVersionRepository).raiseChangesCompactedUpTo(40L);
+
+        // Tombstones are kept for their own, longer retention
+        ArgumentCaptor<Instant> tombstonesBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).deleteTypeBefore(eq(ChangeType.DELETE), tombstonesBefore.capture());
+        assertTrue(tombstonesBefore.getValue().isBefore(Instant.now().minus(Duration.ofDays(6))));
+    }
+
+    @Test
+    void getChangesTest_behindTheCompactedTombstones_throwsChangeLogCompactedException() {
+        when(catalogVersionRepository.findChangesCompactedUpTo()).thenReturn(Optional.of(40L));
+
+        assertThrows(ChangeLogCompactedException.class, () -> service.getChanges(39L, 10));
+        verify(repository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void getChangesTest_fromTheStart_isNotAffectedByTheCompaction() {
+        when(catalogVersionRepository.findChangesCompactedUpTo()).thenReturn(Optional.of(40L));
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(change(41L, ChangeType.INSERT)));
+
+        assertEquals(41L, service.getChanges(0L, 10).nextCursor());
+    }
+
+    private static VideoGameChange change(Long id, ChangeType type) {
+        VideoGameChange change = new VideoGameChange(new VideoGame(id * 10, "Game " + id), type, Instant.now());
+        change.setId(id);
+        return change;
+    }
+}
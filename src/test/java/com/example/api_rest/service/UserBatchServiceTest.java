@@ -0,0 +1,199 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.RegisterUserDTO;
+import com.example.api_rest.dto.UserView;
+import com.example.api_rest.entity.Role;
+import com.example.api_rest.entity.User;
+import com.example.api_rest.repository.UserRepository;
+import com.example.api_rest.service.impl.UserBatchServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserBatchServiceTest {
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    // Threads the passwords were hashed on
+    private final Set<String> hashThreads = ConcurrentHashMap.newKeySet();
+
+    private UserBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserBatchServiceImpl(repository, passwordEncoder, validator, transactionTemplate, entityManager, 2);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxItems", 10);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(passwordEncoder.encode(anyString()))
+                .thenAnswer(invocation -> {
+                    hashThreads.add(Thread.currentThread().getName());
+                    return "hashed-" + invocation.getArgument(0);
+                });
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(repository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<User> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId(ids.incrementAndGet()));
+                    return users;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void registerAllTest_hashesOnThePoolAndStoresByChunks() {
+        BatchResultDTO result = service.registerAll(List.of(dto("ana"), dto("bob"), dto("carl")));
+
+        assertAll(
+                () -> assertEquals(3, result.created()),
+                () -> assertEquals(List.of(101L, 102L, 103L),
+                        result.items().stream().map(BatchItemResultDTO::id).toList()),
+                () -> assertTrue(hashThreads.stream().allMatch(name -> name.startsWith("password-hash-")))
+        );
+        verify(repository, times(2)).saveAll(argThat(users -> ((List<User>) users).stream()
+                .allMatch(user -> user.getPassword().equals("hashed-" + user.getUsername() + "-pass")
+                        && user.getRole() == Role.USER)));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void registerAllTest_takenAndRepeated_areInvalidAndNotHashed() {
+        when(repository.findViewsByKeys(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new UserView(1L, "bob", null, Role.USER, LocalDateTime.now())))
+                .thenReturn(List.of(new UserView(2L, "other", "carl@example.com", Role.USER, LocalDateTime.now())));
+
+        BatchResultDTO result = service.registerAll(List.of(
+                dto("ana"),
+                dto("bob"),
+                dto("carl"),
+                dto("ana"),
+                new RegisterUserDTO("", "pass", null)));
+
+        assertAll(
+                () -> assertEquals(1, result.created()),
+                () -> assertEquals(BatchItemResultDTO.Status.CREATED, result.items().get(0).status()),
+                () -> assertEquals(List.of("username: is already in use"), result.items().get(1).errors()),
+                () -> assertEquals(List.of("email: is already in use"), result.items().get(2).errors()),
+                () -> assertEquals(List.of("username: is repeated in the batch", "email: is repeated in the batch"),
+                        result.items().get(3).errors()),
+                () -> assertEquals(List.of("username: must not be blank"), result.items().get(4).errors())
+        );
+        // One lookup for the chunk {ana, bob}, one for {carl}
+        verify(repository, times(2)).findViewsByKeys(anyCollection(), anyCollection());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void registerAllTest_constraintViolatedByTheChunk_rejectsOnlyTheOffendingUser() {
+        when(repository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate", duplicate(User.USERNAME_CONSTRAINT)))
+                .thenAnswer(invocation -> {
+                    List<User> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId(7L));
+                    return users;
+                })
+                .thenThrow(new DataIntegrityViolationException("duplicate", duplicate(User.USERNAME_CONSTRAINT)))
+                .thenAnswer(invocation -> {
+                    List<User> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId(8L));
+                    return users;
+                });
+
+        BatchResultDTO result = service.registerAll(List.of(dto("ana"), dto("bob"), dto("carl")));
+
+        assertAll(
+                () -> assertEquals(2, result.created()),
+                () -> assertEquals(7L, result.items().get(0).id()),
+                () -> assertEquals(List.of("username: is already in use"), result.items().get(1).errors()),
+                () -> assertEquals(8L, result.items().get(2).id())
+        );
+        // The chunk {ana, bob}, then ana and bob alone, then the chunk {carl}
+        verify(repository, times(4)).saveAll(anyList());
+    }
+
+    @Test
+    void registerAllTest_failingChunk_reportsItsItems() {
+        when(repository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenAnswer(invocation -> {
+                    List<User> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId(7L));
+                    return users;
+                });
+
+        BatchResultDTO result = service.registerAll(List.of(dto("ana"), dto("bob"), dto("carl")));
+
+        assertAll(
+                () -> assertEquals(1, result.created()),
+                () -> assertEquals(BatchItemResultDTO.Status.FAILED, result.items().get(0).status()),
+                () -> assertEquals(BatchItemResultDTO.Status.FAILED, result.items().get(1).status()),
+                () -> assertEquals(BatchItemResultDTO.Status.CREATED, result.items().get(2).status())
+        );
+    }
+
+    @Test
+    void registerAllTest_tooManyItems() {
+        List<RegisterUserDTO> dtos = Collections.nCopies(11, dto("ana"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.registerAll(dtos));
+        verifyNoInteractions(repository, passwordEncoder);
+    }
+
+    private static ConstraintViolationException duplicate(String constraint) {
+        return new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraint);
+    }
+
+    private static RegisterUserDTO dto(String username) {
+        return new RegisterUserDTO(username, username + "-pass", username + "@example.com");
+    }
+}
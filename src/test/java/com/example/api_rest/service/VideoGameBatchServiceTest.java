@@ -0,0 +1,151 @@
+package com.example.api_rest.service;
+
+import com.example.api_rest.dto.BatchItemResultDTO;
+import com.example.api_rest.dto.BatchResultDTO;
+import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.entity.Genre;
+import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.repository.CatalogVersionRepository;
+import com.example.api_rest.repository.VideoGameRepository;
+import com.example.api_rest.service.impl.VideoGameBatchServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VideoGameBatchServiceTest {
+
+    @Mock
+    private VideoGameRepository repository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private VideoGameBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VideoGameBatchServiceImpl(repository, catalogVersionRepository, changeFeedService,
+                validator, transactionTemplate, entityManager);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxItems", 10);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(repository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<VideoGame> videoGames = invocation.getArgument(0);
+                    videoGames.forEach(videoGame -> videoGame.setId(ids.incrementAndGet()));
+                    return videoGames;
+                });
+    }
+
+    @Test
+    void registerAllTest_validAndInvalidItems() {
+        List<VideoGameDTO> dtos = List.of(
+                dto("Doom"),
+                new VideoGameDTO("", LocalDate.now(), null, null),
+                dto("Quake"),
+                dto("Heretic"));
+
+        BatchResultDTO result = service.registerAll(dtos);
+
+        assertAll(
+                () -> assertEquals(4, result.received()),
+                () -> assertEquals(3, result.created()),
+                () -> assertEquals(1, result.failed()),
+                () -> assertEquals(101L, result.items().get(0).id()),
+                () -> assertEquals(BatchItemResultDTO.Status.INVALID, result.items().get(1).status()),
+                () -> assertEquals(List.of("developedBy: must not be null", "name: must not be blank"), result.items().get(1).errors()),
+                () -> assertEquals(102L, result.items().get(2).id()),
+                () -> assertEquals(103L, result.items().get(3).id())
+        );
+        // Three valid games in chunks of two
+        verify(catalogVersionRepository, times(2)).increment(any(Instant.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(changeFeedService).recordInserts(List.of(101L, 102L));
+        verify(changeFeedService).recordInserts(List.of(103L));
+    }
+
+    @Test
+    void registerAllTest_failingChunk_reportsItsItems() {
+        when(repository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> {
+                    List<VideoGame> videoGames = invocation.getArgument(0);
+                    videoGames.forEach(videoGame -> videoGame.setId(7L));
+                    return videoGames;
+                });
+
+        BatchResultDTO result = service.registerAll(List.of(dto("Doom"), dto("Quake"), dto("Heretic")));
+
+        assertAll(
+                () -> assertEquals(1, result.created()),
+                () -> assertEquals(BatchItemResultDTO.Status.FAILED, result.items().get(0).status()),
+                () -> assertEquals(BatchItemResultDTO.Status.FAILED, result.items().get(1).status()),
+                () -> assertEquals(BatchItemResultDTO.Status.CREATED, result.items().get(2).status())
+        );
+    }
+
+    @Test
+    void registerAllTest_nullItem_isInvalid() {
+        List<VideoGameDTO> dtos = new ArrayList<>();
+        dtos.add(null);
+
+        BatchResultDTO result = service.registerAll(dtos);
+
+        assertEquals(BatchItemResultDTO.Status.INVALID, result.items().getFirst().status());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void registerAllTest_emptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> service.registerAll(Collections.emptyList()));
+    }
+
+    @Test
+    void registerAllTest_tooManyItems() {
+        List<VideoGameDTO> dtos = Collections.nCopies(11, dto("Doom"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.registerAll(dtos));
+        verifyNoInteractions(repository);
+    }
+
+    private static VideoGameDTO dto(String name) {
+        return new VideoGameDTO(name, LocalDate.of(1993, 12, 10), "id Software", Genre.ACTION);
+    }
+}
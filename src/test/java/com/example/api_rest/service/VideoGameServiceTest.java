@@ -1,21 +1,42 @@
 package com.example.api_rest.service;
 
+import com.example.api_rest.dto.BulkUpdateResultDTO;
+import com.example.api_rest.dto.VideoGameBulkUpdateDTO;
 import com.example.api_rest.dto.VideoGameDTO;
+import com.example.api_rest.dto.VideoGameFields;
+import com.example.api_rest.dto.VideoGameFilter;
+import com.example.api_rest.dto.VideoGameView;
+import com.example.api_rest.entity.CatalogVersion;
+import com.example.api_rest.entity.Genre;
 import com.example.api_rest.entity.VideoGame;
+import com.example.api_rest.exception.PreconditionFailedException;
 import com.example.api_rest.exception.VideoGameNotFoundException;
+import com.example.api_rest.repository.CatalogVersionRepository;
 import com.example.api_rest.repository.VideoGameRepository;
 import com.example.api_rest.service.impl.VideoGameServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,51 +48,64 @@ public class VideoGameServiceTest {
     @Mock
     private VideoGameRepository repository;
 
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private VideoGameServiceImpl service;
 
     @Test
     void findAllTest_withData() {
-        List<VideoGame> expectedList = List.of(
-                new VideoGame("Call of Duty"),
-                new VideoGame("Fornite"),
-                new VideoGame("Assassin Creed")
+        List<VideoGameView> expectedList = List.of(
+                VideoGameView.from(new VideoGame("Call of Duty")),
+                VideoGameView.from(new VideoGame("Fornite")),
+                VideoGameView.from(new VideoGame("Assassin Creed"))
         );
-        when(repository.findAll())
+        when(repository.findAllViews())
                 .thenReturn(expectedList);
 
-        List<VideoGame> result = service.findAll();
+        List<VideoGameView> result = service.findAll();
         assertAll(
                 () -> assertNotNull(result),
                 () -> assertEquals(expectedList.size(), result.size()),
-                () -> assertEquals(expectedList.get(1).getName(), result.get(1).getName())
+                () -> assertEquals(expectedList.get(1).name(), result.get(1).name())
         );
-        verify(repository).findAll();
+        verify(repository).findAllViews();
+        verify(repository, never()).findAll();
     }
 
     @Test
     void findAllTest_noData() {
-        List<VideoGame> expectedList = Collections.emptyList();
-        when(repository.findAll())
+        List<VideoGameView> expectedList = Collections.emptyList();
+        when(repository.findAllViews())
                 .thenReturn(expectedList);
 
-        List<VideoGame> result = service.findAll();
+        List<VideoGameView> result = service.findAll();
         assertAll(
                 () -> assertNotNull(result),
                 () -> assertEquals(expectedList.size(), result.size())
         );
-        verify(repository).findAll();
+        verify(repository).findAllViews();
     }
 
     @Test
     void findByIdTest_validData() {
         Long id = 99L;
-        VideoGame videoGame = new VideoGame(id, "MockName");
+        VideoGameView videoGame = VideoGameView.from(new VideoGame(id, "MockName"));
 
-        when(repository.findById(id))
+        when(repository.findViewById(id))
                 .thenReturn(Optional.of(videoGame));
 
-        VideoGame result = service.findById(id);
+        VideoGameView result = service.findById(id);
 
         assertAll(
                 () -> assertNotNull(result),
@@ -79,11 +113,67 @@ public class VideoGameServiceTest {
         );
     }
 
+    @Test
+    void findAllByIdTest_queriesDistinctIds() {
+        VideoGameView elden = VideoGameView.from(new VideoGame(1L, "Elden Ring"));
+        when(repository.findViewsByIds(List.of(1L, 99L)))
+                .thenReturn(List.of(elden));
+
+        Map<Long, VideoGameView> result = service.findAllById(List.of(1L, 99L, 1L));
+
+        assertEquals(Map.of(1L, elden), result);
+        verify(repository).findViewsByIds(List.of(1L, 99L));
+    }
+
+    @Test
+    void findMatchingTest_queriesTheFilterCriteria() {
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, null, LocalDate.of(2000, 1, 1));
+        List<VideoGameView> expectedList = List.of(VideoGameView.from(new VideoGame(1L, "Final Fantasy VII")));
+        when(repository.findViewsMatching(Genre.RPG, null, LocalDate.of(2000, 1, 1)))
+                .thenReturn(expectedList);
+
+        assertEquals(expectedList, service.findMatching(filter));
+    }
+
+    @Test
+    void findMatchingTest_withFields_readsOnlyThoseColumns() {
+        VideoGameFilter filter = new VideoGameFilter(null, "FromSoftware", null);
+        VideoGameFields fields = new VideoGameFields(List.of("id", "name"));
+        List<Map<String, Object>> expectedList = List.of(Map.of("id", 1L, "name", "Dark Souls"));
+        when(repository.findColumnsMatching(List.of("id", "name"), filter))
+                .thenReturn(expectedList);
+
+        assertEquals(expectedList, service.findMatching(filter, fields));
+        verify(repository, never()).findViewsMatching(any(), any(), any());
+    }
+
+    @Test
+    void findAllByIdTest_withFields_keysByIdWithoutReturningIt() {
+        VideoGameFields fields = new VideoGameFields(List.of("name"));
+        when(repository.findColumnsByIds(List.of("id", "name"), List.of(1L, 2L)))
+                .thenReturn(List.of(
+                        new HashMap<>(Map.of("id", 1L, "name", "Elden Ring")),
+                        new HashMap<>(Map.of("id", 2L, "name", "Minecraft"))));
+
+        Map<Long, Map<String, Object>> result = service.findAllById(List.of(1L, 2L), fields);
+
+        assertEquals(Map.of(1L, Map.of("name", "Elden Ring"), 2L, Map.of("name", "Minecraft")), result);
+    }
+
+    @Test
+    void findByIdTest_withFields_invalidData() {
+        VideoGameFields fields = new VideoGameFields(List.of("id", "name"));
+        when(repository.findColumnsByIds(List.of("id", "name"), List.of(99L)))
+                .thenReturn(List.of());
+
+        assertThrows(VideoGameNotFoundException.class, () -> service.findById(99L, fields));
+    }
+
     @Test
     void findByIdTest_invalidData() {
         Long id = 99L;
 
-        when(repository.findById(id))
+        when(repository.findViewById(id))
                 .thenReturn(Optional.empty());
 
         assertThrows(VideoGameNotFoundException.class, () -> service.findById(id));
@@ -104,6 +194,9 @@ public class VideoGameServiceTest {
 
         VideoGame captVideoGame = captor.getValue();
 
+        verify(catalogVersionRepository).increment(any(Instant.class));
+        verify(changeFeedService).recordInsert(savedVideoGame);
+
         assertAll(
                 () -> assertEquals(dto.name(), captVideoGame.getName()),
                 () -> assertEquals(dto.releaseDate(), captVideoGame.getReleaseDate()),
@@ -117,23 +210,24 @@ public class VideoGameServiceTest {
     void updateTest_validData() {
         Long id = 16L;
         VideoGameDTO dto = new VideoGameDTO("mockName", LocalDate.now(), "mockDeveloper", null);
-        VideoGame videoGame = new VideoGame(id, "oldMockName");
 
-        when(repository.findById(id))
-                .thenReturn(Optional.of(videoGame));
-        when(repository.save(videoGame))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.updateReturningVersion(id, dto.name(), dto.releaseDate(), dto.developedBy(), dto.genre()))
+                .thenReturn(Optional.of(3L));
 
         VideoGame result = service.update(id, dto);
 
         assertAll(
-                () -> assertEquals(dto.name(), videoGame.getName()),
-                () -> assertEquals(dto.releaseDate(), videoGame.getReleaseDate()),
-                () -> assertEquals(dto.developedBy(), videoGame.getDevelopedBy()),
-                () -> assertEquals(dto.genre(), videoGame.getGenre()),
-                () -> assertSame(videoGame, result)
+                () -> assertEquals(id, result.getId()),
+                () -> assertEquals(dto.name(), result.getName()),
+                () -> assertEquals(dto.releaseDate(), result.getReleaseDate()),
+                () -> assertEquals(dto.developedBy(), result.getDevelopedBy()),
+                () -> assertEquals(dto.genre(), result.getGenre()),
+                () -> assertEquals(3L, result.getVersion())
         );
-        verify(repository).save(videoGame);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).findVersionById(any());
+        verify(catalogVersionRepository).increment(any(Instant.class));
+        verify(changeFeedService).recordUpdate(result);
     }
 
     @Test
@@ -141,43 +235,256 @@ public class VideoGameServiceTest {
         Long id = 99L;
         VideoGameDTO dto = new VideoGameDTO("mockName", LocalDate.now(), "mockDeveloper", null);
 
-        when(repository.findById(id))
+        when(repository.updateReturningVersion(id, dto.name(), dto.releaseDate(), dto.developedBy(), dto.genre()))
                 .thenReturn(Optional.empty());
 
         assertThrows(VideoGameNotFoundException.class, () -> service.update(id, dto));
-        verify(repository, never()).save(any(VideoGame.class));
+        verifyNoInteractions(changeFeedService);
     }
 
     @Test
-    void deleteTest_validData() {
-        Long id = 13L;
-        VideoGame videoGame = new VideoGame(id, "mockName");
+    void patchTest_changedField_writesAndRecordsUpdate() throws Exception {
+        Long id = 16L;
+        VideoGame videoGame = new VideoGame("Elden Ring", LocalDate.of(2022, 2, 25), "FromSoftware", Genre.RPG);
+        videoGame.setId(id);
+        videoGame.setVersion(2L);
+
+        when(repository.findById(id))
+                .thenReturn(Optional.of(videoGame));
+        when(repository.saveAndFlush(videoGame))
+                .thenReturn(videoGame);
+
+        VideoGame result = service.patch(id, objectMapper.readTree("{\"genre\":\"ACTION\"}"), 2L);
+
+        assertAll(
+                () -> assertEquals(Genre.ACTION, result.getGenre()),
+                () -> assertEquals("Elden Ring", result.getName()),
+                () -> assertEquals("FromSoftware", result.getDevelopedBy())
+        );
+        verify(catalogVersionRepository).increment(any(Instant.class));
+        verify(changeFeedService).recordUpdate(videoGame);
+    }
+
+    @Test
+    void patchTest_nullClearsField() throws Exception {
+        Long id = 16L;
+        VideoGame videoGame = new VideoGame("Elden Ring", LocalDate.of(2022, 2, 25), "FromSoftware", Genre.RPG);
+
+        when(repository.findById(id))
+                .thenReturn(Optional.of(videoGame));
+        when(repository.saveAndFlush(videoGame))
+                .thenReturn(videoGame);
+
+        VideoGame result = service.patch(id, objectMapper.readTree("{\"releaseDate\":null}"), null);
+
+        assertNull(result.getReleaseDate());
+    }
+
+    @Test
+    void patchTest_unchangedPayload_skipsWrite() throws Exception {
+        Long id = 16L;
+        VideoGame videoGame = new VideoGame("Elden Ring", LocalDate.of(2022, 2, 25), "FromSoftware", Genre.RPG);
+
+        when(repository.findById(id))
+                .thenReturn(Optional.of(videoGame));
+
+        VideoGame result = service.patch(id, objectMapper.readTree("{\"name\":\"Elden Ring\",\"releaseDate\":\"2022-02-25\"}"), null);
+
+        assertSame(videoGame, result);
+        verify(repository, never()).saveAndFlush(any());
+        verifyNoInteractions(catalogVersionRepository, changeFeedService);
+    }
+
+    @Test
+    void patchTest_staleVersion_throwsException() throws Exception {
+        Long id = 16L;
+        VideoGame videoGame = new VideoGame(id, "Elden Ring");
+        videoGame.setVersion(5L);
 
         when(repository.findById(id))
                 .thenReturn(Optional.of(videoGame));
 
+        assertThrows(PreconditionFailedException.class,
+                () -> service.patch(id, objectMapper.readTree("{\"name\":\"Elden Ring DLC\"}"), 4L));
+        verify(repository, never()).saveAndFlush(any());
+        verifyNoInteractions(catalogVersionRepository, changeFeedService);
+    }
+
+    @Test
+    void patchTest_invalidResult_throwsException() throws Exception {
+        Long id = 16L;
+
+        when(repository.findById(id))
+                .thenReturn(Optional.of(new VideoGame(id, "Elden Ring")));
+
+        assertThrows(ConstraintViolationException.class,
+                () -> service.patch(id, objectMapper.readTree("{\"name\":\"\"}"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.patch(id, objectMapper.readTree("{\"price\":10}"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.patch(id, objectMapper.readTree("{\"genre\":\"NOT_A_GENRE\"}"), null));
+        verifyNoInteractions(catalogVersionRepository, changeFeedService);
+    }
+
+    @Test
+    void updateMatchingTest_updatesMatchingIds() {
+        ReflectionTestUtils.setField(service, "maxBulkUpdateRows", 100);
+        VideoGameFilter filter = new VideoGameFilter(null, "Enix", null);
+        VideoGameBulkUpdateDTO changes = new VideoGameBulkUpdateDTO("Square Enix", null, null);
+
+        when(repository.countMatching(null, "Enix", null))
+                .thenReturn(3L);
+        when(repository.updateMatchingReturningIds(filter, changes))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        BulkUpdateResultDTO result = service.updateMatching(filter, changes, 10, false);
+
+        assertEquals(new BulkUpdateResultDTO(3, 3, false), result);
+        InOrder inOrder = inOrder(catalogVersionRepository, repository, changeFeedService);
+        inOrder.verify(catalogVersionRepository).increment(any(Instant.class));
+        inOrder.verify(repository).countMatching(null, "Enix", null);
+        inOrder.verify(repository).updateMatchingReturningIds(filter, changes);
+        inOrder.verify(changeFeedService).recordUpdates(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void updateMatchingTest_manyRows_recordsChangesInChunks() {
+        ReflectionTestUtils.setField(service, "maxBulkUpdateRows", 5000);
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, null, null);
+        VideoGameBulkUpdateDTO changes = new VideoGameBulkUpdateDTO(null, Genre.ACTION, null);
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        when(repository.countMatching(Genre.RPG, null, null))
+                .thenReturn(2500L);
+        when(repository.updateMatchingReturningIds(filter, changes))
+                .thenReturn(ids);
+
+        BulkUpdateResultDTO result = service.updateMatching(filter, changes, null, false);
+
+        assertEquals(new BulkUpdateResultDTO(2500, 2500, false), result);
+        verify(changeFeedService).recordUpdates(ids.subList(0, 1000));
+        verify(changeFeedService).recordUpdates(ids.subList(1000, 2000));
+        verify(changeFeedService).recordUpdates(ids.subList(2000, 2500));
+    }
+
+    @Test
+    void updateMatchingTest_moreRowsThanLimit_throwsException() {
+        ReflectionTestUtils.setField(service, "maxBulkUpdateRows", 100);
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, null, null);
+
+        VideoGameBulkUpdateDTO changes = new VideoGameBulkUpdateDTO(null, Genre.ACTION, null);
+
+        when(repository.countMatching(Genre.RPG, null, null))
+                .thenReturn(3L);
+
+        assertThrows(IllegalArgumentException.class, () -> service.updateMatching(filter, changes, 2, false));
+        verify(repository, never()).updateMatchingReturningIds(any(), any());
+        verifyNoInteractions(changeFeedService);
+    }
+
+    @Test
+    void updateMatchingTest_dryRun_onlyCounts() {
+        ReflectionTestUtils.setField(service, "maxBulkUpdateRows", 100);
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, null, null);
+
+        when(repository.countMatching(Genre.RPG, null, null))
+                .thenReturn(42L);
+
+        BulkUpdateResultDTO result = service.updateMatching(filter, new VideoGameBulkUpdateDTO(null, Genre.ACTION, null), null, true);
+
+        assertEquals(new BulkUpdateResultDTO(42, 0, true), result);
+        verify(repository, never()).updateMatchingReturningIds(any(), any());
+        verifyNoInteractions(catalogVersionRepository, changeFeedService);
+    }
+
+    @Test
+    void updateMatchingTest_withoutFilterOrChanges_throwsException() {
+        VideoGameBulkUpdateDTO changes = new VideoGameBulkUpdateDTO(null, Genre.ACTION, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateMatching(new VideoGameFilter(null, null, null), changes, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateMatching(new VideoGameFilter(Genre.RPG, null, null), new VideoGameBulkUpdateDTO(null, null, null), null, false));
+        verifyNoInteractions(repository, catalogVersionRepository, changeFeedService);
+    }
+
+    @Test
+    void deleteTest_validData() {
+        Long id = 13L;
+
+        when(repository.deleteOneById(id))
+                .thenReturn(1);
+
         service.delete(id);
 
-        verify(repository).delete(videoGame);
+        verify(repository, never()).findById(any());
+        verify(changeFeedService).recordDelete(id);
     }
 
     @Test
     void deleteTest_invalidData() {
         Long id = 99L;
 
-        when(repository.findById(id))
-                .thenReturn(Optional.empty());
+        when(repository.deleteOneById(id))
+                .thenReturn(0);
 
         assertThrows(VideoGameNotFoundException.class, () -> service.delete(id));
 
-        verify(repository, never()).delete(any(VideoGame.class));
+        verifyNoInteractions(changeFeedService);
     }
 
     @Test
     void deleteAllTest() {
-        service.deleteAll();
+        when(repository.deleteAllRows()).thenReturn(11);
+
+        assertEquals(11, service.deleteAll());
 
-        verify(repository).deleteAll();
+        verify(repository).deleteAllRows();
+        verify(catalogVersionRepository).increment(any(Instant.class));
+        verify(changeFeedService).recordClear();
         verifyNoMoreInteractions(repository);
     }
+
+    @Test
+    void deleteMatchingTest() {
+        VideoGameFilter filter = new VideoGameFilter(Genre.RPG, "BioWare", null);
+        when(repository.deleteMatching(Genre.RPG, "BioWare", null)).thenReturn(3);
+
+        assertEquals(3, service.deleteMatching(filter));
+
+        // The tombstones are selected from the rows, so they are recorded before the delete
+        InOrder inOrder = inOrder(catalogVersionRepository, changeFeedService, repository);
+        inOrder.verify(catalogVersionRepository).increment(any(Instant.class));
+        inOrder.verify(changeFeedService).recordDeletes(filter);
+        inOrder.verify(repository).deleteMatching(Genre.RPG, "BioWare", null);
+    }
+
+    @Test
+    void deleteMatchingTest_emptyFilter() {
+        assertThrows(IllegalArgumentException.class, () -> service.deleteMatching(new VideoGameFilter(null, null, null)));
+
+        verifyNoInteractions(repository, catalogVersionRepository, changeFeedService);
+    }
+
+    @Test
+    void getCatalogVersionTest_existingCounter() {
+        CatalogVersion catalogVersion = new CatalogVersion(42L, Instant.now());
+        when(catalogVersionRepository.findById(CatalogVersion.CATALOG_ID))
+                .thenReturn(Optional.of(catalogVersion));
+
+        assertSame(catalogVersion, service.getCatalogVersion());
+    }
+
+    @Test
+    void getCatalogVersionTest_missingCounter() {
+        when(catalogVersionRepository.findById(CatalogVersion.CATALOG_ID))
+                .thenReturn(Optional.empty());
+
+        CatalogVersion result = service.getCatalogVersion();
+
+        assertAll(
+                () -> assertEquals(0L, result.getVersion()),
+                () -> assertEquals(Instant.EPOCH, result.getLastModified())
+        );
+    }
 }
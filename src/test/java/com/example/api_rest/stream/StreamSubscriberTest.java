@@ -0,0 +1,176 @@
+package com.example.api_rest.stream;
+
+import com.example.api_rest.dto.ChangeFeedDTO;
+import com.example.api_rest.dto.VideoGameChangeDTO;
+import com.example.api_rest.entity.ChangeType;
+import com.example.api_rest.exception.ChangeLogCompactedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamSubscriberTest {
+
+    // Runs the drain tasks inline so the assertions see every send
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void startTest_replaysChangeLogThenDeliversLiveChanges() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 8, DIRECT);
+
+        subscriber.start(10L, cursor -> cursor == 10L
+                ? new ChangeFeedDTO(List.of(change(11L), change(12L)), 12L, true)
+                : new ChangeFeedDTO(List.of(change(13L)), 13L, false));
+        // Committed during the replay, already sent with it
+        subscriber.offer(change(13L));
+        subscriber.offer(change(14L));
+
+        assertEquals(List.of("change:11", "change:12", "change:13", "change:14"), emitter.events);
+    }
+
+    @Test
+    void offerTest_withoutLastEventId_onlyLiveChanges() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 8, DIRECT);
+
+        subscriber.start(null, cursor -> fail("No replay expected"));
+        subscriber.offer(change(3L));
+
+        assertEquals(List.of("change:3"), emitter.events);
+    }
+
+    @Test
+    void advanceTest_readsTheBulkEntriesFromTheLog() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 1, DIRECT);
+        List<Long> pagesRead = new ArrayList<>();
+
+        subscriber.start(null, cursor -> {
+            pagesRead.add(cursor);
+            return cursor == 4L
+                    ? new ChangeFeedDTO(List.of(change(5L), change(6L)), 6L, true)
+                    : new ChangeFeedDTO(List.of(change(7L)), 7L, false);
+        });
+        subscriber.offer(change(4L));
+        // A bulk write far larger than the buffer, then a change it also covers
+        subscriber.advance(4L);
+        subscriber.offer(change(7L));
+        subscriber.offer(change(8L));
+
+        assertEquals(List.of(4L, 6L), pagesRead);
+        assertEquals(List.of("change:4", "change:5", "change:6", "change:7", "change:8"), emitter.events);
+    }
+
+    @Test
+    void advanceTest_afterAnOfferNotDrainedYet_stillSendsTheBufferedChange() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> pending = new ArrayList<>();
+        List<Long> pagesRead = new ArrayList<>();
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 8, pending::add);
+
+        subscriber.start(null, cursor -> {
+            pagesRead.add(cursor);
+            return new ChangeFeedDTO(List.of(change(6L), change(7L)), 7L, false);
+        });
+        pending.removeFirst().run();
+        // A single write, then a bulk write logged after it, both before the drain runs
+        subscriber.offer(change(5L));
+        subscriber.advance(5L);
+        subscriber.offer(change(8L));
+        while (!pending.isEmpty()) {
+            pending.removeFirst().run();
+        }
+
+        assertEquals(List.of(5L), pagesRead);
+        assertEquals(List.of("change:5", "change:6", "change:7", "change:8"), emitter.events);
+    }
+
+    @Test
+    void offerTest_bufferOverflow_sendsResyncAndCloses() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> pending = new ArrayList<>();
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 2, pending::add);
+
+        subscriber.start(null, cursor -> fail("No replay expected"));
+        pending.removeFirst().run();
+        subscriber.offer(change(1L));
+        subscriber.offer(change(2L));
+        subscriber.offer(change(3L));
+        pending.forEach(Runnable::run);
+
+        assertAll(
+                () -> assertEquals(List.of("resync"), emitter.events),
+                () -> assertTrue(subscriber.isClosed()),
+                () -> assertTrue(emitter.completed)
+        );
+    }
+
+    @Test
+    void startTest_lastEventIdBehindTheCompactedTombstones_sendsResyncAndCloses() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 8, DIRECT);
+
+        subscriber.start(3L, cursor -> {
+            throw new ChangeLogCompactedException("compacted");
+        });
+
+        assertAll(
+                () -> assertEquals(List.of("resync"), emitter.events),
+                () -> assertTrue(subscriber.isClosed()),
+                () -> assertTrue(emitter.completed)
+        );
+    }
+
+    @Test
+    void offerTest_clientGone_closesSubscriber() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.broken = true;
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, 8, DIRECT);
+
+        subscriber.start(null, cursor -> fail("No replay expected"));
+        subscriber.offer(change(1L));
+
+        assertTrue(subscriber.isClosed());
+    }
+
+    private static VideoGameChangeDTO change(long cursor) {
+        return new VideoGameChangeDTO(cursor, ChangeType.DELETE, cursor, Instant.now(), null);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean broken;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            Set<DataWithMediaType> data = builder.build();
+            String text = data.stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .reduce("", String::concat);
+            String name = text.contains("event:" + StreamSubscriber.RESYNC_EVENT) ? "resync"
+                    : text.contains("event:" + StreamSubscriber.CHANGE_EVENT) ? "change:" + text.replaceAll("(?s).*id:(\\d+).*", "$1")
+                    : "heartbeat";
+            events.add(name);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}